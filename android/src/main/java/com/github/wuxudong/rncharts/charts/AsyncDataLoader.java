@@ -0,0 +1,171 @@
+package com.github.wuxudong.rncharts.charts;
+
+import android.os.Process;
+import android.util.Log;
+
+import com.facebook.react.bridge.ReadableMap;
+import com.github.mikephil.charting.charts.Chart;
+import com.github.mikephil.charting.data.ChartData;
+import com.github.wuxudong.rncharts.data.DataExtract;
+
+import java.util.WeakHashMap;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * asyncData 모드: DataExtract.extract 를 worker 에서 돌리고 결과 ChartData 는 chart.post 로 UI 스레드에서 교체한다.
+ *
+ * 차트마다 generation 을 두고, 새 payload(또는 동기 setData)가 오면 이전 작업을 취소하고 generation 을 올린다.
+ * 늦게 끝난 이전 결과는 generation 이 달라서 버려진다.
+ */
+class AsyncDataLoader {
+
+    interface Callback {
+        void onExtracted(ChartData data);
+    }
+
+    private static final String TAG = "RNCharts-AsyncData";
+
+    // 차트당 대기 작업은 최대 1개이므로 큐가 차는 경우는 드물다. 넘치면 호출 스레드(UI)에서 동기로 처리한다.
+    private static final ThreadPoolExecutor executor = new ThreadPoolExecutor(
+            2, 2, 30, TimeUnit.SECONDS,
+            new LinkedBlockingQueue<Runnable>(16),
+            new ThreadFactory() {
+                private final AtomicInteger count = new AtomicInteger();
+
+                @Override
+                public Thread newThread(final Runnable r) {
+                    Thread thread = new Thread(new Runnable() {
+                        @Override
+                        public void run() {
+                            Process.setThreadPriority(Process.THREAD_PRIORITY_BACKGROUND);
+                            r.run();
+                        }
+                    }, "RNCharts-data-" + count.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                }
+            },
+            new ThreadPoolExecutor.CallerRunsPolicy());
+
+    static {
+        executor.allowCoreThreadTimeOut(true);
+    }
+
+    private static class State {
+        boolean enabled;
+        int generation;
+        // submit 부터 UI 스레드에서 교체될 때까지 true
+        boolean pending;
+        Future<?> future;
+    }
+
+    private static final WeakHashMap<Chart, State> states = new WeakHashMap<>();
+
+    private static State state(Chart chart) {
+        State state = states.get(chart);
+        if (state == null) {
+            state = new State();
+            states.put(chart, state);
+        }
+        return state;
+    }
+
+    static synchronized void setEnabled(Chart chart, boolean enabled) {
+        state(chart).enabled = enabled;
+    }
+
+    static synchronized boolean isEnabled(Chart chart) {
+        State state = states.get(chart);
+        return state != null && state.enabled;
+    }
+
+    /**
+     * True while an extraction for {@code chart} has been submitted but its result is not swapped in yet.
+     */
+    static synchronized boolean isPending(Chart chart) {
+        State state = states.get(chart);
+        return state != null && state.pending;
+    }
+
+    /**
+     * Drops any in-flight extraction so its result is never applied.
+     */
+    static synchronized void cancel(Chart chart) {
+        State state = states.get(chart);
+        if (state == null) {
+            return;
+        }
+        state.generation++;
+        state.pending = false;
+        if (state.future != null) {
+            state.future.cancel(false);
+            state.future = null;
+        }
+    }
+
+    static void submit(final Chart chart, final DataExtract dataExtract, final ReadableMap propMap, final Callback callback) {
+        final int generation;
+        synchronized (AsyncDataLoader.class) {
+            cancel(chart);
+            State state = state(chart);
+            state.pending = true;
+            generation = state.generation;
+        }
+
+        Runnable task = new Runnable() {
+            @Override
+            public void run() {
+                if (!isCurrent(chart, generation)) {
+                    return;
+                }
+
+                final ChartData data;
+                try {
+                    data = dataExtract.extract(chart, propMap);
+                } catch (RuntimeException e) {
+                    Log.e(TAG, "data extraction failed", e);
+                    finish(chart, generation);
+                    return;
+                }
+
+                chart.post(new Runnable() {
+                    @Override
+                    public void run() {
+                        // 그 사이 새 payload 가 들어왔으면 버린다.
+                        if (finish(chart, generation)) {
+                            callback.onExtracted(data);
+                        }
+                    }
+                });
+            }
+        };
+
+        Future<?> future = executor.submit(task);
+        synchronized (AsyncDataLoader.class) {
+            State state = state(chart);
+            if (state.generation == generation) {
+                state.future = future;
+            }
+        }
+    }
+
+    private static synchronized boolean isCurrent(Chart chart, int generation) {
+        State state = states.get(chart);
+        return state != null && state.generation == generation;
+    }
+
+    private static synchronized boolean finish(Chart chart, int generation) {
+        State state = states.get(chart);
+        if (state == null || state.generation != generation) {
+            return false;
+        }
+        state.pending = false;
+        state.future = null;
+        return true;
+    }
+}
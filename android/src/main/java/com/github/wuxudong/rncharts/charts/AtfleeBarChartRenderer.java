@@ -9,9 +9,11 @@ import android.graphics.RectF;
 import com.github.mikephil.charting.animation.ChartAnimator;
 import com.github.mikephil.charting.buffer.BarBuffer;
 import com.github.mikephil.charting.charts.BarLineChartBase;
+import com.github.mikephil.charting.charts.Chart;
 import com.github.mikephil.charting.components.IMarker;
 import com.github.mikephil.charting.data.BarData;
 import com.github.mikephil.charting.data.BarEntry;
+import com.github.mikephil.charting.formatter.ValueFormatter;
 import com.github.mikephil.charting.highlight.Highlight;
 import com.github.mikephil.charting.interfaces.dataprovider.BarDataProvider;
 import com.github.mikephil.charting.interfaces.datasets.IBarDataSet;
@@ -22,10 +24,14 @@ import com.github.mikephil.charting.utils.Transformer;
 import com.github.mikephil.charting.utils.Utils;
 import com.github.mikephil.charting.utils.ViewPortHandler;
 
+import com.github.wuxudong.rncharts.data.FloatArrayDataSet;
+import com.github.wuxudong.rncharts.data.FloatArrayStore;
+
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.util.Arrays;
 
-public class AtfleeBarChartRenderer extends BarChartRenderer {
+public class AtfleeBarChartRenderer extends BarChartRenderer implements LodRenderer, CachingRenderer {
 
     // 수직선 방향 선택: true → 위쪽으로 그리기, false → 아래쪽으로
     private static final boolean VERTICAL_TO_TOP = false;
@@ -37,10 +43,64 @@ public class AtfleeBarChartRenderer extends BarChartRenderer {
     protected Float mRadius = 50.f;
     private final Paint crossPaint = new Paint(Paint.ANTI_ALIAS_FLAG);
 
+    private final EnvelopeSource envelopes = new EnvelopeSource(false);
+    // envelope rect 좌표 (left, top, right, bottom ...), 프레임 간 재사용
+    private float[] envelopeBuffer = new float[0];
+    // data set index 별 값 라벨 캐시
+    private ValueLabelCache[] labelCaches = new ValueLabelCache[0];
+
+    // valueLabelCollision 이 켜져 있을 때만 있다
+    private LabelPlacer labelPlacer;
+
+    @Override
+    public void releaseCaches() {
+        envelopes.clear();
+        labelCaches = new ValueLabelCache[0];
+        if (labelPlacer != null) {
+            labelPlacer = new LabelPlacer();
+        }
+    }
+
+    /**
+     * Draw every value label that does not overlap a label of higher priority; stacked and icon data sets are
+     * left to BarChartRenderer as before.
+     */
+    public void setValueLabelCollisionEnabled(boolean enabled) {
+        labelPlacer = enabled ? (labelPlacer != null ? labelPlacer : new LabelPlacer()) : null;
+    }
+
     public void setRadius(float radius) {
         mRadius = radius;
     }
 
+    /**
+     * Draw single-color data sets with more visible bars than content pixels as one min/max rect per pixel column.
+     */
+    public void setDecimationEnabled(boolean enabled) {
+        envelopes.setDecimationEnabled(enabled);
+    }
+
+    @Override
+    public void setLevelOfDetailEnabled(boolean enabled) {
+        envelopes.setLevelOfDetailEnabled(enabled);
+    }
+
+    @Override
+    public int getLodLevel() {
+        BarData barData = mChart.getBarData();
+        if (!envelopes.isLevelOfDetailEnabled()) {
+            return -1;
+        }
+        int level = 0;
+        if (barData != null) {
+            for (IBarDataSet set : barData.getDataSets()) {
+                level = Math.max(level, envelopes.levelFor(set, mChart.getLowestVisibleX(), mChart.getHighestVisibleX(),
+                        mViewPortHandler.contentWidth()));
+            }
+        }
+        return level;
+    }
+
     public AtfleeBarChartRenderer(BarDataProvider chart, ChartAnimator animator, ViewPortHandler viewPortHandler) {
         super(chart, animator, viewPortHandler);
         crossPaint.setStyle(Paint.Style.STROKE);
@@ -120,7 +180,59 @@ public class AtfleeBarChartRenderer extends BarChartRenderer {
         }
     }
 
+    // initBuffers 가 만든 buffer 의 stacked 여부 (BarBuffer 의 mContainsStacks 는 밖에서 읽을 수 없다)
+    private boolean[] bufferStacked = new boolean[0];
+
+    /**
+     * Allocates the bar buffers; a buffer whose exact size and type still fit its data set is kept.
+     *
+     * patchValues 처럼 엔트리 수가 그대로인 변경은 notifyDataSetChanged 를 거쳐도 buffer 를 다시 만들지 않는다.
+     * 크기가 바뀌면 새로 만든다: BarChartRenderer.drawValues 와 rect 수 계산이 buffer 길이를 rect 수로 읽으므로
+     * 여유 공간을 둘 수 없다 (그 비용은 다음 frame 의 feed 와 같은 O(n) 이다).
+     */
+    @Override
+    public void initBuffers() {
+        BarData barData = mChart.getBarData();
+        BarBuffer[] previous = mBarBuffers;
+        boolean[] previousStacked = bufferStacked;
+        int count = barData.getDataSetCount();
+        boolean reusable = previous != null && previous.length == count && previousStacked.length == count;
+        mBarBuffers = new BarBuffer[count];
+        bufferStacked = new boolean[count];
+
+        for (int i = 0; i < mBarBuffers.length; i++) {
+            IBarDataSet set = barData.getDataSetByIndex(i);
+            int size = set.getEntryCount() * 4 * (set.isStacked() ? set.getStackSize() : 1);
+            boolean column = set instanceof FloatArrayDataSet;
+            bufferStacked[i] = set.isStacked();
+            BarBuffer reuse = reusable ? previous[i] : null;
+            if (reuse != null && reuse.buffer.length == size && previousStacked[i] == set.isStacked()
+                    && (reuse instanceof ColumnBarBuffer) == column) {
+                mBarBuffers[i] = reuse;
+                continue;
+            }
+            // float-array dataSet 은 컬럼에서 바로 rect 를 만든다.
+            mBarBuffers[i] = column
+                    ? new ColumnBarBuffer(size, count, set.isStacked())
+                    : new BarBuffer(size, count, set.isStacked());
+        }
+        if (windowFrom.length != count) {
+            windowFrom = new int[count];
+            windowTo = new int[count];
+        } else {
+            Arrays.fill(windowFrom, 0);
+            Arrays.fill(windowTo, 0);
+        }
+    }
+
     protected void drawDataSet(Canvas c, IBarDataSet dataSet, int index) {
+        if (envelopes.isEnabled() && dataSet.getColors().size() == 1 && drawEnvelope(c, dataSet)) {
+            // 이 프레임에는 buffer 를 변환하지 않았으므로 값 라벨도 그리지 않는다
+            windowFrom[index] = 0;
+            windowTo[index] = 0;
+            return;
+        }
+
         Transformer trans = mChart.getTransformer(dataSet.getAxisDependency());
 
         mBarBorderPaint.setColor(dataSet.getBarBorderColor());
@@ -131,6 +243,11 @@ public class AtfleeBarChartRenderer extends BarChartRenderer {
         float phaseX = mAnimator.getPhaseX();
         float phaseY = mAnimator.getPhaseY();
 
+        // 보이는 entry 구간, 그림자 / 막대 / 값 라벨이 모두 이 구간만 본다
+        mXBounds.set(mChart, dataSet);
+        final int lastVisible = Math.min(mXBounds.min + mXBounds.range,
+                (int) Math.ceil(dataSet.getEntryCount() * phaseX) - 1);
+
         // draw the bar shadow before the values
         if (mChart.isDrawBarShadowEnabled()) {
             mShadowPaint.setColor(dataSet.getBarShadowColor());
@@ -141,9 +258,7 @@ public class AtfleeBarChartRenderer extends BarChartRenderer {
             final float barWidthHalf = barWidth / 2.0f;
             float x;
 
-            for (int i = 0, count = Math.min((int) (Math.ceil((float) (dataSet.getEntryCount()) * phaseX)), dataSet.getEntryCount());
-                 i < count;
-                 i++) {
+            for (int i = mXBounds.min; i <= lastVisible; i++) {
 
                 BarEntry e = dataSet.getEntryForIndex(i);
 
@@ -176,87 +291,310 @@ public class AtfleeBarChartRenderer extends BarChartRenderer {
 
         buffer.feed(dataSet);
 
-        trans.pointValuesToPixel(buffer.buffer);
+        // stacked 는 entry 당 rect 가 여러 개이고, BarChartRenderer.drawValues 는 buffer 전체를 보므로 전부 변환한다.
+        // 나머지는 rect index 가 entry index 와 같으므로 보이는 구간만 변환한다.
+        final int rects = buffer.size() / 4;
+        final int from;
+        final int to;
+        if (dataSet.isStacked() || delegatesValues(mChart.getBarData())) {
+            from = 0;
+            to = rects;
+            trans.pointValuesToPixel(buffer.buffer);
+        } else {
+            from = Math.min(mXBounds.min, rects);
+            to = Math.max(from, Math.min(lastVisible + 1, rects));
+            if (to > from) {
+                trans.getValueToPixelMatrix().mapPoints(buffer.buffer, from * 4, buffer.buffer, from * 4, (to - from) * 2);
+            }
+        }
+        windowFrom[index] = from;
+        windowTo[index] = to;
 
         final boolean isSingleColor = dataSet.getColors().size() == 1;
+        final FloatArrayStore store = dataSet instanceof FloatArrayDataSet ? ((FloatArrayDataSet) dataSet).getStore() : null;
+        final float[] bars = buffer.buffer;
+        updateCorners();
 
-        if (isSingleColor) {
-            mRenderPaint.setColor(dataSet.getColor());
-        }
-
-        for (int j = 0; j < buffer.size(); j += 4) {
+        for (int j = from * 4; j < to * 4; j += 4) {
 
-            if (!mViewPortHandler.isInBoundsLeft(buffer.buffer[j + 2]))
+            if (!mViewPortHandler.isInBoundsLeft(bars[j + 2]))
                 continue;
 
-            if (!mViewPortHandler.isInBoundsRight(buffer.buffer[j]))
+            if (!mViewPortHandler.isInBoundsRight(bars[j]))
                 break;
 
-            if (!isSingleColor) {
-                // Set the color for the currently drawn value. If the index
-                // is out of bounds, reuse colors.
-                mRenderPaint.setColor(dataSet.getColor(j / 4));
-            }
+            // Set the color for the currently drawn value. If the index
+            // is out of bounds, reuse colors.
+            final int color = isSingleColor ? dataSet.getColor() : dataSet.getColor(j / 4);
+
+            // stacked 면 buffer 에 엔트리당 stackSize 개의 rect 가 있다.
+            int entryIndex = dataSet.isStacked() ? (j / 4) / dataSet.getStackSize() : j / 4;
+            boolean isPositive = store != null
+                    ? store.getY(entryIndex) >= 0f
+                    : dataSet.getEntryForIndex(entryIndex).getY() >= 0f;
+
+            drawBar(c, bars[j], bars[j + 1], bars[j + 2], bars[j + 3], isPositive, color);
+        }
+        flushBarPath(c);
+    }
+
+    // 둥근 막대 pass 에서 재사용하는 geometry
+    private final RectF barRect = new RectF();
+    private final Path barPath = new Path();
+    // 양수는 위 두 모서리, 음수는 아래 두 모서리를 둥글게 한다 (Path.addRoundRect radii 순서)
+    private final float[] topCorners = new float[8];
+    private final float[] bottomCorners = new float[8];
+    private float cornersRadius = Float.NaN;
+    // barPath 에 모으고 있는 막대의 색
+    private int barPathColor;
+    private boolean barPathOpen = false;
+    // data set index 별로 pixel 로 변환한 rect 구간 [from, to), drawValues 도 이 구간만 본다
+    private int[] windowFrom = new int[0];
+    private int[] windowTo = new int[0];
+
+    private void updateCorners() {
+        if (cornersRadius == mRadius) {
+            return;
+        }
+        cornersRadius = mRadius;
+        Arrays.fill(topCorners, 0f);
+        Arrays.fill(bottomCorners, 0f);
+        Arrays.fill(topCorners, 0, 4, mRadius);
+        Arrays.fill(bottomCorners, 4, 8, mRadius);
+    }
+
+    /**
+     * Draws one bar with the end away from zero rounded.
+     *
+     * - 불투명하고 둥근 모서리가 막대 높이의 절반 안에 들어가면 drawRoundRect 위에 반대쪽 모서리를 덮는 사각형을 그린다.
+     *   (path 를 래스터화하지 않으므로 하드웨어 canvas 에서 가장 싸다)
+     * - 반투명 (겹치는 부분이 진해진다) 이거나 짧은 막대는 같은 색끼리 barPath 하나에 모아 한 번에 그린다.
+     *   막대끼리는 겹치지 않으므로 그리는 순서가 바뀌어도 결과는 같다.
+     */
+    private void drawBar(Canvas c, float left, float top, float right, float bottom, boolean isPositive, int color) {
+        if (mRadius <= 0f) {
+            mRenderPaint.setColor(color);
+            c.drawRect(left, top, right, bottom, mRenderPaint);
+            return;
+        }
+
+        // Path.addRoundRect 와 같은 방식으로 radius 를 줄인다 (한쪽만 둥글므로 높이는 radius 하나만 필요)
+        float width = right - left;
+        float height = bottom - top;
+        float radius = mRadius * Math.min(1f, Math.min(width / (2f * mRadius), height / mRadius));
 
-//            if (dataSet.getGradientColor() != null) {
-//                GradientColor gradientColor = dataSet.getGradientColor();
-//                mRenderPaint.setShader(
-//                        new LinearGradient(
-//                                buffer.buffer[j],
-//                                buffer.buffer[j + 3],
-//                                buffer.buffer[j],
-//                                buffer.buffer[j + 1],
-//                                gradientColor.getStartColor(),
-//                                gradientColor.getEndColor(),
-//                                android.graphics.Shader.TileMode.MIRROR));
-//            }
-//
-//            if (dataSet.getGradientColors() != null) {
-//                mRenderPaint.setShader(
-//                        new LinearGradient(
-//                                buffer.buffer[j],
-//                                buffer.buffer[j + 3],
-//                                buffer.buffer[j],
-//                                buffer.buffer[j + 1],
-//                                dataSet.getGradientColor(j / 4).getStartColor(),
-//                                dataSet.getGradientColor(j / 4).getEndColor(),
-//                                android.graphics.Shader.TileMode.MIRROR));
-//            }
-
-
-            BarEntry entry = dataSet.getEntryForIndex(j / 4);
-            boolean isPositive = entry.getY() >= 0f;
-            // round top corners for positive values, bottom corners for negatives
-            float[] corners;
+        if ((color >>> 24) == 0xFF && height >= 2f * radius) {
+            mRenderPaint.setColor(color);
+            barRect.set(left, top, right, bottom);
+            c.drawRoundRect(barRect, radius, radius, mRenderPaint);
             if (isPositive) {
-                corners = new float[]{
-                        mRadius, mRadius,     // Top left radius in px
-                        mRadius, mRadius,     // Top right radius in px
-                        0f, 0f,               // Bottom right radius in px
-                        0f, 0f                // Bottom left radius in px
-                };
+                c.drawRect(left, top + radius, right, bottom, mRenderPaint);
             } else {
-                corners = new float[]{
-                        0f, 0f,               // Top left radius in px
-                        0f, 0f,               // Top right radius in px
-                        mRadius, mRadius,     // Bottom right radius in px
-                        mRadius, mRadius      // Bottom left radius in px
-                };
+                c.drawRect(left, top, right, bottom - radius, mRenderPaint);
+            }
+            return;
+        }
+
+        if (barPathOpen && barPathColor != color) {
+            flushBarPath(c);
+        }
+        if (!barPathOpen) {
+            barPath.reset();
+            barPathColor = color;
+            barPathOpen = true;
+        }
+        barRect.set(left, top, right, bottom);
+        barPath.addRoundRect(barRect, isPositive ? topCorners : bottomCorners, Path.Direction.CW);
+    }
+
+    private void flushBarPath(Canvas c) {
+        if (!barPathOpen) {
+            return;
+        }
+        barPathOpen = false;
+        mRenderPaint.setColor(barPathColor);
+        c.drawPath(barPath, mRenderPaint);
+    }
+
+    /**
+     * True when drawValues hands the whole chart to BarChartRenderer, which reads every rect of every buffer.
+     */
+    private boolean delegatesValues(BarData barData) {
+        boolean allowed = labelPlacer != null
+                ? LabelPlacer.isDrawingAllowed(mChart, mViewPortHandler)
+                : isDrawingValuesAllowed(mChart);
+        if (!allowed) {
+            return false;
+        }
+        for (int i = 0; i < barData.getDataSetCount(); i++) {
+            IBarDataSet dataSet = barData.getDataSetByIndex(i);
+            if (shouldDrawValues(dataSet) && (dataSet.isStacked() || dataSet.isDrawIconsEnabled())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Same labels as BarChartRenderer.drawValues, with the text of each bar kept in a {@link ValueLabelCache}.
+     * Stacked data sets and data sets drawing icons still go through BarChartRenderer.
+     */
+    @Override
+    public void drawValues(Canvas c) {
+        final LabelPlacer placer = labelPlacer;
+        if (placer != null ? !LabelPlacer.isDrawingAllowed(mChart, mViewPortHandler) : !isDrawingValuesAllowed(mChart)) {
+            return;
+        }
+
+        BarData barData = mChart.getBarData();
+        if (delegatesValues(barData)) {
+            super.drawValues(c);
+            return;
+        }
+
+        final float valueOffsetPlus = Utils.convertDpToPixel(4.5f);
+        final boolean drawValueAboveBar = mChart.isDrawValueAboveBarEnabled();
+        long contentKey = Float.floatToIntBits(mAnimator.getPhaseY());
+        if (placer != null) {
+            placer.begin();
+        }
+
+        for (int i = 0; i < barData.getDataSetCount(); i++) {
+            IBarDataSet dataSet = barData.getDataSetByIndex(i);
+            if (!shouldDrawValues(dataSet) || i >= mBarBuffers.length || i >= windowTo.length) {
+                continue;
+            }
+
+            // apply the text-styling defined by the DataSet
+            applyValueTextStyle(dataSet);
+            final ValueLabelCache cache = labelCache(i);
+            cache.validate(dataSet, mValuePaint);
+            final ValueFormatter formatter = dataSet.getValueFormatter();
+            final FloatArrayStore store = dataSet instanceof FloatArrayDataSet ? ((FloatArrayDataSet) dataSet).getStore() : null;
+
+            // calculate the correct offset depending on the draw position of the value
+            float valueTextHeight = Utils.calcTextHeight(mValuePaint, "8");
+            float posOffset = (drawValueAboveBar ? -valueOffsetPlus : valueTextHeight + valueOffsetPlus);
+            float negOffset = (drawValueAboveBar ? valueTextHeight + valueOffsetPlus : -valueOffsetPlus);
+
+            if (mChart.isInverted(dataSet.getAxisDependency())) {
+                posOffset = -posOffset - valueTextHeight;
+                negOffset = -negOffset - valueTextHeight;
+            }
+
+            final float[] buffer = mBarBuffers[i].buffer;
+            final int entryCount = dataSet.getEntryCount();
+            final int placerFrom = placer != null ? placer.size : 0;
+            for (int j = windowFrom[i] * 4; j < windowTo[i] * 4 && j / 4 < entryCount; j += 4) {
+
+                float x = (buffer[j] + buffer[j + 2]) / 2f;
+
+                if (!mViewPortHandler.isInBoundsRight(x))
+                    break;
+
+                if (!mViewPortHandler.isInBoundsY(buffer[j + 1])
+                        || !mViewPortHandler.isInBoundsLeft(x))
+                    continue;
+
+                final int index = j / 4;
+                String text = cache.text(index);
+                float val;
+                if (store != null) {
+                    val = store.getY(index);
+                    if (text == null) {
+                        text = formatter.getBarLabel(dataSet.getEntryForIndex(index));
+                        cache.put(index, text, Utils.calcTextWidth(mValuePaint, text));
+                    }
+                } else {
+                    BarEntry entry = dataSet.getEntryForIndex(index);
+                    val = entry.getY();
+                    if (text == null) {
+                        text = formatter.getBarLabel(entry);
+                        cache.put(index, text, Utils.calcTextWidth(mValuePaint, text));
+                    }
+                }
+
+                float y = val >= 0 ?
+                        (buffer[j + 1] + posOffset) :
+                        (buffer[j + 3] + negOffset);
+                if (placer != null) {
+                    placer.add(text, x, y, cache.width(index), cache.metrics, dataSet.getValueTextColor(index), cache, index, val, false);
+                } else {
+                    drawValue(c, text, x, y, dataSet.getValueTextColor(index));
+                }
+            }
+
+            if (placer != null) {
+                placer.prioritize(placerFrom, entryCount - 1);
+                if (mChart instanceof Chart) {
+                    placer.prioritizeHighlighted((Chart<?>) mChart, barData, i, dataSet, placerFrom);
+                }
+                contentKey = contentKey * 31 + LineDecimator.signature(dataSet);
+                contentKey = contentKey * 31 + Float.floatToIntBits(mValuePaint.getTextSize());
+            }
+        }
+
+        if (placer != null) {
+            placer.resolve(mViewPortHandler, contentKey);
+            for (int k = 0; k < placer.size; k++) {
+                if (placer.isAccepted(k)) {
+                    drawValue(c, placer.texts[k], placer.xs[k], placer.ys[k], placer.colors[k]);
+                }
             }
+        }
+    }
+
+    private ValueLabelCache labelCache(int dataSetIndex) {
+        if (dataSetIndex >= labelCaches.length) {
+            labelCaches = Arrays.copyOf(labelCaches, dataSetIndex + 1);
+        }
+        ValueLabelCache cache = labelCaches[dataSetIndex];
+        if (cache == null) {
+            cache = new ValueLabelCache();
+            labelCaches[dataSetIndex] = cache;
+        }
+        return cache;
+    }
+
+    private boolean drawEnvelope(Canvas c, IBarDataSet dataSet) {
+        final float lowX = mChart.getLowestVisibleX();
+        final float highX = mChart.getHighestVisibleX();
+        ColumnEnvelope envelope = envelopes.get(dataSet, lowX, highX, mViewPortHandler.contentWidth());
+        if (envelope == null) {
+            return false;
+        }
+        final float columnWidth = envelope.columnWidth;
+
+        int from = envelope.indexAfter(lowX);
+        int to = Math.min(envelope.count, envelope.indexAfter(highX) + 1);
+        // phaseX 애니메이션은 앞쪽 column 부터 드러낸다
+        to = Math.min(to, envelope.head + (int) Math.ceil((envelope.count - envelope.head) * mAnimator.getPhaseX()));
+        int columns = to - from;
+        if (columns <= 0) {
+            return true;
+        }
+
+        if (envelopeBuffer.length < columns * 4) {
+            envelopeBuffer = new float[columns * 4];
+        }
+
+        // 막대는 0 부터 그려지므로 column 의 [min(low, 0), max(high, 0)] 하나로 합친다.
+        final float phaseY = mAnimator.getPhaseY();
+        final float[] buffer = envelopeBuffer;
+        for (int i = from, k = 0; i < to; i++, k += 4) {
+            buffer[k] = envelope.starts[i];
+            buffer[k + 1] = Math.max(envelope.highs[i], 0f) * phaseY;
+            buffer[k + 2] = envelope.starts[i] + columnWidth;
+            buffer[k + 3] = Math.min(envelope.lows[i], 0f) * phaseY;
+        }
+        mChart.getTransformer(dataSet.getAxisDependency()).getValueToPixelMatrix()
+                .mapPoints(buffer, 0, buffer, 0, columns * 2);
 
-            final Path path = new Path();
-            RectF rect = new RectF(buffer.buffer[j], buffer.buffer[j + 1], buffer.buffer[j + 2],
-                    buffer.buffer[j + 3]);
-            path.addRoundRect(rect, corners, Path.Direction.CW);
-            c.drawPath(path, mRenderPaint);
-
-//            c.drawRoundRect(buffer.buffer[j], buffer.buffer[j + 1], buffer.buffer[j + 2],
-//                    buffer.buffer[j + 3], mRadius, mRadius/10.0f, mRenderPaint);
-//
-//            if (drawBorder) {
-//                c.drawRoundRect(buffer.buffer[j], buffer.buffer[j + 1], buffer.buffer[j + 2],
-//                        buffer.buffer[j + 3], mRadius, mRadius/2.0f, mBarBorderPaint);
-//            }
+        mRenderPaint.setColor(dataSet.getColor());
+        for (int k = 0; k < columns * 4; k += 4) {
+            c.drawRect(Math.min(buffer[k], buffer[k + 2]), Math.min(buffer[k + 1], buffer[k + 3]),
+                    Math.max(buffer[k], buffer[k + 2]), Math.max(buffer[k + 1], buffer[k + 3]), mRenderPaint);
         }
+        return true;
     }
 }
@@ -3,11 +3,7 @@ package com.github.wuxudong.rncharts.charts;
 import android.content.Context;
 import android.graphics.Bitmap;
 import android.graphics.Canvas;
-import android.graphics.drawable.Drawable;
-import android.os.Build;
-
-import androidx.core.content.ContextCompat;
-import androidx.core.graphics.drawable.DrawableCompat;
+import android.view.View;
 
 import com.github.mikephil.charting.animation.ChartAnimator;
 import com.github.mikephil.charting.data.BubbleEntry;
@@ -17,9 +13,17 @@ import com.github.mikephil.charting.renderer.BubbleChartRenderer;
 import com.github.mikephil.charting.utils.Transformer;
 import com.github.mikephil.charting.utils.ViewPortHandler;
 import com.github.wuxudong.rncharts.R;
+import com.github.wuxudong.rncharts.data.EntryMetadata;
+import com.github.wuxudong.rncharts.data.FloatArrayDataSet;
+import com.github.wuxudong.rncharts.data.FloatArrayStore;
+import com.github.wuxudong.rncharts.data.MetadataSchema;
+import com.github.wuxudong.rncharts.utils.SpriteCache;
 
 public class AtfleeBubbleChartRenderer extends BubbleChartRenderer {
 
+    private static final String ICON_NAME_KEY = "iconName";
+    private static final String ICON_TINT_KEY = "iconTint";
+
     Context context = null;
     private float[] sizeBuffer = new float[4];
     private float[] pointBuffer = new float[2];
@@ -57,15 +61,37 @@ public class AtfleeBubbleChartRenderer extends BubbleChartRenderer {
         final float maxBubbleHeight = Math.abs(mViewPortHandler.contentBottom() - mViewPortHandler.contentTop());
         final float referenceSize = Math.min(maxBubbleHeight, maxBubbleWidth);
 
-        for (int j = mXBounds.min; j <= mXBounds.range + mXBounds.min; j++) {
+        // float-array dataSet 은 Entry 없이 컬럼을 직접 읽는다.
+        final FloatArrayStore store = dataSet instanceof FloatArrayDataSet ? ((FloatArrayDataSet) dataSet).getStore() : null;
 
-            final BubbleEntry entry = dataSet.getEntryForIndex(j);
+        // entry metadata 의 iconName (drawable 이름) / iconTint (색) 로 entry 마다 아이콘을 고른다
+        int iconNameSlot = -1;
+        int iconTintSlot = -1;
+        if (store == null && dataSet.getEntryForIndex(0).getData() instanceof EntryMetadata) {
+            MetadataSchema schema = ((EntryMetadata) dataSet.getEntryForIndex(0).getData()).getSchema();
+            iconNameSlot = schema.slotOf(ICON_NAME_KEY);
+            iconTintSlot = schema.slotOf(ICON_TINT_KEY);
+        }
+        if (context == null && mChart instanceof View) {
+            context = ((View) mChart).getContext();
+        }
+
+        for (int j = mXBounds.min; j <= mXBounds.range + mXBounds.min; j++) {
 
-            pointBuffer[0] = entry.getX();
-            pointBuffer[1] = (entry.getY()) * phaseY;
+            final float entrySize;
+            if (store != null) {
+                pointBuffer[0] = store.getX(j);
+                pointBuffer[1] = store.getY(j) * phaseY;
+                entrySize = store.getSize(j);
+            } else {
+                final BubbleEntry entry = dataSet.getEntryForIndex(j);
+                pointBuffer[0] = entry.getX();
+                pointBuffer[1] = (entry.getY()) * phaseY;
+                entrySize = entry.getSize();
+            }
             trans.pointValuesToPixel(pointBuffer);
 
-            float shapeHalf = getShapeSize(entry.getSize(), dataSet.getMaxSize(), referenceSize, normalizeSize) / 2f;
+            float shapeHalf = getShapeSize(entrySize, dataSet.getMaxSize(), referenceSize, normalizeSize) / 2f;
 
             if (!mViewPortHandler.isInBoundsTop(pointBuffer[1] + shapeHalf)
                     || !mViewPortHandler.isInBoundsBottom(pointBuffer[1] - shapeHalf))
@@ -82,27 +108,30 @@ public class AtfleeBubbleChartRenderer extends BubbleChartRenderer {
 //            mRenderPaint.setColor(color);
 //            c.drawCircle(pointBuffer[0], pointBuffer[1], shapeHalf, mRenderPaint);
 
-            Drawable drawable = getDrawable(context, R.drawable.alert);
-            c.drawBitmap(getBitmapFromVectorDrawable(drawable), pointBuffer[0] - drawable.getIntrinsicWidth()/2, pointBuffer[1] - drawable.getIntrinsicHeight()/2, mRenderPaint);
+            int resId = R.drawable.alert;
+            int tint = 0;
+            if (iconNameSlot >= 0 || iconTintSlot >= 0) {
+                Object data = dataSet.getEntryForIndex(j).getData();
+                if (data instanceof EntryMetadata) {
+                    EntryMetadata metadata = (EntryMetadata) data;
+                    Object name = metadata.get(iconNameSlot);
+                    if (name instanceof String) {
+                        int named = SpriteCache.resourceId(context, (String) name);
+                        if (named != 0) {
+                            resId = named;
+                        }
+                    }
+                    Object color = metadata.get(iconTintSlot);
+                    if (color instanceof Number) {
+                        tint = (int) ((Number) color).longValue();
+                    }
+                }
+            }
+
+            Bitmap sprite = SpriteCache.get(context, resId, 0, 0, tint);
+            if (sprite != null) {
+                c.drawBitmap(sprite, pointBuffer[0] - sprite.getWidth() / 2f, pointBuffer[1] - sprite.getHeight() / 2f, mRenderPaint);
+            }
         }
     }
-
-    public static Bitmap getBitmapFromVectorDrawable(Drawable drawable) {
-        Bitmap bitmap = Bitmap.createBitmap(drawable.getIntrinsicWidth(),
-                drawable.getIntrinsicHeight(), Bitmap.Config.ARGB_8888);
-        Canvas canvas = new Canvas(bitmap);
-        drawable.setBounds(0, 0, canvas.getWidth(), canvas.getHeight());
-        drawable.draw(canvas);
-
-        return bitmap;
-    }
-
-    public static Drawable getDrawable(Context context, int drawableId) {
-        Drawable drawable = ContextCompat.getDrawable(context, drawableId);
-        if (Build.VERSION.SDK_INT < Build.VERSION_CODES.LOLLIPOP) {
-            drawable = (DrawableCompat.wrap(drawable)).mutate();
-        }
-
-        return drawable;
-    }
 }
\ No newline at end of file
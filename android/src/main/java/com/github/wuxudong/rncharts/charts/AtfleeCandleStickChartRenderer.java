@@ -0,0 +1,138 @@
+package com.github.wuxudong.rncharts.charts;
+
+import android.graphics.Canvas;
+import android.graphics.Matrix;
+import android.graphics.Paint;
+
+import com.github.mikephil.charting.animation.ChartAnimator;
+import com.github.mikephil.charting.data.CandleData;
+import com.github.mikephil.charting.interfaces.dataprovider.CandleDataProvider;
+import com.github.mikephil.charting.interfaces.datasets.ICandleDataSet;
+import com.github.mikephil.charting.renderer.CandleStickChartRenderer;
+import com.github.mikephil.charting.utils.ColorTemplate;
+import com.github.mikephil.charting.utils.ViewPortHandler;
+
+/**
+ * CandleStickChartRenderer that, with decimation on, draws zoomed-out data sets as one candle per pixel column
+ * (first open / min low / max high / last close, see {@link ColumnEnvelope}), or from a {@link LodPyramid} level.
+ */
+public class AtfleeCandleStickChartRenderer extends CandleStickChartRenderer implements LodRenderer, CachingRenderer {
+
+    private final EnvelopeSource envelopes = new EnvelopeSource(false);
+    // column 마다 (x, high, x, low) 그림자 선과 (left, top, right, bottom) 몸통, 프레임 간 재사용
+    private float[] shadowPoints = new float[0];
+    private float[] bodyPoints = new float[0];
+
+    public AtfleeCandleStickChartRenderer(CandleDataProvider chart, ChartAnimator animator, ViewPortHandler viewPortHandler) {
+        super(chart, animator, viewPortHandler);
+    }
+
+    @Override
+    public void releaseCaches() {
+        envelopes.clear();
+        shadowPoints = new float[0];
+        bodyPoints = new float[0];
+    }
+
+    public void setDecimationEnabled(boolean enabled) {
+        envelopes.setDecimationEnabled(enabled);
+    }
+
+    @Override
+    public void setLevelOfDetailEnabled(boolean enabled) {
+        envelopes.setLevelOfDetailEnabled(enabled);
+    }
+
+    @Override
+    public int getLodLevel() {
+        CandleData candleData = mChart.getCandleData();
+        if (!envelopes.isLevelOfDetailEnabled()) {
+            return -1;
+        }
+        int level = 0;
+        if (candleData != null) {
+            for (ICandleDataSet set : candleData.getDataSets()) {
+                level = Math.max(level, envelopes.levelFor(set, mChart.getLowestVisibleX(), mChart.getHighestVisibleX(),
+                        mViewPortHandler.contentWidth()));
+            }
+        }
+        return level;
+    }
+
+    @Override
+    protected void drawDataSet(Canvas c, ICandleDataSet dataSet) {
+        if (envelopes.isEnabled() && drawEnvelope(c, dataSet)) {
+            return;
+        }
+        super.drawDataSet(c, dataSet);
+    }
+
+    private boolean drawEnvelope(Canvas c, ICandleDataSet dataSet) {
+        final float lowX = mChart.getLowestVisibleX();
+        final float highX = mChart.getHighestVisibleX();
+        ColumnEnvelope envelope = envelopes.get(dataSet, lowX, highX, mViewPortHandler.contentWidth());
+        if (envelope == null) {
+            return false;
+        }
+        final float columnWidth = envelope.columnWidth;
+
+        int from = envelope.indexAfter(lowX);
+        int to = Math.min(envelope.count, envelope.indexAfter(highX) + 1);
+        to = Math.min(to, envelope.head + (int) Math.ceil((envelope.count - envelope.head) * mAnimator.getPhaseX()));
+        int columns = to - from;
+        if (columns <= 0) {
+            return true;
+        }
+
+        if (shadowPoints.length < columns * 4) {
+            shadowPoints = new float[columns * 4];
+            bodyPoints = new float[columns * 4];
+        }
+
+        final float phaseY = mAnimator.getPhaseY();
+        final float[] shadows = shadowPoints;
+        final float[] bodies = bodyPoints;
+        for (int i = from, k = 0; i < to; i++, k += 4) {
+            float center = envelope.starts[i] + columnWidth / 2f;
+            shadows[k] = center;
+            shadows[k + 1] = envelope.highs[i] * phaseY;
+            shadows[k + 2] = center;
+            shadows[k + 3] = envelope.lows[i] * phaseY;
+
+            bodies[k] = envelope.starts[i];
+            bodies[k + 1] = Math.max(envelope.firsts[i], envelope.lasts[i]) * phaseY;
+            bodies[k + 2] = envelope.starts[i] + columnWidth;
+            bodies[k + 3] = Math.min(envelope.firsts[i], envelope.lasts[i]) * phaseY;
+        }
+        Matrix matrix = mChart.getTransformer(dataSet.getAxisDependency()).getValueToPixelMatrix();
+        matrix.mapPoints(shadows, 0, shadows, 0, columns * 2);
+        matrix.mapPoints(bodies, 0, bodies, 0, columns * 2);
+
+        mRenderPaint.setStrokeWidth(dataSet.getShadowWidth());
+        for (int i = from, k = 0; i < to; i++, k += 4) {
+            boolean increasing = envelope.lasts[i] > envelope.firsts[i];
+            boolean decreasing = envelope.lasts[i] < envelope.firsts[i];
+            int color = increasing ? dataSet.getIncreasingColor()
+                    : decreasing ? dataSet.getDecreasingColor() : dataSet.getNeutralColor();
+            if (color == ColorTemplate.COLOR_NONE) {
+                color = dataSet.getColor(i);
+            }
+
+            int shadowColor = dataSet.getShadowColorSameAsCandle() || dataSet.getShadowColor() == ColorTemplate.COLOR_NONE
+                    ? color : dataSet.getShadowColor();
+            mRenderPaint.setColor(shadowColor);
+            mRenderPaint.setStyle(Paint.Style.STROKE);
+            c.drawLine(shadows[k], shadows[k + 1], shadows[k + 2], shadows[k + 3], mRenderPaint);
+
+            mRenderPaint.setColor(color);
+            mRenderPaint.setStyle(increasing && dataSet.getIncreasingPaintStyle() == Paint.Style.STROKE
+                    || decreasing && dataSet.getDecreasingPaintStyle() == Paint.Style.STROKE
+                    ? Paint.Style.STROKE : Paint.Style.FILL);
+            // 한 픽셀 column 이라 몸통 높이가 0 이어도 선 하나는 보이게 한다
+            float top = Math.min(bodies[k + 1], bodies[k + 3]);
+            float bottom = Math.max(Math.max(bodies[k + 1], bodies[k + 3]), top + 1f);
+            c.drawRect(Math.min(bodies[k], bodies[k + 2]), top, Math.max(bodies[k], bodies[k + 2]), bottom, mRenderPaint);
+        }
+        return true;
+    }
+}
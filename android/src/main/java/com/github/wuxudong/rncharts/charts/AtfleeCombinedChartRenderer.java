@@ -3,15 +3,16 @@ package com.github.wuxudong.rncharts.charts;
 import android.graphics.Canvas;
 import com.github.mikephil.charting.animation.ChartAnimator;
 import com.github.mikephil.charting.charts.CombinedChart;
-import com.github.mikephil.charting.renderer.CandleStickChartRenderer;
 import com.github.mikephil.charting.renderer.CombinedChartRenderer;
 import com.github.mikephil.charting.renderer.LineChartRenderer;
-import com.github.mikephil.charting.renderer.ScatterChartRenderer;
 import com.github.mikephil.charting.utils.ViewPortHandler;
 import com.github.mikephil.charting.renderer.DataRenderer;
 
-public class AtfleeCombinedChartRenderer extends CombinedChartRenderer {
+public class AtfleeCombinedChartRenderer extends CombinedChartRenderer implements LodRenderer, CachingRenderer {
     private float barRadius = 50f;
+    private boolean decimationEnabled = false;
+    private boolean levelOfDetailEnabled = false;
+    private boolean valueLabelCollisionEnabled = false;
 
     public AtfleeCombinedChartRenderer(CombinedChart chart, ChartAnimator animator, ViewPortHandler viewPortHandler) {
         super(chart, animator, viewPortHandler);
@@ -35,6 +36,9 @@ public class AtfleeCombinedChartRenderer extends CombinedChartRenderer {
                     if (chart.getBarData() != null) {
                         AtfleeBarChartRenderer renderer = new AtfleeBarChartRenderer(chart, mAnimator, mViewPortHandler);
                         renderer.setRadius(barRadius);
+                        renderer.setDecimationEnabled(decimationEnabled);
+                        renderer.setLevelOfDetailEnabled(levelOfDetailEnabled);
+                        renderer.setValueLabelCollisionEnabled(valueLabelCollisionEnabled);
                         mRenderers.add(renderer);
                     }
                     break;
@@ -43,17 +47,26 @@ public class AtfleeCombinedChartRenderer extends CombinedChartRenderer {
                         mRenderers.add(new AtfleeBubbleChartRenderer(chart.getContext(), chart, mAnimator, mViewPortHandler));
                     break;
                 case LINE:
-                    if (chart.getLineData() != null)
+                    if (chart.getLineData() != null) {
                         // Use no-clip renderer so value labels near top edge remain visible
-                        mRenderers.add(new NoClipLineChartRenderer(chart, mAnimator, mViewPortHandler));
+                        NoClipLineChartRenderer renderer = new NoClipLineChartRenderer(chart, mAnimator, mViewPortHandler);
+                        renderer.setDecimationEnabled(decimationEnabled);
+                        renderer.setLevelOfDetailEnabled(levelOfDetailEnabled);
+                        renderer.setValueLabelCollisionEnabled(valueLabelCollisionEnabled);
+                        mRenderers.add(renderer);
+                    }
                     break;
                 case CANDLE:
-                    if (chart.getCandleData() != null)
-                        mRenderers.add(new CandleStickChartRenderer(chart, mAnimator, mViewPortHandler));
+                    if (chart.getCandleData() != null) {
+                        AtfleeCandleStickChartRenderer renderer = new AtfleeCandleStickChartRenderer(chart, mAnimator, mViewPortHandler);
+                        renderer.setDecimationEnabled(decimationEnabled);
+                        renderer.setLevelOfDetailEnabled(levelOfDetailEnabled);
+                        mRenderers.add(renderer);
+                    }
                     break;
                 case SCATTER:
                     if (chart.getScatterData() != null)
-                        mRenderers.add(new ScatterChartRenderer(chart, mAnimator, mViewPortHandler));
+                        mRenderers.add(new AtfleeScatterChartRenderer(chart, mAnimator, mViewPortHandler));
                     break;
             }
         }
@@ -68,6 +81,60 @@ public class AtfleeCombinedChartRenderer extends CombinedChartRenderer {
         }
     }
 
+    public void setDecimationEnabled(boolean enabled) {
+        this.decimationEnabled = enabled;
+        for (DataRenderer renderer : mRenderers) {
+            if (renderer instanceof NoClipLineChartRenderer) {
+                ((NoClipLineChartRenderer) renderer).setDecimationEnabled(enabled);
+            } else if (renderer instanceof AtfleeBarChartRenderer) {
+                ((AtfleeBarChartRenderer) renderer).setDecimationEnabled(enabled);
+            } else if (renderer instanceof AtfleeCandleStickChartRenderer) {
+                ((AtfleeCandleStickChartRenderer) renderer).setDecimationEnabled(enabled);
+            }
+        }
+    }
+
+    public void setValueLabelCollisionEnabled(boolean enabled) {
+        this.valueLabelCollisionEnabled = enabled;
+        for (DataRenderer renderer : mRenderers) {
+            if (renderer instanceof NoClipLineChartRenderer) {
+                ((NoClipLineChartRenderer) renderer).setValueLabelCollisionEnabled(enabled);
+            } else if (renderer instanceof AtfleeBarChartRenderer) {
+                ((AtfleeBarChartRenderer) renderer).setValueLabelCollisionEnabled(enabled);
+            }
+        }
+    }
+
+    @Override
+    public void setLevelOfDetailEnabled(boolean enabled) {
+        this.levelOfDetailEnabled = enabled;
+        for (DataRenderer renderer : mRenderers) {
+            if (renderer instanceof LodRenderer) {
+                ((LodRenderer) renderer).setLevelOfDetailEnabled(enabled);
+            }
+        }
+    }
+
+    @Override
+    public void releaseCaches() {
+        for (DataRenderer renderer : mRenderers) {
+            if (renderer instanceof CachingRenderer) {
+                ((CachingRenderer) renderer).releaseCaches();
+            }
+        }
+    }
+
+    @Override
+    public int getLodLevel() {
+        int level = -1;
+        for (DataRenderer renderer : mRenderers) {
+            if (renderer instanceof LodRenderer) {
+                level = Math.max(level, ((LodRenderer) renderer).getLodLevel());
+            }
+        }
+        return level;
+    }
+
     @Override
     public void drawExtras(Canvas c) {
         super.drawExtras(c);
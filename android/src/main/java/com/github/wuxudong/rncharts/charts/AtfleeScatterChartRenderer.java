@@ -0,0 +1,76 @@
+package com.github.wuxudong.rncharts.charts;
+
+import android.graphics.Canvas;
+import android.graphics.Matrix;
+
+import com.github.mikephil.charting.animation.ChartAnimator;
+import com.github.mikephil.charting.interfaces.dataprovider.ScatterDataProvider;
+import com.github.mikephil.charting.interfaces.datasets.IScatterDataSet;
+import com.github.mikephil.charting.renderer.ScatterChartRenderer;
+import com.github.mikephil.charting.renderer.scatter.IShapeRenderer;
+import com.github.mikephil.charting.utils.ViewPortHandler;
+import com.github.wuxudong.rncharts.data.FloatArrayDataSet;
+import com.github.wuxudong.rncharts.data.FloatArrayStore;
+
+/**
+ * Scatter renderer that reads {@link FloatArrayDataSet} columns directly, starting at the first visible point
+ * and transforming points in small batches. Other data sets use ScatterChartRenderer as is.
+ */
+public class AtfleeScatterChartRenderer extends ScatterChartRenderer {
+
+    private static final int BATCH = 128;
+
+    private final float[] pointBuffer = new float[BATCH * 2];
+
+    public AtfleeScatterChartRenderer(ScatterDataProvider chart, ChartAnimator animator, ViewPortHandler viewPortHandler) {
+        super(chart, animator, viewPortHandler);
+    }
+
+    @Override
+    protected void drawDataSet(Canvas c, IScatterDataSet dataSet) {
+        if (!(dataSet instanceof FloatArrayDataSet)) {
+            super.drawDataSet(c, dataSet);
+            return;
+        }
+
+        FloatArrayStore store = ((FloatArrayDataSet) dataSet).getStore();
+        IShapeRenderer shapeRenderer = dataSet.getShapeRenderer();
+        if (store.size() < 1 || shapeRenderer == null) {
+            return;
+        }
+
+        final float phaseY = mAnimator.getPhaseY();
+        final int max = (int) Math.min(Math.ceil(store.size() * mAnimator.getPhaseX()), store.size());
+
+        mXBounds.set(mChart, dataSet);
+        final Matrix matrix = mChart.getTransformer(dataSet.getAxisDependency()).getValueToPixelMatrix();
+        final float[] xs = store.xValues();
+        final float[] ys = store.yValues();
+        final int offset = store.getOffset();
+
+        for (int start = Math.max(0, mXBounds.min); start < max; start += BATCH) {
+            int count = Math.min(BATCH, max - start);
+            for (int k = 0; k < count; k++) {
+                pointBuffer[k * 2] = xs[offset + start + k];
+                pointBuffer[k * 2 + 1] = ys[offset + start + k] * phaseY;
+            }
+            matrix.mapPoints(pointBuffer, 0, pointBuffer, 0, count);
+
+            for (int k = 0; k < count; k++) {
+                float px = pointBuffer[k * 2];
+                float py = pointBuffer[k * 2 + 1];
+
+                if (!mViewPortHandler.isInBoundsRight(px)) {
+                    return;
+                }
+                if (!mViewPortHandler.isInBoundsLeft(px) || !mViewPortHandler.isInBoundsY(py)) {
+                    continue;
+                }
+
+                // ScatterChartRenderer 와 같은 색 index
+                mRenderPaint.setColor(dataSet.getColor((start + k) / 2));
+                shapeRenderer.renderShape(c, dataSet, mViewPortHandler, px, py, mRenderPaint);
+            }
+        }
+    }
+}
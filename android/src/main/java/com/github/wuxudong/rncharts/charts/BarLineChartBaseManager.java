@@ -1,6 +1,7 @@
 package com.github.wuxudong.rncharts.charts;
 
 import android.graphics.RectF;
+import android.view.Choreographer;
 
 import com.facebook.react.bridge.ReadableArray;
 import com.facebook.react.bridge.ReadableMap;
@@ -10,19 +11,30 @@ import com.facebook.react.uimanager.annotations.ReactProp;
 import com.github.mikephil.charting.charts.BarLineChartBase;
 import com.github.mikephil.charting.charts.Chart;
 import com.github.mikephil.charting.components.YAxis;
+import com.github.mikephil.charting.data.ChartData;
+import com.github.mikephil.charting.data.DataSet;
 import com.github.mikephil.charting.data.Entry;
+import com.github.mikephil.charting.interfaces.datasets.IDataSet;
 import com.github.mikephil.charting.jobs.ZoomJob;
 import com.github.mikephil.charting.listener.BarLineChartTouchListener;
 import com.github.mikephil.charting.listener.OnChartGestureListener;
+import com.github.mikephil.charting.renderer.DataRenderer;
 import com.github.mikephil.charting.utils.MPPointD;
 import com.github.mikephil.charting.utils.MPPointF;
 import com.github.mikephil.charting.utils.Transformer;
+import com.github.wuxudong.rncharts.charts.helpers.EdgeLabelHelper;
+import com.github.wuxudong.rncharts.data.DataSetCache;
+import com.github.wuxudong.rncharts.data.DataSetMutator;
+import com.github.wuxudong.rncharts.data.FloatArrayDataSet;
+import com.github.wuxudong.rncharts.data.FloatArrayStore;
+import com.github.wuxudong.rncharts.data.PackedValues;
 import com.github.wuxudong.rncharts.listener.RNOnChartGestureListener;
 import com.github.wuxudong.rncharts.utils.BridgeUtils;
 
+import java.lang.ref.WeakReference;
 import java.lang.reflect.Field;
+import java.util.List;
 import java.util.Map;
-import java.util.WeakHashMap;
 
 import javax.annotation.Nullable;
 
@@ -39,26 +51,12 @@ class ChartExtraProperties {
     // changes so the auto-zoom path can never override an explicit zoom. Cleared only when the
     // zoom prop is removed (setZoom(null)). Charts that pass no scaleX keep this null → auto-zoom.
     public Float zoomScaleX = null;
-}
-
-class ExtraPropertiesHolder {
-
-
-    private WeakHashMap<BarLineChartBase, ChartExtraProperties> extraProperties = new WeakHashMap<>();
-
-    public synchronized ChartExtraProperties getExtraProperties(BarLineChartBase chart) {
-        if (!extraProperties.containsKey(chart)) {
-            extraProperties.put(chart, new ChartExtraProperties());
-        }
-
-        return extraProperties.get(chart);
-    }
+    // pushValues 이후 다음 vsync 의 redraw 가 이미 예약되어 있는지
+    public boolean streamFramePending = false;
 }
 
 public abstract class BarLineChartBaseManager<T extends BarLineChartBase, U extends Entry> extends YAxisChartBase<T, U> {
 
-    private ExtraPropertiesHolder extraPropertiesHolder = new ExtraPropertiesHolder();
-
     @Override
     public void setYAxis(Chart chart, ReadableMap propMap) {
         BarLineChartBase barLineChart = (BarLineChartBase) chart;
@@ -112,10 +110,24 @@ public abstract class BarLineChartBaseManager<T extends BarLineChartBase, U exte
         chart.invalidate();
     }
 
+    @ReactProp(name = "valueLabelCollision")
+    public void setValueLabelCollision(BarLineChartBase chart, boolean enabled) {
+        DataRenderer renderer = chart.getRenderer();
+        if (renderer instanceof NoClipLineChartRenderer) {
+            ((NoClipLineChartRenderer) renderer).setValueLabelCollisionEnabled(enabled);
+        } else if (renderer instanceof AtfleeBarChartRenderer) {
+            ((AtfleeBarChartRenderer) renderer).setValueLabelCollisionEnabled(enabled);
+        } else if (renderer instanceof AtfleeCombinedChartRenderer) {
+            ((AtfleeCombinedChartRenderer) renderer).setValueLabelCollisionEnabled(enabled);
+        }
+        com.github.wuxudong.rncharts.charts.helpers.EdgeLabelHelper.setValueLabelCollision(chart, enabled);
+        chart.invalidate();
+    }
+
     @ReactProp(name = "visibleRange")
     public void setVisibleXRangeMinimum(BarLineChartBase chart, ReadableMap propMap) {
          // delay visibleRange handling until chart data is set
-         ChartExtraProperties props = extraPropertiesHolder.getExtraProperties(chart);
+         ChartExtraProperties props = ChartRuntimeState.of(chart).extra;
          props.savedVisibleRange = propMap;
          props.autoZoomPending = true;
          chart.post(new Runnable() {
@@ -167,7 +179,7 @@ public abstract class BarLineChartBaseManager<T extends BarLineChartBase, U exte
             }
         }
 
-        ChartExtraProperties extra = extraPropertiesHolder.getExtraProperties(chart);
+        ChartExtraProperties extra = ChartRuntimeState.of(chart).extra;
 
         if (extra.zoomScaleX != null) {
             // 명시적 zoom prop(scaleX)이 있으면 그 값이 초기 표시 배율의 SSOT 다.
@@ -319,7 +331,7 @@ public abstract class BarLineChartBaseManager<T extends BarLineChartBase, U exte
 
     @ReactProp(name = "zoom")
     public void setZoom(BarLineChartBase chart, ReadableMap propMap) {
-        ChartExtraProperties extra = extraPropertiesHolder.getExtraProperties(chart);
+        ChartExtraProperties extra = ChartRuntimeState.of(chart).extra;
         if (propMap == null) {
             // zoom 해제 → zoomScaleX 초기화
             extra.zoomScaleX = null;
@@ -364,6 +376,45 @@ public abstract class BarLineChartBaseManager<T extends BarLineChartBase, U exte
         }
     }
 
+    // true: chartTranslated / chartScaled 를 하나 보낸 뒤 JS 가 ackEvent() 를 부를 때까지 다음 것을 보내지 않는다
+    @ReactProp(name = "eventAck")
+    public void setEventAck(BarLineChartBase chart, boolean enabled) {
+        OnChartGestureListener listener = chart.getOnChartGestureListener();
+        if (listener instanceof RNOnChartGestureListener) {
+            ((RNOnChartGestureListener) listener).setEventAck(enabled);
+        }
+    }
+
+    @ReactProp(name = "decimation")
+    public void setDecimation(BarLineChartBase chart, boolean enabled) {
+        DataRenderer renderer = chart.getRenderer();
+        if (renderer instanceof NoClipLineChartRenderer) {
+            ((NoClipLineChartRenderer) renderer).setDecimationEnabled(enabled);
+        } else if (renderer instanceof AtfleeBarChartRenderer) {
+            ((AtfleeBarChartRenderer) renderer).setDecimationEnabled(enabled);
+        } else if (renderer instanceof AtfleeCandleStickChartRenderer) {
+            ((AtfleeCandleStickChartRenderer) renderer).setDecimationEnabled(enabled);
+        } else if (renderer instanceof AtfleeCombinedChartRenderer) {
+            ((AtfleeCombinedChartRenderer) renderer).setDecimationEnabled(enabled);
+        }
+        chart.invalidate();
+    }
+
+    @ReactProp(name = "aggregationThresholds")
+    public void setAggregationThresholds(BarLineChartBase chart, ReadableMap propMap) {
+        CalendarLevelSwitcher.of(chart).setThresholds(propMap);
+        chart.invalidate();
+    }
+
+    @ReactProp(name = "levelOfDetail")
+    public void setLevelOfDetail(BarLineChartBase chart, boolean enabled) {
+        DataRenderer renderer = chart.getRenderer();
+        if (renderer instanceof LodRenderer) {
+            ((LodRenderer) renderer).setLevelOfDetailEnabled(enabled);
+        }
+        chart.invalidate();
+    }
+
     // Note: Offset aren't updated until first touch event: https://github.com/PhilJay/MPAndroidChart/issues/892
     @ReactProp(name = "viewPortOffsets")
     public void setViewPortOffsets(BarLineChartBase chart, ReadableMap propMap) {
@@ -406,22 +457,34 @@ public abstract class BarLineChartBaseManager<T extends BarLineChartBase, U exte
 
     @ReactProp(name = "group")
     public void setGroup(BarLineChartBase chart, String group) {
-        extraPropertiesHolder.getExtraProperties(chart).group = group;
+        ChartRuntimeState.of(chart).extra.group = group;
     }
 
     @ReactProp(name = "identifier")
     public void setIdentifier(BarLineChartBase chart, String identifier) {
-        extraPropertiesHolder.getExtraProperties(chart).identifier = identifier;
+        ChartRuntimeState.of(chart).extra.identifier = identifier;
     }
 
     @ReactProp(name = "syncX")
     public void setSyncX(BarLineChartBase chart, boolean syncX) {
-        extraPropertiesHolder.getExtraProperties(chart).syncX = syncX;
+        ChartRuntimeState.of(chart).extra.syncX = syncX;
     }
 
     @ReactProp(name = "syncY")
     public void setSyncY(BarLineChartBase chart, boolean syncY) {
-        extraPropertiesHolder.getExtraProperties(chart).syncY = syncY;
+        ChartRuntimeState.of(chart).extra.syncY = syncY;
+    }
+
+    @Override
+    public void onDropViewInstance(T chart) {
+        // super 가 ChartRuntimeState 를 떼어 내므로 group 은 먼저 읽어 둔다
+        ChartRuntimeState state = ChartRuntimeState.peek(chart);
+        super.onDropViewInstance(chart);
+
+        ChartExtraProperties extra = state != null ? state.extra : null;
+        if (extra != null && extra.group != null && extra.identifier != null) {
+            ChartGroupHolder.removeChart(extra.group, extra.identifier, chart);
+        }
     }
 
     @Nullable
@@ -436,6 +499,12 @@ public abstract class BarLineChartBaseManager<T extends BarLineChartBase, U exte
                 "fitScreen", FIT_SCREEN,
                 "highlights", HIGHLIGHTS,
                 "setDataAndLockIndex", SET_DATA_AND_LOCK_INDEX);
+        map.put("appendValues", APPEND_VALUES);
+        map.put("prependValues", PREPEND_VALUES);
+        map.put("removeRange", REMOVE_RANGE);
+        map.put("patchValues", PATCH_VALUES);
+        map.put("pushValues", PUSH_VALUES);
+        map.put("ackEvent", ACK_EVENT);
 
         if (commandsMap != null) {
             map.putAll(commandsMap);
@@ -477,6 +546,34 @@ public abstract class BarLineChartBaseManager<T extends BarLineChartBase, U exte
             case SET_DATA_AND_LOCK_INDEX:
                 setDataAndLockIndex(root, args.getMap(0));
                 return;
+
+            case APPEND_VALUES:
+                insertValues(root, args, false);
+                return;
+
+            case PREPEND_VALUES:
+                insertValues(root, args, true);
+                return;
+
+            case REMOVE_RANGE:
+                removeRange(root, args);
+                return;
+
+            case PATCH_VALUES:
+                patchValues(root, args);
+                return;
+
+            case PUSH_VALUES:
+                pushValues(root, args);
+                return;
+
+            case ACK_EVENT: {
+                OnChartGestureListener listener = root.getOnChartGestureListener();
+                if (listener instanceof RNOnChartGestureListener) {
+                    ((RNOnChartGestureListener) listener).ack();
+                }
+                return;
+            }
         }
 
         super.receiveCommand(root, commandId, args);
@@ -513,6 +610,24 @@ public abstract class BarLineChartBaseManager<T extends BarLineChartBase, U exte
             case "setDataAndLockIndex":
                 receiveCommand(root, SET_DATA_AND_LOCK_INDEX, args);
                 return;
+            case "appendValues":
+                receiveCommand(root, APPEND_VALUES, args);
+                return;
+            case "prependValues":
+                receiveCommand(root, PREPEND_VALUES, args);
+                return;
+            case "removeRange":
+                receiveCommand(root, REMOVE_RANGE, args);
+                return;
+            case "patchValues":
+                receiveCommand(root, PATCH_VALUES, args);
+                return;
+            case "pushValues":
+                receiveCommand(root, PUSH_VALUES, args);
+                return;
+            case "ackEvent":
+                receiveCommand(root, ACK_EVENT, args);
+                return;
         }
 
         super.receiveCommand(root, commandId, args);
@@ -531,7 +646,7 @@ public abstract class BarLineChartBaseManager<T extends BarLineChartBase, U exte
         double originalVisibleYRange = getVisibleYRange(root, axisDependency);
 
         root.setData((getDataExtract().extract(root, map)));
-        ReadableMap savedVisibleRange = extraPropertiesHolder.getExtraProperties(root).savedVisibleRange;
+        ReadableMap savedVisibleRange = ChartRuntimeState.of(root).extra.savedVisibleRange;
         if (savedVisibleRange != null) {
             updateVisibleRange(root, savedVisibleRange);
         }
@@ -567,6 +682,215 @@ public abstract class BarLineChartBaseManager<T extends BarLineChartBase, U exte
 
     }
 
+    // args: [dataSetIndex, values | valuesPacked]
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    private void insertValues(T root, ReadableArray args, boolean prepend) {
+        DataSet dataSet = getMutableDataSet(root, args.getInt(0));
+        if (dataSet == null) {
+            return;
+        }
+
+        boolean packed = ReadableType.Map.equals(args.getType(1));
+        PackedValues packedValues = null;
+        if (packed) {
+            try {
+                packedValues = PackedValues.decode(args.getMap(1));
+            } catch (IllegalArgumentException e) {
+                android.util.Log.w("RNCharts", (prepend ? "prependValues" : "appendValues") + " ignored: " + e.getMessage());
+                return;
+            }
+        }
+        ReadableArray values = packed ? null : args.getArray(1);
+        int size = packed ? packedValues.size() : values.size();
+
+        // x 가 없는 값은 기존 엔트리에 이어서 번호를 매긴다.
+        List<? extends Entry> current = dataSet.getValues();
+        float implicitXStart;
+        if (current.isEmpty()) {
+            implicitXStart = 0;
+        } else if (prepend) {
+            implicitXStart = current.get(0).getX() - size;
+        } else {
+            implicitXStart = current.get(current.size() - 1).getX() + 1;
+        }
+
+        List<? extends Entry> entries;
+        try {
+            entries = packed
+                    ? getDataExtract().createEntries(root, dataSet, packedValues, implicitXStart)
+                    : getDataExtract().createEntries(root, dataSet, values, implicitXStart);
+        } catch (IllegalArgumentException e) {
+            android.util.Log.w("RNCharts", (prepend ? "prependValues" : "appendValues") + " ignored: " + e.getMessage());
+            return;
+        }
+
+        ViewportLock lock = ViewportLock.capture(root);
+        if (prepend) {
+            DataSetMutator.prepend(dataSet, entries);
+        } else {
+            DataSetMutator.append(dataSet, entries);
+        }
+        onDataSetMutated(root, lock);
+    }
+
+    // args: [dataSetIndex, values | valuesPacked]
+    // "stream" data set 이면 ring buffer 에 넣고 redraw 는 다음 vsync 에 한 번만 한다. 아니면 appendValues 와 같다.
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    private void pushValues(final T root, ReadableArray args) {
+        DataSet dataSet = getMutableDataSet(root, args.getInt(0));
+        if (dataSet == null) {
+            return;
+        }
+
+        FloatArrayStore store = dataSet instanceof FloatArrayDataSet ? ((FloatArrayDataSet) dataSet).getStore() : null;
+        if (store == null || store.getCapacity() == 0) {
+            insertValues(root, args, false);
+            return;
+        }
+
+        if (!store.isSingleY()) {
+            android.util.Log.w("RNCharts", "pushValues ignored, supports single y values only: " + dataSet.getLabel());
+            return;
+        }
+
+        boolean packed = ReadableType.Map.equals(args.getType(1));
+        float implicitXStart = store.size() > 0 ? store.getX(store.size() - 1) + 1 : 0;
+        List<? extends Entry> entries;
+        try {
+            entries = packed
+                    ? getDataExtract().createEntries(root, dataSet, PackedValues.decode(args.getMap(1)), implicitXStart)
+                    : getDataExtract().createEntries(root, dataSet, args.getArray(1), implicitXStart);
+        } catch (IllegalArgumentException e) {
+            android.util.Log.w("RNCharts", "pushValues ignored: " + e.getMessage());
+            return;
+        }
+        if (entries.isEmpty()) {
+            return;
+        }
+
+        DataSetCache.invalidate(root);
+        // 첫 push 때의 viewport 를 기준으로 삼는다 (같은 frame 의 나머지 push 는 합쳐진다).
+        scheduleStreamFrame(root);
+        int rejected = 0;
+        for (Entry entry : entries) {
+            if (!store.push(entry.getX(), entry.getY())) {
+                rejected++;
+            }
+        }
+        if (rejected > 0) {
+            android.util.Log.w("RNCharts", "pushValues dropped " + rejected + " value(s) with x below the last x");
+        }
+        // ring buffer 의 min/max 는 deque 로 유지되므로 O(1) 이다.
+        dataSet.notifyDataSetChanged();
+    }
+
+    private void scheduleStreamFrame(T root) {
+        ChartExtraProperties extraProperties = ChartRuntimeState.of(root).extra;
+        if (extraProperties.streamFramePending) {
+            return;
+        }
+        extraProperties.streamFramePending = true;
+
+        final ViewportLock lock = ViewportLock.capture(root);
+        final WeakReference<T> chartRef = new WeakReference<>(root);
+        Choreographer.getInstance().postFrameCallback(new Choreographer.FrameCallback() {
+            @Override
+            public void doFrame(long frameTimeNanos) {
+                T chart = chartRef.get();
+                if (chart == null) {
+                    return;
+                }
+                ChartRuntimeState.of(chart).extra.streamFramePending = false;
+                if (chart.getData() == null) {
+                    return;
+                }
+                onDataSetMutated(chart, lock);
+            }
+        });
+    }
+
+    // args: [dataSetIndex, fromIndex, count]
+    private void removeRange(T root, ReadableArray args) {
+        DataSet dataSet = getMutableDataSet(root, args.getInt(0));
+        if (dataSet == null) {
+            return;
+        }
+
+        ViewportLock lock = ViewportLock.capture(root);
+        DataSetMutator.removeRange(dataSet, args.getInt(1), args.getInt(2));
+        onDataSetMutated(root, lock);
+    }
+
+    // args: [dataSetIndex, startIndex, ys]
+    private void patchValues(T root, ReadableArray args) {
+        DataSet dataSet = getMutableDataSet(root, args.getInt(0));
+        if (dataSet == null) {
+            return;
+        }
+
+        ViewportLock lock = ViewportLock.capture(root);
+        if (DataSetMutator.patchY(dataSet, args.getInt(1), BridgeUtils.convertToFloatArray(args.getArray(2)))) {
+            onDataSetMutated(root, lock);
+        }
+    }
+
+    @Nullable
+    private DataSet getMutableDataSet(T root, int dataSetIndex) {
+        // 주/월 level 이 들어가 있으면 원본으로 되돌린 뒤 원본을 고친다.
+        CalendarLevelSwitcher.restore(root);
+        ChartData data = root.getData();
+        if (data == null || dataSetIndex < 0 || dataSetIndex >= data.getDataSetCount()) {
+            android.util.Log.w("RNCharts", "dataset mutation ignored, no dataSet at index " + dataSetIndex);
+            return null;
+        }
+
+        IDataSet dataSet = data.getDataSetByIndex(dataSetIndex);
+        if (!(dataSet instanceof DataSet)) {
+            android.util.Log.w("RNCharts", "dataset mutation ignored, unsupported dataSet " + dataSet);
+            return null;
+        }
+        return (DataSet) dataSet;
+    }
+
+    private void onDataSetMutated(T root, ViewportLock lock) {
+        // 캐시된 fingerprint 는 더 이상 dataSet 내용과 맞지 않는다.
+        DataSetCache.invalidate(root);
+
+        // ChartData 는 dataSet 별 min/max 만 다시 모으므로 O(dataSet 수) 이다.
+        root.getData().notifyDataChanged();
+        root.notifyDataSetChanged();
+        lock.restore(root);
+        followLatest(root);
+
+        EdgeLabelHelper.update(root, root.getLowestVisibleX(), root.getHighestVisibleX());
+        root.invalidate();
+    }
+
+    /**
+     * "stream.followLatest" 인 data set 이 있으면 가장 최근 x 가 오른쪽 끝에 오도록 스크롤한다 (가시 x 범위는 유지).
+     */
+    private void followLatest(T root) {
+        ChartData data = root.getData();
+        float latestX = -Float.MAX_VALUE;
+        for (int i = 0; i < data.getDataSetCount(); i++) {
+            IDataSet dataSet = data.getDataSetByIndex(i);
+            if (dataSet instanceof FloatArrayDataSet) {
+                FloatArrayStore store = ((FloatArrayDataSet) dataSet).getStore();
+                if (store.isFollowLatest() && store.size() > 0) {
+                    latestX = Math.max(latestX, store.getX(store.size() - 1));
+                }
+            }
+        }
+        if (latestX == -Float.MAX_VALUE) {
+            return;
+        }
+
+        float visibleXRange = root.getVisibleXRange();
+        if (visibleXRange > 0 && !Float.isNaN(visibleXRange)) {
+            root.moveViewToX(latestX - visibleXRange);
+        }
+    }
+
     private double getVisibleYRange(T chart, YAxis.AxisDependency axisDependency) {
         RectF contentRect = chart.getViewPortHandler().getContentRect();
 
@@ -584,7 +908,9 @@ public abstract class BarLineChartBaseManager<T extends BarLineChartBase, U exte
     protected void onAfterDataSetChanged(T chart) {
         super.onAfterDataSetChanged(chart);
 
-        ChartExtraProperties extraProperties = extraPropertiesHolder.getExtraProperties(chart);
+        ChartExtraProperties extraProperties = ChartRuntimeState.of(chart).extra;
+
+        CalendarLevelSwitcher.install(chart);
 
         if (extraProperties.savedVisibleRange != null) {
             extraProperties.autoZoomPending = true;
@@ -0,0 +1,12 @@
+package com.github.wuxudong.rncharts.charts;
+
+/**
+ * Renderer that keeps caches (value label layouts, envelopes, decimated lines) for its chart.
+ */
+public interface CachingRenderer {
+
+    /**
+     * Drops every cache; called when the chart view is dropped. They are rebuilt if the renderer draws again.
+     */
+    void releaseCaches();
+}
@@ -0,0 +1,247 @@
+package com.github.wuxudong.rncharts.charts;
+
+import android.view.ViewTreeObserver;
+
+import com.facebook.react.bridge.ReadableMap;
+import com.facebook.react.bridge.ReadableType;
+import com.github.mikephil.charting.charts.BarLineChartBase;
+import com.github.mikephil.charting.charts.Chart;
+import com.github.mikephil.charting.data.BarData;
+import com.github.mikephil.charting.data.ChartData;
+import com.github.mikephil.charting.data.CombinedData;
+import com.github.mikephil.charting.interfaces.datasets.IDataSet;
+import com.github.wuxudong.rncharts.data.CalendarAggregator;
+import com.github.wuxudong.rncharts.utils.BridgeUtils;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Swaps the data sets created with an "aggregation" option for their day / week / month level as the visible
+ * x span crosses the "aggregationThresholds" (in days), right before the chart draws.
+ *
+ * - 원본 data set 은 기억해 두고 ChartData 의 list 에서 자리만 바꾼다. JS 가 data 를 다시 보내면 원본부터 다시 시작한다.
+ * - level 은 {@link CalendarAggregator} 가 처음 필요할 때 만들어 두므로 같은 level 로 돌아올 때는 다시 모으지 않는다.
+ * - 바꾸기 전의 중심/가시 x 범위는 {@link ViewportLock} 으로 유지한다.
+ */
+public final class CalendarLevelSwitcher implements ViewTreeObserver.OnPreDrawListener {
+
+    private static final CalendarAggregator.Unit[] UNITS = CalendarAggregator.Unit.values();
+    // 기본: 5 주 이상 보이면 주, 반년 이상이면 월
+    private static final double[] DEFAULT_THRESHOLDS = {Double.NaN, 35, 180};
+
+    private final WeakReference<BarLineChartBase> chartRef;
+    // unit 별로 그 level 을 쓰기 시작하는 가시 구간 (일), NaN 이면 쓰지 않는다
+    private final double[] thresholds = DEFAULT_THRESHOLDS.clone();
+
+    // 원본 data set, CombinedData 의 getDataSets() 순서
+    private ChartData<?> data;
+    private final ArrayList<IDataSet<?>> raws = new ArrayList<>();
+    private CalendarAggregator reference;
+    private CalendarAggregator.Unit unit;
+    private float rawBarWidth;
+    private float rawSpacing;
+
+    private CalendarLevelSwitcher(BarLineChartBase chart) {
+        this.chartRef = new WeakReference<>(chart);
+    }
+
+    static CalendarLevelSwitcher of(BarLineChartBase chart) {
+        ChartRuntimeState state = ChartRuntimeState.of(chart);
+        CalendarLevelSwitcher switcher = state.calendarSwitcher;
+        if (switcher == null) {
+            switcher = new CalendarLevelSwitcher(chart);
+            state.calendarSwitcher = switcher;
+            chart.getViewTreeObserver().addOnPreDrawListener(switcher);
+        }
+        return switcher;
+    }
+
+    /**
+     * Stops switching levels for a chart view that is being dropped.
+     */
+    static void release(BarLineChartBase chart) {
+        ChartRuntimeState state = ChartRuntimeState.peek(chart);
+        CalendarLevelSwitcher switcher = state != null ? state.calendarSwitcher : null;
+        if (switcher == null) {
+            return;
+        }
+        state.calendarSwitcher = null;
+        if (chart.getViewTreeObserver().isAlive()) {
+            chart.getViewTreeObserver().removeOnPreDrawListener(switcher);
+        }
+    }
+
+    /**
+     * Starts switching levels once the chart has a data set with an "aggregation" option.
+     */
+    static void install(BarLineChartBase chart) {
+        ChartData<?> data = chart.getData();
+        if (data == null || ChartRuntimeState.of(chart).calendarSwitcher != null) {
+            return;
+        }
+        for (IDataSet<?> dataSet : data.getDataSets()) {
+            if (CalendarAggregator.of(dataSet) != null) {
+                of(chart);
+                return;
+            }
+        }
+    }
+
+    /**
+     * Level the chart shows for its current visible span ("day", "week", "month"), "none" for the original
+     * entries, or null when the chart has no aggregated data set.
+     */
+    public static String levelName(Chart chart) {
+        CalendarLevelSwitcher switcher = ChartRuntimeState.of(chart).calendarSwitcher;
+        if (switcher == null || switcher.reference == null || !(chart instanceof BarLineChartBase)) {
+            return null;
+        }
+        CalendarAggregator.Unit target = switcher.target((BarLineChartBase) chart);
+        return target != null ? target.name().toLowerCase(Locale.ROOT) : "none";
+    }
+
+    /**
+     * Puts the original data sets back before they are mutated in place and drops their cached levels;
+     * the next frame picks the level again.
+     */
+    static void restore(BarLineChartBase chart) {
+        CalendarLevelSwitcher switcher = ChartRuntimeState.of(chart).calendarSwitcher;
+        if (switcher == null || switcher.data != chart.getData() || switcher.data == null) {
+            return;
+        }
+        if (switcher.unit != null) {
+            switcher.switchTo(chart, null);
+        }
+        for (IDataSet<?> raw : switcher.raws) {
+            CalendarAggregator aggregator = CalendarAggregator.of(raw);
+            if (aggregator != null) {
+                aggregator.invalidate();
+            }
+        }
+    }
+
+    /**
+     * @param propMap { day, week, month }: visible span in days from which each level is used; null for the defaults
+     */
+    void setThresholds(ReadableMap propMap) {
+        String[] keys = {"day", "week", "month"};
+        for (int i = 0; i < keys.length; i++) {
+            if (propMap == null) {
+                thresholds[i] = DEFAULT_THRESHOLDS[i];
+            } else if (BridgeUtils.validate(propMap, ReadableType.Number, keys[i])) {
+                thresholds[i] = propMap.getDouble(keys[i]);
+            } else {
+                thresholds[i] = Double.NaN;
+            }
+        }
+    }
+
+    @Override
+    public boolean onPreDraw() {
+        BarLineChartBase chart = chartRef.get();
+        if (chart != null) {
+            update(chart);
+        }
+        return true;
+    }
+
+    void update(BarLineChartBase chart) {
+        ChartData<?> current = chart.getData();
+        if (current != data) {
+            capture(current);
+        }
+        if (reference == null) {
+            return;
+        }
+
+        CalendarAggregator.Unit target = target(chart);
+        if (target != unit) {
+            switchTo(chart, target);
+        }
+    }
+
+    private CalendarAggregator.Unit target(BarLineChartBase chart) {
+        double span = reference.toDays(chart.getVisibleXRange());
+        CalendarAggregator.Unit target = null;
+        double best = -Double.MAX_VALUE;
+        for (int i = 0; i < UNITS.length; i++) {
+            if (!Double.isNaN(thresholds[i]) && span >= thresholds[i] && thresholds[i] >= best) {
+                best = thresholds[i];
+                target = UNITS[i];
+            }
+        }
+        return target;
+    }
+
+    private void capture(ChartData<?> current) {
+        data = current;
+        raws.clear();
+        reference = null;
+        unit = null;
+        rawSpacing = 0f;
+        if (current == null) {
+            return;
+        }
+
+        for (ChartData<?> part : parts(current)) {
+            for (IDataSet<?> dataSet : part.getDataSets()) {
+                raws.add(dataSet);
+                if (reference == null) {
+                    reference = CalendarAggregator.of(dataSet);
+                }
+                if (part instanceof BarData && rawSpacing == 0f && dataSet.getEntryCount() > 1) {
+                    rawSpacing = (dataSet.getXMax() - dataSet.getXMin()) / (dataSet.getEntryCount() - 1);
+                }
+            }
+            if (part instanceof BarData) {
+                rawBarWidth = ((BarData) part).getBarWidth();
+            }
+        }
+    }
+
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    private void switchTo(BarLineChartBase chart, CalendarAggregator.Unit target) {
+        ViewportLock lock = ViewportLock.capture(chart);
+        // 바뀐 data set 의 entry 를 가리키는 highlight 는 의미가 없다
+        chart.highlightValues(null);
+
+        int index = 0;
+        for (ChartData<?> part : parts(data)) {
+            List dataSets = part.getDataSets();
+            for (int i = 0; i < dataSets.size(); i++, index++) {
+                IDataSet<?> raw = raws.get(index);
+                CalendarAggregator aggregator = CalendarAggregator.of(raw);
+                dataSets.set(i, target == null || aggregator == null ? raw : aggregator.level(chart, raw, target));
+            }
+            if (part instanceof BarData) {
+                // 막대 폭은 원본 간격에 대한 비율을 유지한다
+                float barWidth = rawBarWidth;
+                if (target != null && rawSpacing > 0f) {
+                    barWidth = (float) (rawBarWidth * reference.toX(target.days) / rawSpacing);
+                }
+                ((BarData) part).setBarWidth(barWidth);
+            }
+            part.notifyDataChanged();
+        }
+        unit = target;
+
+        data.notifyDataChanged();
+        chart.notifyDataSetChanged();
+        lock.restore(chart);
+    }
+
+    private static List<ChartData<?>> parts(ChartData<?> data) {
+        List<ChartData<?>> parts = new ArrayList<>();
+        if (data instanceof CombinedData) {
+            for (Object part : ((CombinedData) data).getAllData()) {
+                parts.add((ChartData<?>) part);
+            }
+        } else {
+            parts.add(data);
+        }
+        return parts;
+    }
+}
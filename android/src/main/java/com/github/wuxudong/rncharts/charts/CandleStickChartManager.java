@@ -22,6 +22,8 @@ public class CandleStickChartManager extends BarLineChartBaseManager<CandleStick
         candleStickChart.setOnChartGestureListener(new RNOnChartGestureListener(candleStickChart));
         // Enable marker dragging by default for consistency with iOS
         candleStickChart.setHighlightPerDragEnabled(true);
+        // decimation 시 pixel column 단위로 그리는 렌더러
+        candleStickChart.setRenderer(new AtfleeCandleStickChartRenderer(candleStickChart, candleStickChart.getAnimator(), candleStickChart.getViewPortHandler()));
         return candleStickChart;
     }
 
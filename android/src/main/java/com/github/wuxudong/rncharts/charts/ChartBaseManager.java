@@ -28,12 +28,11 @@ import com.github.mikephil.charting.components.Legend.LegendForm;
 import com.github.mikephil.charting.components.LegendEntry;
 import com.github.mikephil.charting.components.LimitLine;
 import com.github.mikephil.charting.charts.BarLineChartBase;
-import com.github.mikephil.charting.components.YAxis;
-import com.github.mikephil.charting.utils.MPPointD;
 import com.github.mikephil.charting.utils.ViewPortHandler;
 import com.github.mikephil.charting.components.MarkerView;
 import com.github.mikephil.charting.components.XAxis;
 import com.github.mikephil.charting.components.XAxis.XAxisPosition;
+import com.github.mikephil.charting.data.ChartData;
 import com.github.mikephil.charting.data.Entry;
 import com.github.mikephil.charting.formatter.ValueFormatter;
 import com.github.wuxudong.rncharts.charts.helpers.EdgeLabelHelper;
@@ -41,7 +40,10 @@ import com.github.mikephil.charting.formatter.IndexAxisValueFormatter;
 import com.github.mikephil.charting.formatter.LargeValueFormatter;
 import com.github.mikephil.charting.formatter.PercentFormatter;
 import com.github.mikephil.charting.highlight.Highlight;
+import com.github.mikephil.charting.listener.OnChartGestureListener;
 import com.github.wuxudong.rncharts.data.DataExtract;
+import com.github.wuxudong.rncharts.data.DataSetCache;
+import com.github.wuxudong.rncharts.listener.RNOnChartGestureListener;
 import com.github.wuxudong.rncharts.markers.RNAtfleeMarkerView;
 import com.github.wuxudong.rncharts.markers.RNRectangleMarkerView;
 import com.github.wuxudong.rncharts.markers.RNCircleMarkerView;
@@ -67,7 +69,13 @@ public abstract class ChartBaseManager<T extends Chart, U extends Entry> extends
 
     protected static final int SET_DATA_AND_LOCK_INDEX = 9;
 
-    private static java.util.WeakHashMap<Chart, Boolean> loadCompleteMap = new java.util.WeakHashMap<>();
+    protected static final int APPEND_VALUES = 10;
+    protected static final int PREPEND_VALUES = 11;
+    protected static final int REMOVE_RANGE = 12;
+    protected static final int PATCH_VALUES = 13;
+    protected static final int PUSH_VALUES = 14;
+
+    protected static final int ACK_EVENT = 15;
 
     protected void sendLoadCompleteEvent(Chart chart) {
         WritableMap event = Arguments.createMap();
@@ -80,18 +88,16 @@ public abstract class ChartBaseManager<T extends Chart, U extends Entry> extends
             event.putDouble("scaleY", chart.getScaleY());
 
             if (handler != null) {
-                MPPointD center = barLineChart.getValuesByTouchPoint(handler.getContentCenter().getX(), handler.getContentCenter().getY(), YAxis.AxisDependency.LEFT);
-                event.putDouble("centerX", center.x);
-                event.putDouble("centerY", center.y);
+                ViewportSnapshot viewport = ViewportSnapshot.of(barLineChart);
+                event.putDouble("centerX", viewport.getCenterX());
+                event.putDouble("centerY", viewport.getCenterY());
 
-                MPPointD leftBottom = barLineChart.getValuesByTouchPoint(handler.contentLeft(), handler.contentBottom(), YAxis.AxisDependency.LEFT);
-                MPPointD rightTop = barLineChart.getValuesByTouchPoint(handler.contentRight(), handler.contentTop(), YAxis.AxisDependency.LEFT);
                 double leftValue = barLineChart.getLowestVisibleX();
                 double rightValue = barLineChart.getHighestVisibleX();
                 event.putDouble("left", leftValue);
-                event.putDouble("bottom", leftBottom.y);
+                event.putDouble("bottom", viewport.getBottom());
                 event.putDouble("right", rightValue);
-                event.putDouble("top", rightTop.y);
+                event.putDouble("top", viewport.getTop());
 
                 EdgeLabelHelper.update(barLineChart, leftValue, rightValue);
             }
@@ -474,6 +480,11 @@ public abstract class ChartBaseManager<T extends Chart, U extends Entry> extends
         if (BridgeUtils.validate(propMap, ReadableType.Boolean, "fixedOnTop")) {
             marker.setFixedOnTop(propMap.getBoolean("fixedOnTop"));
         }
+        // "canvas": chart canvas 에 직접 그린다 (드래그 중 view measure 없음)
+        marker.setRenderMode(BridgeUtils.validate(propMap, ReadableType.String, "renderMode")
+                ? propMap.getString("renderMode") : "view");
+        marker.setTemplate(BridgeUtils.validate(propMap, ReadableType.String, "template")
+                ? propMap.getString("template") : null);
         // keep marker visible after click by default; no auto-hide prop
 
         if (BridgeUtils.validate(propMap, ReadableType.String, "textAlign")) {
@@ -508,6 +519,8 @@ public abstract class ChartBaseManager<T extends Chart, U extends Entry> extends
         if (BridgeUtils.validate(propMap, ReadableType.Number, "digits")) {
             marker.setDigits(propMap.getInt("digits"));
         }
+        marker.setTemplate(BridgeUtils.validate(propMap, ReadableType.String, "template")
+                ? propMap.getString("template") : null);
 
         if (BridgeUtils.validate(propMap, ReadableType.Number, "textColor")) {
             marker.getTvContent().setTextColor(propMap.getInt("textColor"));
@@ -734,9 +747,39 @@ public abstract class ChartBaseManager<T extends Chart, U extends Entry> extends
     public void setData(T chart, ReadableMap propMap) {
         // data prop 이 실제로 교체될 때만 loadComplete 재발화를 허용한다(iOS didSetProps 화이트리스트의 "data" 대응).
         // idle 상태의 zoom-only 트랜잭션에서는 setData 가 호출되지 않으므로 재발화 루프가 닫히지 않는다.
-        loadCompleteMap.put(chart, false);
+        ChartRuntimeState.of(chart).loadCompleteSent = false;
         onBeforeDataSetChanged(chart, propMap);
-        chart.setData(getDataExtract().extract(chart, propMap));
+
+        if (AsyncDataLoader.isEnabled(chart)) {
+            AsyncDataLoader.submit(chart, getDataExtract(), propMap, new AsyncDataLoader.Callback() {
+                @Override
+                public void onExtracted(ChartData data) {
+                    applyExtractedData(chart, data);
+                }
+            });
+        } else {
+            // 늦게 도착한 비동기 결과가 이 데이터를 덮어쓰지 않도록 한다.
+            AsyncDataLoader.cancel(chart);
+            chart.setData(getDataExtract().extract(chart, propMap));
+        }
+    }
+
+    /**
+     * Extract the data prop on a background thread and swap the result in on the UI thread.
+     * Applies to data updates received after this prop is set; loadComplete fires after the swap.
+     */
+    @ReactProp(name = "asyncData")
+    public void setAsyncData(T chart, boolean enabled) {
+        AsyncDataLoader.setEnabled(chart, enabled);
+    }
+
+    private void applyExtractedData(T chart, ChartData data) {
+        chart.setData(data);
+        chart.notifyDataSetChanged();
+        onAfterDataSetChanged(chart);
+        chart.requestLayout();
+        chart.postInvalidate();
+        scheduleLoadCompleteEvent(chart);
     }
 
     protected void onBeforeDataSetChanged(T chart, ReadableMap propMap) {
@@ -821,17 +864,23 @@ public abstract class ChartBaseManager<T extends Chart, U extends Entry> extends
         chart.postInvalidate();
         // iOS 정합: loadComplete 는 (1) 최초 1회, (2) data 가 실제로 교체된 직후 1회만 보낸다.
         // zoom 등 의미 없는 prop 트랜잭션마다 재전송하면 JS 의 zoom 재적용 → 새 트랜잭션 →
-        // onAfterUpdateTransaction 재호출로 idle 무한 루프가 닫힌다. setData() 가 loadCompleteMap 을
+        // onAfterUpdateTransaction 재호출로 idle 무한 루프가 닫힌다. setData() 가 loadCompleteSent 를
         // 무효화(false)하므로, data 변경 시에만 아래 분기가 다시 발화한다.
-        Boolean sent = loadCompleteMap.get(chart);
-        if (sent == null || !sent) {
+        // asyncData 모드에서 교체 전이면 교체 후(applyExtractedData)에 보낸다.
+        if (!AsyncDataLoader.isPending(chart)) {
+            scheduleLoadCompleteEvent(chart);
+        }
+    }
+
+    private void scheduleLoadCompleteEvent(final T chart) {
+        if (!ChartRuntimeState.of(chart).loadCompleteSent) {
             chart.getViewTreeObserver().addOnPreDrawListener(new ViewTreeObserver.OnPreDrawListener() {
                 @Override
                 public boolean onPreDraw() {
                     chart.getViewTreeObserver().removeOnPreDrawListener(this);
                     chart.post(() -> {
                         sendLoadCompleteEvent(chart);
-                        loadCompleteMap.put(chart, true);
+                        ChartRuntimeState.of(chart).loadCompleteSent = true;
                     });
                     return true;
                 }
@@ -839,6 +888,42 @@ public abstract class ChartBaseManager<T extends Chart, U extends Entry> extends
         }
     }
 
+    /**
+     * Unmount: cancels what is still scheduled for the chart and drops its per-chart state, so nothing keeps
+     * running or holding caches after the view is gone.
+     */
+    @Override
+    public void onDropViewInstance(T chart) {
+        super.onDropViewInstance(chart);
+
+        AsyncDataLoader.cancel(chart);
+
+        OnChartGestureListener gestureListener = chart.getOnChartGestureListener();
+        if (gestureListener instanceof RNOnChartGestureListener) {
+            ((RNOnChartGestureListener) gestureListener).release();
+        }
+        chart.setOnChartGestureListener(null);
+        chart.setOnChartValueSelectedListener(null);
+
+        if (chart.getMarker() instanceof RNAtfleeMarkerView) {
+            RNAtfleeMarkerView marker = (RNAtfleeMarkerView) chart.getMarker();
+            marker.detachOverlayIfPresent();
+            marker.resetState();
+        }
+
+        if (chart.getRenderer() instanceof CachingRenderer) {
+            ((CachingRenderer) chart.getRenderer()).releaseCaches();
+        }
+
+        if (chart instanceof BarLineChartBase) {
+            BarLineChartBase barLineChart = (BarLineChartBase) chart;
+            EdgeLabelHelper.release(barLineChart);
+            CalendarLevelSwitcher.release(barLineChart);
+        }
+        DataSetCache.invalidate(chart);
+        ChartRuntimeState.release(chart);
+    }
+
     @Nullable
     @Override
     public Map<String, Object> getExportedCustomBubblingEventTypeConstants() {
@@ -1,80 +1,237 @@
 package com.github.wuxudong.rncharts.charts;
 
+import android.view.Choreographer;
+
 import com.github.mikephil.charting.charts.BarLineChartBase;
 import com.github.mikephil.charting.components.YAxis;
 import com.github.mikephil.charting.jobs.ZoomJob;
 import com.github.mikephil.charting.utils.MPPointD;
-import com.github.mikephil.charting.utils.MPPointF;
 import com.github.mikephil.charting.utils.Transformer;
 
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
 import java.lang.ref.WeakReference;
-import java.util.HashMap;
-import java.util.Map;
+import java.util.ArrayList;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
 
 class ChartHolder {
+    public final String identifier;
     public WeakReference<BarLineChartBase> chart;
     public boolean syncX;
     public boolean syncY;
 
-    public ChartHolder(WeakReference<BarLineChartBase> chart, boolean syncX, boolean syncY) {
+    public ChartHolder(String identifier, WeakReference<BarLineChartBase> chart, boolean syncX, boolean syncY) {
+        this.identifier = identifier;
         this.chart = chart;
         this.syncX = syncX;
         this.syncY = syncY;
     }
 }
 
+// collect 되면 collected queue 로 들어와 그룹에서 빠진다
+class ChartReference extends WeakReference<BarLineChartBase> {
+    final String group;
+
+    ChartReference(BarLineChartBase chart, String group, ReferenceQueue<BarLineChartBase> queue) {
+        super(chart, queue);
+        this.group = group;
+    }
+}
+
+/**
+ * Charts that follow each other's zoom / pan ("group" / "identifier" / "syncX" / "syncY").
+ *
+ * - 그룹 구성원은 배열을 통째로 바꾸는 copy-on-write 로 관리한다 (CAS). 읽는 쪽 (UI thread) 은 lock 을 잡지 않는다.
+ * - sync 는 leader 의 목표 (scale, value 공간의 중심) 만 기록하고, 다음 Choreographer 프레임에 모든 그룹의
+ *   follower 에 한 번씩 적용한다. 한 프레임에 여러 번 sync 되어도 마지막 목표만 적용된다.
+ * - follower 의 viewport ({@link ViewportSnapshot}) 가 이미 목표와 같으면 ZoomJob 을 건너뛴다.
+ * - chart 는 unmount 때 removeChart 로 빠지고, 그렇지 못한 chart 도 collect 되면 ReferenceQueue 를 통해
+ *   다음 addChart / removeChart 때 빠진다 (queue 는 lock 을 쓰므로 sync 경로에서는 보지 않는다).
+ */
 public class ChartGroupHolder {
 
-    private static Map<String, Map<String, ChartHolder>> chartGroups = new HashMap<>();
+    private static final ChartHolder[] EMPTY = new ChartHolder[0];
 
+    // 목표와의 차이가 이보다 작으면 같은 matrix 로 본다 (scale 은 비율, 중심은 보이는 범위 대비)
+    private static final double EPSILON = 1e-4;
 
+    private static final class Group {
+        final AtomicReference<ChartHolder[]> members = new AtomicReference<>(EMPTY);
 
-    public static synchronized void addChart(String group, String identifier, BarLineChartBase chart, boolean syncX, boolean syncY) {
-        if (!chartGroups.containsKey(group)) {
-            chartGroups.put(group, new HashMap<String, ChartHolder>());
-        }
+        // UI thread 에서만 쓰고 읽는다
+        boolean pending;
+        String leader;
+        float scaleX;
+        float scaleY;
+        float centerX;
+        float centerY;
+    }
 
-        chartGroups.get(group).put(identifier, new ChartHolder(new WeakReference<>(chart), syncX, syncY));
+    private static final ConcurrentHashMap<String, Group> chartGroups = new ConcurrentHashMap<>();
+    private static final ReferenceQueue<BarLineChartBase> collected = new ReferenceQueue<>();
+
+    private static final ArrayList<Group> pendingGroups = new ArrayList<>();
+    private static boolean frameScheduled = false;
+    private static final Choreographer.FrameCallback applyCallback = new Choreographer.FrameCallback() {
+        @Override
+        public void doFrame(long frameTimeNanos) {
+            frameScheduled = false;
+            for (int i = 0; i < pendingGroups.size(); i++) {
+                apply(pendingGroups.get(i));
+            }
+            pendingGroups.clear();
+        }
+    };
+
+    private static Group group(String name) {
+        Group group = chartGroups.get(name);
+        if (group == null) {
+            Group created = new Group();
+            group = chartGroups.putIfAbsent(name, created);
+            if (group == null) {
+                group = created;
+            }
+        }
+        return group;
     }
 
-    public static synchronized void removeChart(String group, String identifier) {
-        if (chartGroups.containsKey(group)) {
-            chartGroups.get(group).remove(identifier);
+    public static void addChart(String group, String identifier, BarLineChartBase chart, boolean syncX, boolean syncY) {
+        prune();
+        ChartHolder holder = new ChartHolder(identifier, new ChartReference(chart, group, collected), syncX, syncY);
+        AtomicReference<ChartHolder[]> members = group(group).members;
+        while (true) {
+            ChartHolder[] current = members.get();
+            ChartHolder[] next = without(current, identifier, null, 1);
+            next[next.length - 1] = holder;
+            if (members.compareAndSet(current, next)) {
+                return;
+            }
         }
     }
 
-    // sync gesture to other chart in the same group
-    public static synchronized void sync(String group, String identifier, float scaleX, float scaleY, float centerX, float centerY) {
+    /**
+     * Removes {@code chart} from {@code group} unless another chart has registered {@code identifier} since.
+     */
+    public static void removeChart(String group, String identifier, BarLineChartBase chart) {
+        prune();
+        Group existing = chartGroups.get(group);
+        if (existing == null) {
+            return;
+        }
+        AtomicReference<ChartHolder[]> members = existing.members;
+        while (true) {
+            ChartHolder[] current = members.get();
+            ChartHolder[] next = without(current, identifier, chart, 0);
+            if (next.length == current.length || members.compareAndSet(current, next)) {
+                return;
+            }
+        }
+    }
 
-        Map<String, ChartHolder> identifierMap = chartGroups.get(group);
-        if (identifierMap != null) {
-            for (Map.Entry<String, ChartHolder> entry : identifierMap.entrySet()) {
-                if (!entry.getKey().equals(identifier)) {
-                    ChartHolder chartHolder = entry.getValue();
-                    WeakReference<BarLineChartBase> reference = chartHolder.chart;
-                    BarLineChartBase chart = reference.get();
-                    if (chart != null) {
+    // collect 된 chart 의 holder 를 그룹에서 뺀다
+    private static void prune() {
+        Reference<? extends BarLineChartBase> reference;
+        while ((reference = collected.poll()) != null) {
+            Group existing = chartGroups.get(((ChartReference) reference).group);
+            if (existing == null) {
+                continue;
+            }
+            AtomicReference<ChartHolder[]> members = existing.members;
+            while (true) {
+                ChartHolder[] current = members.get();
+                ChartHolder[] next = without(current, null, null, 0);
+                if (next.length == current.length || members.compareAndSet(current, next)) {
+                    break;
+                }
+            }
+        }
+    }
 
-                        YAxis.AxisDependency axis = chart.getAxisLeft().isEnabled() ? YAxis.AxisDependency.LEFT : YAxis.AxisDependency.RIGHT;
-                        Transformer transformer = chart.getTransformer(axis);
+    // identifier (chart 가 주어지면 그 chart 일 때만) 와 collect 된 chart 를 뺀 복사본, 끝에 extra 칸을 비워 둔다
+    private static ChartHolder[] without(ChartHolder[] holders, String identifier, BarLineChartBase chart, int extra) {
+        int kept = 0;
+        ChartHolder[] next = new ChartHolder[holders.length + extra];
+        for (ChartHolder holder : holders) {
+            BarLineChartBase held = holder.chart.get();
+            boolean matches = holder.identifier.equals(identifier) && (chart == null || held == chart);
+            if (!matches && held != null) {
+                next[kept++] = holder;
+            }
+        }
+        if (kept + extra == next.length) {
+            return next;
+        }
+        ChartHolder[] trimmed = new ChartHolder[kept + extra];
+        System.arraycopy(next, 0, trimmed, 0, kept);
+        return trimmed;
+    }
 
-                        float zoomScaleX = scaleX / chart.getScaleX();
-                        float zoomScaleY = scaleY / chart.getScaleY();
+    /**
+     * Records the viewport of {@code identifier} for the other charts of {@code group}; applied on the next frame.
+     * Must be called on the UI thread.
+     */
+    public static void sync(String group, String identifier, float scaleX, float scaleY, float centerX, float centerY) {
+        Group target = chartGroups.get(group);
+        if (target == null || target.members.get().length < 2) {
+            return;
+        }
 
-                        MPPointF originalCenter = chart.getCenter();
-                        MPPointD originalCenterValue = chart.getValuesByTouchPoint(originalCenter.x, originalCenter.y, axis);
+        target.leader = identifier;
+        target.scaleX = scaleX;
+        target.scaleY = scaleY;
+        target.centerX = centerX;
+        target.centerY = centerY;
+        if (!target.pending) {
+            target.pending = true;
+            pendingGroups.add(target);
+        }
+        if (!frameScheduled) {
+            frameScheduled = true;
+            Choreographer.getInstance().postFrameCallback(applyCallback);
+        }
+    }
 
-                        float finalScaleX = chartHolder.syncX ? zoomScaleX : 1;
-                        float finalScaleY = chartHolder.syncY ? zoomScaleY : 1;
+    private static void apply(Group group) {
+        group.pending = false;
+        for (ChartHolder holder : group.members.get()) {
+            if (holder.identifier.equals(group.leader)) {
+                continue;
+            }
+            BarLineChartBase chart = holder.chart.get();
+            if (chart == null || chart.getData() == null) {
+                continue;
+            }
 
-                        float finalCenterX = chartHolder.syncX ? centerX : (float) originalCenterValue.x;
-                        float finalCenterY = chartHolder.syncY ? centerY : (float) originalCenterValue.y;
+            YAxis.AxisDependency axis = chart.getAxisLeft().isEnabled() ? YAxis.AxisDependency.LEFT : YAxis.AxisDependency.RIGHT;
+            Transformer transformer = chart.getTransformer(axis);
+
+            // snapshot 은 왼쪽 축 기준이라, 오른쪽 축 chart 의 현재 y 중심은 따로 구한다
+            ViewportSnapshot viewport = ViewportSnapshot.of(chart);
+            double currentCenterY = viewport.getCenterY();
+            double rangeY = Math.abs(viewport.getTop() - viewport.getBottom());
+            if (axis == YAxis.AxisDependency.RIGHT) {
+                MPPointD center = chart.getValuesByTouchPoint(
+                        chart.getViewPortHandler().getContentCenter().getX(),
+                        chart.getViewPortHandler().getContentCenter().getY(), axis);
+                currentCenterY = center.y;
+                rangeY = chart.getAxisRight().mAxisRange / chart.getScaleY();
+                MPPointD.recycleInstance(center);
+            }
 
-                        ZoomJob.getInstance(chart.getViewPortHandler(), finalScaleX, finalScaleY, finalCenterX, finalCenterY, transformer, axis, chart).run();
+            float finalScaleX = holder.syncX ? group.scaleX / chart.getScaleX() : 1;
+            float finalScaleY = holder.syncY ? group.scaleY / chart.getScaleY() : 1;
+            float finalCenterX = holder.syncX ? group.centerX : (float) viewport.getCenterX();
+            float finalCenterY = holder.syncY ? group.centerY : (float) currentCenterY;
 
-                    }
-                }
+            double rangeX = Math.abs(viewport.getRawRight() - viewport.getRawLeft());
+            if (Math.abs(finalScaleX - 1) < EPSILON && Math.abs(finalScaleY - 1) < EPSILON
+                    && Math.abs(finalCenterX - viewport.getCenterX()) <= rangeX * EPSILON
+                    && Math.abs(finalCenterY - currentCenterY) <= rangeY * EPSILON) {
+                continue;
             }
+
+            ZoomJob.getInstance(chart.getViewPortHandler(), finalScaleX, finalScaleY, finalCenterX, finalCenterY, transformer, axis, chart).run();
         }
     }
 }
@@ -0,0 +1,103 @@
+package com.github.wuxudong.rncharts.charts;
+
+import android.view.View;
+
+import com.github.mikephil.charting.formatter.ValueFormatter;
+import com.github.mikephil.charting.interfaces.datasets.IDataSet;
+import com.github.wuxudong.rncharts.R;
+
+import java.lang.ref.WeakReference;
+import java.util.Arrays;
+
+/**
+ * Everything the wrapper remembers about one chart view, kept in a view tag of the chart.
+ *
+ * - 예전에는 기능마다 static WeakHashMap 을 두어 translate 이벤트마다 여러 번 hash 를 찾았다. 이제 한 번의
+ *   view tag 조회 (id 키 배열) 로 모든 값을 얻는다.
+ * - view 가 drop 될 때 {@link #release} 로 한꺼번에 떨어진다. 남은 참조가 있어도 view 와 함께 collect 된다.
+ * - UI thread 전용. 다른 thread 에서 읽는 AsyncDataLoader / DataSetCache 는 각자 synchronized map 을 쓴다.
+ */
+public final class ChartRuntimeState {
+
+    // EdgeLabelHelper
+    public boolean edgeLabelEnabled = false;
+    // JS 가 준 edgeLabelEnabled, null 이면 자동
+    public Boolean edgeLabelExplicit = null;
+    public ValueFormatter edgeFormatter = null;
+    // 0 이하면 방향별 기본값
+    public float maxVisibleValueCount = 0f;
+    // valueLabelCollision: 라벨을 모두 켜 두고 renderer 가 겹치는 것만 뺀다
+    public boolean valueLabelCollision = false;
+    // orientation override: null means auto-detect
+    public Boolean landscapeOverride = null;
+    // remembers user-specified drawLabels flag for xAxis
+    public Boolean userDrawLabels = null;
+    public float[] baseOffsets = null;
+    public View.OnLayoutChangeListener edgeLayoutListener = null;
+
+    // RNOnChartValueSelectedListener
+    public boolean suppressNextClear = false;
+    public boolean suppressSelectDuringTouch = false;
+
+    final ChartExtraProperties extra = new ChartExtraProperties();
+    boolean loadCompleteSent = false;
+    ViewportSnapshot viewport;
+    CalendarLevelSwitcher calendarSwitcher;
+
+    // 처음 본 data set 의 drawValues. data set 이 몇 개 안 되어 identity 로 선형 탐색한다
+    private WeakReference<?>[] baseDrawSets = new WeakReference<?>[4];
+    private boolean[] baseDrawValues = new boolean[4];
+    private int baseDrawCount = 0;
+
+    private ChartRuntimeState() {
+    }
+
+    /**
+     * State of {@code chart}, created on first use.
+     */
+    public static ChartRuntimeState of(View chart) {
+        ChartRuntimeState state = (ChartRuntimeState) chart.getTag(R.id.chart_runtime_state);
+        if (state == null) {
+            state = new ChartRuntimeState();
+            chart.setTag(R.id.chart_runtime_state, state);
+        }
+        return state;
+    }
+
+    /**
+     * State of {@code chart}, or null when nothing was stored for it yet.
+     */
+    public static ChartRuntimeState peek(View chart) {
+        return (ChartRuntimeState) chart.getTag(R.id.chart_runtime_state);
+    }
+
+    static void release(View chart) {
+        chart.setTag(R.id.chart_runtime_state, null);
+    }
+
+    /**
+     * drawValues of {@code set} the first time it was seen, before the zoom level started toggling it.
+     */
+    public boolean baseDrawValues(IDataSet<?> set) {
+        int free = -1;
+        for (int i = 0; i < baseDrawCount; i++) {
+            Object held = baseDrawSets[i].get();
+            if (held == set) {
+                return baseDrawValues[i];
+            }
+            if (held == null && free < 0) {
+                free = i;
+            }
+        }
+        if (free < 0) {
+            if (baseDrawCount == baseDrawSets.length) {
+                baseDrawSets = Arrays.copyOf(baseDrawSets, baseDrawCount * 2);
+                baseDrawValues = Arrays.copyOf(baseDrawValues, baseDrawCount * 2);
+            }
+            free = baseDrawCount++;
+        }
+        baseDrawSets[free] = new WeakReference<>(set);
+        baseDrawValues[free] = set.isDrawValuesEnabled();
+        return baseDrawValues[free];
+    }
+}
@@ -0,0 +1,99 @@
+package com.github.wuxudong.rncharts.charts;
+
+import com.github.mikephil.charting.buffer.BarBuffer;
+import com.github.mikephil.charting.interfaces.datasets.IBarDataSet;
+import com.github.wuxudong.rncharts.data.FloatArrayDataSet;
+import com.github.wuxudong.rncharts.data.FloatArrayStore;
+
+/**
+ * BarBuffer that feeds bar rects from the columns of a {@link FloatArrayDataSet}
+ * (no BarEntry / stack float[] per bar). Same geometry as BarBuffer.feed.
+ */
+class ColumnBarBuffer extends BarBuffer {
+
+    ColumnBarBuffer(int size, int dataSetCount, boolean containsStacks) {
+        super(size, dataSetCount, containsStacks);
+    }
+
+    @Override
+    public void feed(IBarDataSet data) {
+        if (!(data instanceof FloatArrayDataSet)) {
+            super.feed(data);
+            return;
+        }
+
+        FloatArrayStore store = ((FloatArrayDataSet) data).getStore();
+        final float size = store.size() * phaseX;
+        final float barWidthHalf = mBarWidth / 2f;
+        final float[] xs = store.xValues();
+        final float[] ys = store.yValues();
+        final float[] tuples = store.tupleValues();
+        final int stride = store.getStride();
+        final int offset = store.getOffset();
+        final boolean stacked = mContainsStacks && store.getKind() == FloatArrayStore.Kind.STACKED_BAR;
+
+        for (int i = 0; i < size; i++) {
+            float x = xs[offset + i];
+            float left = x - barWidthHalf;
+            float right = x + barWidthHalf;
+
+            if (!stacked) {
+                float y = ys[offset + i];
+                float bottom, top;
+                if (mInverted) {
+                    bottom = y >= 0 ? y : 0;
+                    top = y <= 0 ? y : 0;
+                } else {
+                    top = y >= 0 ? y : 0;
+                    bottom = y <= 0 ? y : 0;
+                }
+
+                // multiply the height of the rect with the phase
+                if (top > 0) {
+                    top *= phaseY;
+                } else {
+                    bottom *= phaseY;
+                }
+
+                addBar(left, top, right, bottom);
+                continue;
+            }
+
+            float posY = 0f;
+            float negY = store.getLow(i);
+            float y;
+            float yStart;
+
+            for (int k = (offset + i) * stride, end = k + stride; k < end; k++) {
+                float value = tuples[k];
+
+                if (value == 0.0f && (posY == 0.0f || negY == 0.0f)) {
+                    // Take care of the situation of a 0.0 value, which overlaps a non-zero bar
+                    y = value;
+                    yStart = y;
+                } else if (value >= 0.0f) {
+                    y = posY;
+                    yStart = posY + value;
+                    posY = yStart;
+                } else {
+                    y = negY;
+                    yStart = negY + Math.abs(value);
+                    negY += Math.abs(value);
+                }
+
+                float bottom, top;
+                if (mInverted) {
+                    bottom = y >= yStart ? y : yStart;
+                    top = y <= yStart ? y : yStart;
+                } else {
+                    top = y >= yStart ? y : yStart;
+                    bottom = y <= yStart ? y : yStart;
+                }
+
+                addBar(left, top * phaseY, right, bottom * phaseY);
+            }
+        }
+
+        reset();
+    }
+}
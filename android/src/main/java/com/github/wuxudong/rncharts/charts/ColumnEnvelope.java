@@ -0,0 +1,404 @@
+package com.github.wuxudong.rncharts.charts;
+
+import com.github.mikephil.charting.data.BarEntry;
+import com.github.mikephil.charting.data.CandleEntry;
+import com.github.mikephil.charting.data.DataSet;
+import com.github.mikephil.charting.data.Entry;
+import com.github.mikephil.charting.interfaces.datasets.IDataSet;
+import com.github.wuxudong.rncharts.data.FloatArrayDataSet;
+import com.github.wuxudong.rncharts.data.FloatArrayStore;
+
+import java.util.Arrays;
+
+/**
+ * Min/max envelope (M4) of a bar or candle data set per pixel column, for drawing zoomed-out series with
+ * a bounded number of draw calls.
+ *
+ * - column 폭은 "1px 이 나타내는 x 폭" 을 2 의 거듭제곱으로 올림한 값이고 x 에 정렬된다.
+ *   그래서 스크롤로는 다시 계산하지 않고, 줌이 한 단계 바뀌거나 data set 이 바뀔 때만 전체를 한 번 모은다.
+ * - column 마다 first(첫 open) / min(low) / max(high) / last(마지막 close) 를 둔다. 막대는 min / max 만 쓴다.
+ *   최대/최소를 그대로 가지므로 peak 는 원본과 같은 픽셀에 그려진다.
+ * - data set 은 건드리지 않으므로 highlight 는 원본 entry 를 찾는다.
+ * - 선(M4)용으로 만들면 first / min / max / last 각각의 x 도 둔다. {@link LodPyramid} 는 한 단계 아래 level 을
+ *   두 column 씩 합쳐서 다음 level 을 만든다.
+ * - stream store 는 push 된 row 만 뒤에 더하고 ({@link #append}), ring buffer 에서 빠진 row 는 앞쪽 column 만
+ *   다시 모은다 ({@link #evict}). 위 level 은 {@link #follow} 로 양 끝의 바뀐 column 만 다시 합친다.
+ */
+final class ColumnEnvelope {
+
+    // column 시작 x (오름차순). 유효한 column 은 [head, count) 이다
+    float[] starts = new float[0];
+    float[] firsts = new float[0];
+    float[] lows = new float[0];
+    float[] highs = new float[0];
+    float[] lasts = new float[0];
+    // withPositions 일 때만 채운다
+    float[] firstXs;
+    float[] lowXs;
+    float[] highXs;
+    float[] lastXs;
+    // ring buffer 에서 앞쪽 column 이 빠지면 배열을 옮기지 않고 head 만 올린다
+    int head;
+    int count;
+    float columnWidth;
+
+    // 마지막 column 의 번호 (x / columnWidth 내림)
+    private long lastColumn = Long.MIN_VALUE;
+    // 마지막 증분 갱신에서 처음 바뀐 column (count 면 뒤쪽은 그대로), 앞쪽 column 을 다시 모았는지
+    int dirty;
+    boolean headChanged;
+
+    private long signature;
+    private boolean valid;
+
+    /**
+     * Column width for the current scale, or 0 when the visible entries already fit the content width.
+     */
+    static float columnWidthFor(IDataSet<?> dataSet, float lowX, float highX, float contentWidth) {
+        float range = highX - lowX;
+        if (contentWidth < 1 || range <= 0 || Float.isNaN(range)) {
+            return 0f;
+        }
+        int first = dataSet.getEntryIndex(lowX, Float.NaN, DataSet.Rounding.DOWN);
+        int last = dataSet.getEntryIndex(highX, Float.NaN, DataSet.Rounding.UP);
+        if (first < 0 || last - first <= contentWidth) {
+            return 0f;
+        }
+        return (float) Math.pow(2, Math.ceil(Math.log(range / contentWidth) / Math.log(2)));
+    }
+
+    /**
+     * Re-aggregates when the column width or the data set changed; otherwise keeps the previous columns.
+     */
+    void update(IDataSet<?> dataSet, float columnWidth) {
+        long signature = LineDecimator.signature(dataSet);
+        if (valid && this.signature == signature && this.columnWidth == columnWidth) {
+            return;
+        }
+        aggregate(dataSet, columnWidth, false);
+        this.signature = signature;
+        this.valid = true;
+    }
+
+    /**
+     * Aggregates the whole data set into columns of {@code columnWidth}.
+     */
+    void aggregate(IDataSet<?> dataSet, float columnWidth, boolean withPositions) {
+        int n = dataSet.getEntryCount();
+        // column 수는 entry 수와 x 범위 / column 폭 중 작은 쪽을 넘지 않는다
+        double span = Math.ceil(((double) dataSet.getXMax() - dataSet.getXMin()) / columnWidth) + 2;
+        ensureCapacity((int) Math.min(n, span), withPositions);
+        FloatArrayStore store = dataSet instanceof FloatArrayDataSet ? ((FloatArrayDataSet) dataSet).getStore() : null;
+
+        this.head = 0;
+        this.count = 0;
+        this.columnWidth = columnWidth;
+        this.lastColumn = Long.MIN_VALUE;
+        if (store != null) {
+            addRows(store, 0, withPositions);
+        } else {
+            for (int i = 0; i < n; i++) {
+                Entry e = dataSet.getEntryForIndex(i);
+                float x = e.getX();
+                if (e instanceof CandleEntry) {
+                    CandleEntry candle = (CandleEntry) e;
+                    add(x, candle.getOpen(), candle.getLow(), candle.getHigh(), candle.getClose(), withPositions);
+                } else if (e instanceof BarEntry && ((BarEntry) e).isStacked()) {
+                    BarEntry bar = (BarEntry) e;
+                    add(x, bar.getY(), -bar.getNegativeSum(), bar.getPositiveSum(), bar.getY(), withPositions);
+                } else {
+                    add(x, e.getY(), e.getY(), e.getY(), e.getY(), withPositions);
+                }
+            }
+        }
+        this.dirty = head;
+        this.headChanged = true;
+    }
+
+    /**
+     * Adds rows {@code from} .. end of a stream store, whose x continue after the rows already aggregated.
+     */
+    void append(FloatArrayStore store, int from, boolean withPositions) {
+        dirty = count;
+        reserve(store.size() - from, withPositions);
+        addRows(store, from, withPositions);
+    }
+
+    /**
+     * Drops the columns before the first row of {@code store} and, when rows were evicted, aggregates the
+     * first remaining column again from the rows it still has.
+     */
+    void evict(FloatArrayStore store, boolean evicted, boolean withPositions) {
+        headChanged = false;
+        if (!evicted) {
+            return;
+        }
+        float x0 = store.size() > 0 ? store.getX(0) : Float.MAX_VALUE;
+        while (head < count && starts[head] + columnWidth <= x0) {
+            head++;
+        }
+        while (head < count) {
+            long column = columnOf(head);
+            boolean any = false;
+            for (int i = 0; i < store.size(); i++) {
+                float x = store.getX(i);
+                long c = (long) Math.floor(x / columnWidth);
+                if (c > column) {
+                    break;
+                }
+                float low = store.getLow(i);
+                float high = store.getHigh(i);
+                if (c < column || Float.isNaN(low) || Float.isNaN(high)) {
+                    continue;
+                }
+                if (!any) {
+                    set(head, column, x, store.getOpen(i), x, low, x, high, x, store.getClose(i), withPositions);
+                    any = true;
+                } else {
+                    combine(head, x, low, x, high, x, store.getClose(i), withPositions);
+                }
+            }
+            headChanged = true;
+            if (any) {
+                break;
+            }
+            head++;
+        }
+        if (dirty < head) {
+            dirty = head;
+        }
+    }
+
+    /**
+     * Builds the columns of twice the width of {@code finer} by merging its neighbouring columns.
+     */
+    void merge(ColumnEnvelope finer) {
+        boolean withPositions = finer.firstXs != null;
+        ensureCapacity((finer.count - finer.head) / 2 + 1, withPositions);
+
+        this.head = 0;
+        this.count = 0;
+        this.columnWidth = finer.columnWidth * 2;
+        this.lastColumn = Long.MIN_VALUE;
+        for (int i = finer.head; i < finer.count; i++) {
+            addColumn(finer, i, withPositions);
+        }
+        this.dirty = head;
+        this.headChanged = true;
+    }
+
+    /**
+     * Brings this level (twice the width of {@code finer}) up to date after {@link #append} / {@link #evict}
+     * on {@code finer}, touching only the columns at both ends that changed.
+     */
+    void follow(ColumnEnvelope finer) {
+        boolean withPositions = finer.firstXs != null;
+
+        // 뒤쪽: finer 에서 바뀐 column 이 속한 column 부터 다시 합친다
+        if (finer.dirty < finer.count) {
+            long from = (long) Math.floor(finer.starts[finer.dirty] / columnWidth);
+            int k = count;
+            while (k > head && columnOf(k - 1) >= from) {
+                k--;
+            }
+            count = k;
+            lastColumn = k > head ? columnOf(k - 1) : Long.MIN_VALUE;
+            dirty = k;
+
+            int j = finer.dirty;
+            while (j > finer.head && (long) Math.floor(finer.starts[j - 1] / columnWidth) == from) {
+                j--;
+            }
+            reserve(finer.count - j, withPositions);
+            for (int i = j; i < finer.count; i++) {
+                addColumn(finer, i, withPositions);
+            }
+        } else {
+            dirty = count;
+        }
+
+        // 앞쪽: finer 의 첫 column 이전 column 을 버리고, 첫 column 이 바뀌었으면 다시 합친다
+        headChanged = false;
+        if (finer.head >= finer.count) {
+            head = count;
+            return;
+        }
+        float x0 = finer.starts[finer.head];
+        while (head < count && starts[head] + columnWidth <= x0) {
+            head++;
+            headChanged = true;
+        }
+        if (head < count && (headChanged || finer.headChanged)) {
+            long column = columnOf(head);
+            for (int i = finer.head; i < finer.count && (long) Math.floor(finer.starts[i] / columnWidth) == column; i++) {
+                if (i == finer.head) {
+                    set(head, column, x(finer.firstXs, i), finer.firsts[i], x(finer.lowXs, i), finer.lows[i],
+                            x(finer.highXs, i), finer.highs[i], x(finer.lastXs, i), finer.lasts[i], withPositions);
+                } else {
+                    combine(head, x(finer.lowXs, i), finer.lows[i], x(finer.highXs, i), finer.highs[i],
+                            x(finer.lastXs, i), finer.lasts[i], withPositions);
+                }
+            }
+            headChanged = true;
+        }
+        if (dirty < head) {
+            dirty = head;
+        }
+    }
+
+    private void addRows(FloatArrayStore store, int from, boolean withPositions) {
+        for (int i = from; i < store.size(); i++) {
+            add(store.getX(i), store.getOpen(i), store.getLow(i), store.getHigh(i), store.getClose(i), withPositions);
+        }
+    }
+
+    private void add(float x, float open, float low, float high, float close, boolean withPositions) {
+        if (Float.isNaN(low) || Float.isNaN(high)) {
+            return;
+        }
+        long column = (long) Math.floor(x / columnWidth);
+        if (count > head && column == lastColumn) {
+            int k = count - 1;
+            combine(k, x, low, x, high, x, close, withPositions);
+            if (k < dirty) {
+                dirty = k;
+            }
+        } else {
+            set(count++, column, x, open, x, low, x, high, x, close, withPositions);
+            lastColumn = column;
+        }
+    }
+
+    private void addColumn(ColumnEnvelope finer, int i, boolean withPositions) {
+        long column = (long) Math.floor(finer.starts[i] / columnWidth);
+        if (count > head && column == lastColumn) {
+            combine(count - 1, x(finer.lowXs, i), finer.lows[i], x(finer.highXs, i), finer.highs[i],
+                    x(finer.lastXs, i), finer.lasts[i], withPositions);
+        } else {
+            set(count++, column, x(finer.firstXs, i), finer.firsts[i], x(finer.lowXs, i), finer.lows[i],
+                    x(finer.highXs, i), finer.highs[i], x(finer.lastXs, i), finer.lasts[i], withPositions);
+            lastColumn = column;
+        }
+    }
+
+    private void set(int k, long column, float firstX, float first, float lowX, float low,
+                     float highX, float high, float lastX, float last, boolean withPositions) {
+        starts[k] = column * columnWidth;
+        firsts[k] = first;
+        lows[k] = low;
+        highs[k] = high;
+        lasts[k] = last;
+        if (withPositions) {
+            firstXs[k] = firstX;
+            lowXs[k] = lowX;
+            highXs[k] = highX;
+            lastXs[k] = lastX;
+        }
+    }
+
+    private void combine(int k, float lowX, float low, float highX, float high, float lastX, float last,
+                         boolean withPositions) {
+        if (low < lows[k]) {
+            lows[k] = low;
+            if (withPositions) {
+                lowXs[k] = lowX;
+            }
+        }
+        if (high > highs[k]) {
+            highs[k] = high;
+            if (withPositions) {
+                highXs[k] = highX;
+            }
+        }
+        lasts[k] = last;
+        if (withPositions) {
+            lastXs[k] = lastX;
+        }
+    }
+
+    private static float x(float[] positions, int i) {
+        return positions != null ? positions[i] : 0f;
+    }
+
+    private long columnOf(int k) {
+        return Math.round(starts[k] / columnWidth);
+    }
+
+    /**
+     * Index of the first column ending after {@code x}, at least {@link #head}.
+     */
+    int indexAfter(float x) {
+        int low = head;
+        int high = count;
+        while (low < high) {
+            int m = (low + high) >>> 1;
+            if (starts[m] + columnWidth <= x) {
+                low = m + 1;
+            } else {
+                high = m;
+            }
+        }
+        return low;
+    }
+
+    private void ensureCapacity(int n, boolean withPositions) {
+        if (starts.length < n) {
+            starts = new float[n];
+            firsts = new float[n];
+            lows = new float[n];
+            highs = new float[n];
+            lasts = new float[n];
+            firstXs = null;
+        }
+        if (!withPositions) {
+            firstXs = lowXs = highXs = lastXs = null;
+        } else if (firstXs == null) {
+            firstXs = new float[starts.length];
+            lowXs = new float[starts.length];
+            highXs = new float[starts.length];
+            lastXs = new float[starts.length];
+        }
+    }
+
+    // 뒤에 extra 개를 더할 자리를 만든다. 빠진 앞쪽이 있으면 먼저 당기므로 ring buffer 에서 복사는 분할 상환 O(1) 이다
+    private void reserve(int extra, boolean withPositions) {
+        if (count + extra <= starts.length) {
+            return;
+        }
+        int live = count - head;
+        if (head > 0) {
+            shift(starts);
+            shift(firsts);
+            shift(lows);
+            shift(highs);
+            shift(lasts);
+            if (withPositions) {
+                shift(firstXs);
+                shift(lowXs);
+                shift(highXs);
+                shift(lastXs);
+            }
+            dirty = Math.max(dirty - head, 0);
+            count = live;
+            head = 0;
+        }
+        if (live + extra > starts.length) {
+            int size = Math.max(live + extra, starts.length + (starts.length >> 1) + 8);
+            starts = Arrays.copyOf(starts, size);
+            firsts = Arrays.copyOf(firsts, size);
+            lows = Arrays.copyOf(lows, size);
+            highs = Arrays.copyOf(highs, size);
+            lasts = Arrays.copyOf(lasts, size);
+            if (withPositions) {
+                firstXs = Arrays.copyOf(firstXs, size);
+                lowXs = Arrays.copyOf(lowXs, size);
+                highXs = Arrays.copyOf(highXs, size);
+                lastXs = Arrays.copyOf(lastXs, size);
+            }
+        }
+    }
+
+    private void shift(float[] column) {
+        System.arraycopy(column, head, column, 0, count - head);
+    }
+}
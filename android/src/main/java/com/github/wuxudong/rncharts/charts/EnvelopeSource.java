@@ -0,0 +1,90 @@
+package com.github.wuxudong.rncharts.charts;
+
+import com.github.mikephil.charting.interfaces.datasets.IDataSet;
+
+import java.util.WeakHashMap;
+
+/**
+ * Per-renderer source of {@link ColumnEnvelope}s: computed for the current scale ("decimation") or
+ * picked from a prebuilt {@link LodPyramid} ("levelOfDetail", takes precedence).
+ */
+final class EnvelopeSource {
+
+    private final boolean withPositions;
+    private boolean decimationEnabled;
+    private boolean levelOfDetailEnabled;
+
+    private final WeakHashMap<IDataSet<?>, ColumnEnvelope> envelopes = new WeakHashMap<>();
+    private final WeakHashMap<IDataSet<?>, LodPyramid> pyramids = new WeakHashMap<>();
+
+    EnvelopeSource(boolean withPositions) {
+        this.withPositions = withPositions;
+    }
+
+    void setDecimationEnabled(boolean enabled) {
+        this.decimationEnabled = enabled;
+        if (!enabled) {
+            envelopes.clear();
+        }
+    }
+
+    void setLevelOfDetailEnabled(boolean enabled) {
+        this.levelOfDetailEnabled = enabled;
+        if (!enabled) {
+            pyramids.clear();
+        }
+    }
+
+    void clear() {
+        envelopes.clear();
+        pyramids.clear();
+    }
+
+    boolean isEnabled() {
+        return decimationEnabled || levelOfDetailEnabled;
+    }
+
+    boolean isLevelOfDetailEnabled() {
+        return levelOfDetailEnabled;
+    }
+
+    /**
+     * Columns to draw for [lowX, highX], or null when the entries should be drawn as they are.
+     */
+    ColumnEnvelope get(IDataSet<?> dataSet, float lowX, float highX, float contentWidth) {
+        float columnWidth = ColumnEnvelope.columnWidthFor(dataSet, lowX, highX, contentWidth);
+        if (columnWidth <= 0f) {
+            return null;
+        }
+
+        if (levelOfDetailEnabled) {
+            LodPyramid pyramid = pyramids.get(dataSet);
+            if (pyramid == null) {
+                pyramid = new LodPyramid(withPositions);
+                pyramids.put(dataSet, pyramid);
+            }
+            pyramid.update(dataSet);
+            int level = pyramid.levelFor(columnWidth);
+            return level > 0 ? pyramid.get(level) : null;
+        }
+
+        if (!decimationEnabled) {
+            return null;
+        }
+        ColumnEnvelope envelope = envelopes.get(dataSet);
+        if (envelope == null) {
+            envelope = new ColumnEnvelope();
+            envelopes.put(dataSet, envelope);
+        }
+        envelope.update(dataSet, columnWidth);
+        return envelope;
+    }
+
+    /**
+     * Pyramid level for [lowX, highX] without building anything; 0 when no pyramid exists yet.
+     */
+    int levelFor(IDataSet<?> dataSet, float lowX, float highX, float contentWidth) {
+        LodPyramid pyramid = pyramids.get(dataSet);
+        return pyramid != null ? pyramid.levelFor(ColumnEnvelope.columnWidthFor(dataSet, lowX, highX, contentWidth)) : 0;
+    }
+}
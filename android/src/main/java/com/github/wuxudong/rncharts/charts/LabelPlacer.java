@@ -0,0 +1,293 @@
+package com.github.wuxudong.rncharts.charts;
+
+import android.graphics.Matrix;
+import android.graphics.Paint;
+
+import com.github.mikephil.charting.charts.Chart;
+import com.github.mikephil.charting.data.ChartData;
+import com.github.mikephil.charting.data.CombinedData;
+import com.github.mikephil.charting.data.DataSet;
+import com.github.mikephil.charting.highlight.Highlight;
+import com.github.mikephil.charting.interfaces.dataprovider.ChartInterface;
+import com.github.mikephil.charting.interfaces.datasets.IDataSet;
+import com.github.mikephil.charting.utils.Utils;
+import com.github.mikephil.charting.utils.ViewPortHandler;
+
+import java.util.Arrays;
+
+/**
+ * Greedy value label placement over a uniform grid of the chart view ("valueLabelCollision").
+ *
+ * - 렌더러는 그릴 라벨 후보를 모두 add 한 뒤 {@link #resolve} 를 부르고, {@link #isAccepted} 인 것만 그린다.
+ * - 우선순위 (highlight > 최대/최소 > 최신 > 나머지) 순서로, 같은 순위 안에서는 x 순서로 겹치지 않는 라벨만 받는다.
+ *   순위는 네 단계뿐이라 정렬 없이 단계별로 한 번씩 돌아 O(후보 수) 이다.
+ * - 라벨 사각형은 겹칠 수 있는 cell 에만 넣고 검사하므로 후보 하나당 주변 몇 개 cell 만 본다.
+ * - touch matrix, content rect, 후보 목록이 그대로면 이전 결과를 그대로 쓴다.
+ */
+final class LabelPlacer {
+
+    static final int PRIORITY_NORMAL = 0;
+    static final int PRIORITY_LATEST = 1;
+    static final int PRIORITY_EXTREMUM = 2;
+    static final int PRIORITY_HIGHLIGHTED = 3;
+
+    private static final float CELL_DP = 32f;
+    private static final float PADDING_DP = 2f;
+    // 점 사이가 이보다 좁으면 어떤 라벨도 읽을 수 없으므로 후보를 모으지 않는다
+    private static final float MIN_SPACING_DP = 2f;
+
+    // 후보 (struct-of-arrays), 프레임 간 재사용
+    String[] texts = new String[16];
+    float[] xs = new float[16];
+    float[] ys = new float[16];
+    int[] colors = new int[16];
+    ValueLabelCache[] caches = new ValueLabelCache[16];
+    int[] entries = new int[16];
+    boolean[] deferred = new boolean[16];
+    private float[] values = new float[16];
+    private float[] lefts = new float[16];
+    private float[] tops = new float[16];
+    private float[] rights = new float[16];
+    private float[] bottoms = new float[16];
+    private int[] priorities = new int[16];
+    private boolean[] accepted = new boolean[16];
+    int size;
+
+    // grid: cell 마다 받은 라벨 node 의 linked list (heads → next), node 는 라벨 index (labels) 를 가리킨다
+    private int[] heads = new int[0];
+    private int[] labels = new int[16];
+    private int[] next = new int[16];
+    private int nodes;
+    private float cellSize;
+    private int columns;
+    private int rows;
+
+    // 이전 resolve 의 key
+    private final float[] matrixValues = new float[9];
+    private final float[] resolvedMatrix = new float[9];
+    private long resolvedKey;
+    private boolean resolved;
+
+    void begin() {
+        Arrays.fill(texts, 0, size, null);
+        Arrays.fill(caches, 0, size, null);
+        size = 0;
+    }
+
+    /**
+     * Adds a label centred on {@code x} with its baseline at {@code y}.
+     *
+     * @return candidate index
+     */
+    int add(String text, float x, float y, float width, Paint.FontMetrics metrics, int color,
+            ValueLabelCache cache, int entry, float value, boolean deferred) {
+        if (size == texts.length) {
+            grow(size * 2);
+        }
+        int i = size++;
+        float padding = Utils.convertDpToPixel(PADDING_DP);
+        texts[i] = text;
+        xs[i] = x;
+        ys[i] = y;
+        colors[i] = color;
+        caches[i] = cache;
+        entries[i] = entry;
+        this.deferred[i] = deferred;
+        values[i] = value;
+        lefts[i] = x - width / 2f - padding;
+        rights[i] = x + width / 2f + padding;
+        tops[i] = y + metrics.ascent - padding;
+        bottoms[i] = y + metrics.descent + padding;
+        priorities[i] = PRIORITY_NORMAL;
+        return i;
+    }
+
+    void raise(int index, int priority) {
+        if (index >= 0 && index < size && priorities[index] < priority) {
+            priorities[index] = priority;
+        }
+    }
+
+    /**
+     * Raises the candidate of {@code entry} among the candidates [from, size), which were added in entry order.
+     */
+    void raiseEntry(int from, int entry, int priority) {
+        int low = from;
+        int high = size;
+        while (low < high) {
+            int m = (low + high) >>> 1;
+            if (entries[m] < entry) {
+                low = m + 1;
+            } else {
+                high = m;
+            }
+        }
+        if (low < size && entries[low] == entry) {
+            raise(low, priority);
+        }
+    }
+
+    /**
+     * Raises the visible maximum / minimum and the last entry among the candidates [from, size) of one data set.
+     */
+    void prioritize(int from, int lastEntry) {
+        int max = -1;
+        int min = -1;
+        for (int i = from; i < size; i++) {
+            if (Float.isNaN(values[i])) {
+                continue;
+            }
+            if (max < 0 || values[i] > values[max]) {
+                max = i;
+            }
+            if (min < 0 || values[i] < values[min]) {
+                min = i;
+            }
+        }
+        raise(max, PRIORITY_EXTREMUM);
+        raise(min, PRIORITY_EXTREMUM);
+        raiseEntry(from, lastEntry, PRIORITY_LATEST);
+    }
+
+    /**
+     * Raises the highlighted entries of {@code dataSet}, which is data set {@code dataSetIndex} of {@code part}.
+     */
+    void prioritizeHighlighted(Chart<?> chart, ChartData<?> part, int dataSetIndex, IDataSet<?> dataSet, int from) {
+        Highlight[] highlights = chart.getHighlighted();
+        if (highlights == null) {
+            return;
+        }
+        ChartData<?> data = chart.getData();
+        for (Highlight h : highlights) {
+            if (h.getDataSetIndex() != dataSetIndex) {
+                continue;
+            }
+            if (data instanceof CombinedData && ((CombinedData) data).getDataByIndex(h.getDataIndex()) != part) {
+                continue;
+            }
+            raiseEntry(from, dataSet.getEntryIndex(h.getX(), Float.NaN, DataSet.Rounding.CLOSEST), PRIORITY_HIGHLIGHTED);
+        }
+    }
+
+    /**
+     * Replaces DataRenderer.isDrawingValuesAllowed (maxVisibleValueCount) while placing: values are drawn as long
+     * as the entries are not packed tighter than a couple of pixels.
+     */
+    static boolean isDrawingAllowed(ChartInterface chart, ViewPortHandler viewPortHandler) {
+        ChartData<?> data = chart.getData();
+        if (data == null) {
+            return false;
+        }
+        float capacity = viewPortHandler.contentWidth() / Utils.convertDpToPixel(MIN_SPACING_DP);
+        return data.getEntryCount() < capacity * viewPortHandler.getScaleX();
+    }
+
+    boolean isAccepted(int index) {
+        return accepted[index];
+    }
+
+    /**
+     * Decides which candidates are drawn; keeps the previous decision when nothing that affects it changed.
+     *
+     * @param contentKey changes with the drawn data (signatures of the data sets)
+     */
+    void resolve(ViewPortHandler viewPortHandler, long contentKey) {
+        Matrix touch = viewPortHandler.getMatrixTouch();
+        touch.getValues(matrixValues);
+
+        long key = contentKey * 31 + size;
+        key = key * 31 + Float.floatToIntBits(viewPortHandler.contentLeft());
+        key = key * 31 + Float.floatToIntBits(viewPortHandler.contentTop());
+        key = key * 31 + Float.floatToIntBits(viewPortHandler.contentRight());
+        key = key * 31 + Float.floatToIntBits(viewPortHandler.contentBottom());
+        for (int i = 0; i < size; i++) {
+            key = key * 31 + entries[i] * 4L + priorities[i];
+        }
+        if (resolved && key == resolvedKey && Arrays.equals(matrixValues, resolvedMatrix)) {
+            return;
+        }
+        resolved = true;
+        resolvedKey = key;
+        System.arraycopy(matrixValues, 0, resolvedMatrix, 0, 9);
+
+        resetGrid(viewPortHandler);
+        for (int priority = PRIORITY_HIGHLIGHTED; priority >= PRIORITY_NORMAL; priority--) {
+            for (int i = 0; i < size; i++) {
+                if (priorities[i] == priority) {
+                    accepted[i] = tryPlace(i);
+                }
+            }
+        }
+    }
+
+    private void resetGrid(ViewPortHandler viewPortHandler) {
+        cellSize = Utils.convertDpToPixel(CELL_DP);
+        // 라벨은 content 위쪽 여백까지 올라갈 수 있으므로 view 전체를 덮는다
+        columns = Math.max(1, (int) Math.ceil(viewPortHandler.getChartWidth() / cellSize));
+        rows = Math.max(1, (int) Math.ceil(viewPortHandler.getChartHeight() / cellSize));
+        int cells = columns * rows;
+        if (heads.length < cells) {
+            heads = new int[cells];
+        }
+        Arrays.fill(heads, 0, cells, -1);
+        nodes = 0;
+    }
+
+    private boolean tryPlace(int i) {
+        int c0 = column(lefts[i]);
+        int c1 = column(rights[i]);
+        int r0 = row(tops[i]);
+        int r1 = row(bottoms[i]);
+
+        for (int r = r0; r <= r1; r++) {
+            for (int c = c0; c <= c1; c++) {
+                for (int node = heads[r * columns + c]; node >= 0; node = next[node]) {
+                    int k = labels[node];
+                    if (lefts[k] < rights[i] && rights[k] > lefts[i] && tops[k] < bottoms[i] && bottoms[k] > tops[i]) {
+                        return false;
+                    }
+                }
+            }
+        }
+
+        // 걸치는 cell 마다 node 를 하나씩 넣는다
+        for (int r = r0; r <= r1; r++) {
+            for (int c = c0; c <= c1; c++) {
+                if (nodes == labels.length) {
+                    labels = Arrays.copyOf(labels, nodes * 2);
+                    next = Arrays.copyOf(next, nodes * 2);
+                }
+                int cell = r * columns + c;
+                labels[nodes] = i;
+                next[nodes] = heads[cell];
+                heads[cell] = nodes++;
+            }
+        }
+        return true;
+    }
+
+    private int column(float x) {
+        return Math.max(0, Math.min(columns - 1, (int) Math.floor(x / cellSize)));
+    }
+
+    private int row(float y) {
+        return Math.max(0, Math.min(rows - 1, (int) Math.floor(y / cellSize)));
+    }
+
+    private void grow(int capacity) {
+        texts = Arrays.copyOf(texts, capacity);
+        xs = Arrays.copyOf(xs, capacity);
+        ys = Arrays.copyOf(ys, capacity);
+        colors = Arrays.copyOf(colors, capacity);
+        caches = Arrays.copyOf(caches, capacity);
+        entries = Arrays.copyOf(entries, capacity);
+        deferred = Arrays.copyOf(deferred, capacity);
+        values = Arrays.copyOf(values, capacity);
+        lefts = Arrays.copyOf(lefts, capacity);
+        tops = Arrays.copyOf(tops, capacity);
+        rights = Arrays.copyOf(rights, capacity);
+        bottoms = Arrays.copyOf(bottoms, capacity);
+        priorities = Arrays.copyOf(priorities, capacity);
+        accepted = Arrays.copyOf(accepted, capacity);
+    }
+}
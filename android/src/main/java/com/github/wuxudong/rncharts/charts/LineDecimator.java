@@ -0,0 +1,266 @@
+package com.github.wuxudong.rncharts.charts;
+
+import android.os.Handler;
+import android.os.Looper;
+import android.os.Process;
+import android.view.View;
+
+import com.github.mikephil.charting.data.DataSet;
+import com.github.mikephil.charting.data.Entry;
+import com.github.mikephil.charting.interfaces.datasets.IDataSet;
+import com.github.mikephil.charting.interfaces.datasets.ILineDataSet;
+import com.github.wuxudong.rncharts.data.DataSetMutator;
+import com.github.wuxudong.rncharts.data.FloatArrayDataSet;
+import com.github.wuxudong.rncharts.data.FloatArrayStore;
+
+import java.lang.ref.WeakReference;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Viewport-aware Largest-Triangle-Three-Buckets decimation of one line data set.
+ *
+ * - 보이는 구간을 content 폭(px)의 약 2 배 개수의 bucket 으로 나누고 bucket 마다 한 점을 고른다.
+ * - bucket 폭은 2 의 거듭제곱으로 양자화하고 x 에 정렬한다. 그래서 줌이 한 단계(2 배) 바뀌거나
+ *   스크롤이 계산해 둔 구간(보이는 구간 양옆으로 한 화면씩 더)을 벗어날 때만 다시 계산한다.
+ * - 계산은 백그라운드 스레드에서 하고 front / back 두 버퍼를 바꿔 끼운다. UI 스레드는 front 만 읽는다.
+ * - data set 은 건드리지 않으므로 highlight / marker 는 원본 entry 를 그대로 찾는다.
+ */
+final class LineDecimator {
+
+    private static final ExecutorService executor = Executors.newSingleThreadExecutor(new ThreadFactory() {
+        @Override
+        public Thread newThread(final Runnable r) {
+            Thread thread = new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    Process.setThreadPriority(Process.THREAD_PRIORITY_BACKGROUND);
+                    r.run();
+                }
+            }, "RNCharts-decimation");
+            thread.setDaemon(true);
+            return thread;
+        }
+    });
+
+    private static final Handler mainHandler = new Handler(Looper.getMainLooper());
+
+    /**
+     * Decimated points, x ascending. Only {@link #count} values of {@link #xs} / {@link #ys} are meaningful.
+     */
+    static final class Result {
+        float[] xs = new float[0];
+        float[] ys = new float[0];
+        int count;
+        // 계산한 x 구간과 bucket 폭
+        float from;
+        float to;
+        float bucketWidth;
+        long signature;
+        boolean valid;
+    }
+
+    private Result front = new Result();
+    private Result back = new Result();
+    private boolean running;
+
+    private final WeakReference<View> host;
+
+    LineDecimator(View host) {
+        this.host = new WeakReference<>(host);
+    }
+
+    /**
+     * Decimated points covering [lowX, highX], or null when the data set should be drawn as is
+     * (few enough points, or no result for this viewport yet — one is then computed in the background).
+     */
+    Result get(ILineDataSet dataSet, float lowX, float highX, float contentWidth) {
+        int target = Math.max(2, (int) (contentWidth * 2));
+        float range = highX - lowX;
+        if (range <= 0 || Float.isNaN(range)) {
+            return null;
+        }
+
+        int first = dataSet.getEntryIndex(lowX, Float.NaN, DataSet.Rounding.DOWN);
+        int last = dataSet.getEntryIndex(highX, Float.NaN, DataSet.Rounding.UP);
+        if (first < 0 || last - first <= target) {
+            return null;
+        }
+
+        float bucketWidth = quantize(range / target);
+        long signature = signature(dataSet);
+        boolean covers = front.valid && front.signature == signature && front.from <= lowX && front.to >= highX;
+
+        if (!(covers && front.bucketWidth == bucketWidth) && !running) {
+            float from = (float) Math.floor((lowX - range) / bucketWidth) * bucketWidth;
+            float to = (float) Math.ceil((highX + range) / bucketWidth) * bucketWidth;
+            schedule(dataSet, from, to, bucketWidth, signature);
+        }
+
+        // bucket 폭이 한 단계 다른 이전 결과라도 구간만 덮으면 새 결과가 올 때까지 그대로 쓴다.
+        return covers ? front : null;
+    }
+
+    private void schedule(ILineDataSet dataSet, final float from, final float to, final float bucketWidth, final long signature) {
+        // UI 스레드에서 구간만 복사해 둔다 (백그라운드에서 data set 을 읽지 않도록).
+        int start = Math.max(0, dataSet.getEntryIndex(from, Float.NaN, DataSet.Rounding.DOWN));
+        int end = Math.min(dataSet.getEntryCount() - 1, dataSet.getEntryIndex(to, Float.NaN, DataSet.Rounding.UP));
+        final int n = end - start + 1;
+        if (n < 3) {
+            return;
+        }
+
+        final float[] xs = new float[n];
+        final float[] ys = new float[n];
+        if (dataSet instanceof FloatArrayDataSet) {
+            FloatArrayStore store = ((FloatArrayDataSet) dataSet).getStore();
+            System.arraycopy(store.xValues(), store.getOffset() + start, xs, 0, n);
+            System.arraycopy(store.yValues(), store.getOffset() + start, ys, 0, n);
+        } else {
+            for (int i = 0; i < n; i++) {
+                Entry e = dataSet.getEntryForIndex(start + i);
+                xs[i] = e.getX();
+                ys[i] = e.getY();
+            }
+        }
+
+        running = true;
+        final Result target = back;
+        executor.execute(new Runnable() {
+            @Override
+            public void run() {
+                boolean done = false;
+                try {
+                    lttb(xs, ys, n, from, bucketWidth, target);
+                    target.from = Math.max(from, xs[0]);
+                    target.to = Math.min(to, xs[n - 1]);
+                    // 데이터 끝이면 그 너머도 덮은 것으로 본다
+                    if (xs[0] >= from) {
+                        target.from = -Float.MAX_VALUE;
+                    }
+                    if (xs[n - 1] <= to) {
+                        target.to = Float.MAX_VALUE;
+                    }
+                    target.bucketWidth = bucketWidth;
+                    target.signature = signature;
+                    target.valid = true;
+                    done = true;
+                } finally {
+                    // 실패해도 running 을 풀어야 다음 프레임에 다시 계산한다
+                    final boolean swap = done;
+                    mainHandler.post(new Runnable() {
+                        @Override
+                        public void run() {
+                            running = false;
+                            if (!swap) {
+                                return;
+                            }
+                            back = front;
+                            front = target;
+
+                            View view = host.get();
+                            if (view != null) {
+                                view.invalidate();
+                            }
+                        }
+                    });
+                }
+            }
+        });
+    }
+
+    /**
+     * LTTB over x-aligned buckets of {@code bucketWidth} starting at {@code origin}; keeps the first and last point.
+     */
+    static void lttb(float[] xs, float[] ys, int n, float origin, float bucketWidth, Result out) {
+        // 비어 있지 않은 bucket 의 시작 index. 마지막 점은 따로 둔다.
+        int[] starts = new int[n];
+        int buckets = 0;
+        long previous = Long.MIN_VALUE;
+        for (int i = 1; i < n - 1; i++) {
+            long bucket = (long) Math.floor((xs[i] - origin) / bucketWidth);
+            if (bucket != previous) {
+                starts[buckets++] = i;
+                previous = bucket;
+            }
+        }
+
+        int capacity = buckets + 2;
+        if (out.xs.length < capacity) {
+            out.xs = new float[capacity];
+            out.ys = new float[capacity];
+        }
+
+        int count = 0;
+        out.xs[count] = xs[0];
+        out.ys[count++] = ys[0];
+
+        int a = 0;
+        for (int b = 0; b < buckets; b++) {
+            int bucketStart = starts[b];
+            int bucketEnd = b + 1 < buckets ? starts[b + 1] : n - 1;
+
+            // 다음 bucket 의 평균 (마지막 bucket 이면 마지막 점)
+            float avgX;
+            float avgY;
+            if (b + 1 < buckets) {
+                int nextEnd = b + 2 < buckets ? starts[b + 2] : n - 1;
+                float sumX = 0f;
+                float sumY = 0f;
+                for (int i = bucketEnd; i < nextEnd; i++) {
+                    sumX += xs[i];
+                    sumY += ys[i];
+                }
+                avgX = sumX / (nextEnd - bucketEnd);
+                avgY = sumY / (nextEnd - bucketEnd);
+            } else {
+                avgX = xs[n - 1];
+                avgY = ys[n - 1];
+            }
+
+            float ax = xs[a];
+            float ay = ys[a];
+            float maxArea = -1f;
+            int chosen = bucketStart;
+            for (int i = bucketStart; i < bucketEnd; i++) {
+                float area = Math.abs((ax - avgX) * (ys[i] - ay) - (ax - xs[i]) * (avgY - ay));
+                if (area > maxArea) {
+                    maxArea = area;
+                    chosen = i;
+                }
+            }
+
+            out.xs[count] = xs[chosen];
+            out.ys[count++] = ys[chosen];
+            a = chosen;
+        }
+
+        out.xs[count] = xs[n - 1];
+        out.ys[count++] = ys[n - 1];
+        out.count = count;
+    }
+
+    private static float quantize(float width) {
+        return (float) Math.pow(2, Math.ceil(Math.log(width) / Math.log(2)));
+    }
+
+    /**
+     * Changes when the data set is replaced or its values change (store version, or the {@link DataSetMutator}
+     * mutation count). Every per-data-set cache (envelopes, pyramids, value labels) is keyed on it.
+     */
+    static long signature(IDataSet<?> dataSet) {
+        long hash = System.identityHashCode(dataSet);
+        if (dataSet instanceof FloatArrayDataSet) {
+            return hash * 31 + ((FloatArrayDataSet) dataSet).getStore().getVersion();
+        }
+        // 제자리 수정 (patchValues) 은 개수와 범위를 그대로 둘 수 있으므로 mutation count 를 함께 쓴다.
+        hash = hash * 31 + DataSetMutator.getMutationCount(dataSet);
+        hash = hash * 31 + dataSet.getEntryCount();
+        hash = hash * 31 + Float.floatToIntBits(dataSet.getXMin());
+        hash = hash * 31 + Float.floatToIntBits(dataSet.getXMax());
+        hash = hash * 31 + Float.floatToIntBits(dataSet.getYMin());
+        hash = hash * 31 + Float.floatToIntBits(dataSet.getYMax());
+        return hash;
+    }
+}
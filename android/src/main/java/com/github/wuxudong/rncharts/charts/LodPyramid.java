@@ -0,0 +1,166 @@
+package com.github.wuxudong.rncharts.charts;
+
+import com.github.mikephil.charting.interfaces.datasets.IDataSet;
+import com.github.wuxudong.rncharts.data.FloatArrayDataSet;
+import com.github.wuxudong.rncharts.data.FloatArrayStore;
+
+import java.util.ArrayList;
+
+/**
+ * Multi-resolution level-of-detail pyramid of one data set: level 1 has about 2 entries per column,
+ * and each next level merges two columns of the previous one (4x, 8x ...).
+ *
+ * - data set 이 바뀔 때(signature) 한 번만 O(n) 으로 다시 만든다. stream store 에 push 만 있었으면
+ *   새 row 와 ring buffer 에서 빠진 row 만큼만 level 양 끝을 고친다.
+ * - ring buffer 의 x 밀도가 그대로면 level 1 폭도 그대로라 push 마다 전체를 다시 만들지 않는다.
+ * - 그리는 시점에는 column 폭(2 의 거듭제곱)에 맞는 level 을 log2 한 번으로 고르므로 줌으로 level 이 바뀌어도 O(1) 이다.
+ * - column 폭도 2 의 거듭제곱이라 {@link ColumnEnvelope#columnWidthFor} 가 주는 폭과 정확히 맞는다.
+ */
+final class LodPyramid {
+
+    private static final int MAX_LEVELS = 40;
+
+    // index 0 이 level 1
+    private final ArrayList<ColumnEnvelope> levels = new ArrayList<>();
+    private final boolean withPositions;
+    private long signature;
+    private boolean valid;
+
+    // 마지막으로 반영한 stream store 의 row 범위 (sequence 번호)
+    private FloatArrayStore builtStore;
+    private int builtRewriteVersion;
+    private long builtFirst;
+    private long builtEnd;
+
+    /**
+     * @param withPositions keep the x of first / min / max / last per column (needed to draw lines)
+     */
+    LodPyramid(boolean withPositions) {
+        this.withPositions = withPositions;
+    }
+
+    /**
+     * Brings the levels up to date if the data set changed since the last call: rows pushed to / evicted from a
+     * stream store are applied incrementally, any other change rebuilds the levels.
+     */
+    void update(IDataSet<?> dataSet) {
+        long signature = LineDecimator.signature(dataSet);
+        if (valid && this.signature == signature) {
+            return;
+        }
+        if (!(valid && extend(dataSet))) {
+            rebuild(dataSet);
+        }
+        this.signature = signature;
+        this.valid = true;
+    }
+
+    private void rebuild(IDataSet<?> dataSet) {
+        float baseWidth = baseWidthFor(dataSet);
+        int count = 0;
+        if (baseWidth > 0f) {
+            ColumnEnvelope level = reuse(count++);
+            level.aggregate(dataSet, baseWidth, withPositions);
+
+            while (level.count - level.head > 1 && count < MAX_LEVELS) {
+                ColumnEnvelope next = reuse(count++);
+                next.merge(level);
+                level = next;
+            }
+        }
+
+        while (levels.size() > count) {
+            levels.remove(levels.size() - 1);
+        }
+
+        FloatArrayStore store = dataSet instanceof FloatArrayDataSet ? ((FloatArrayDataSet) dataSet).getStore() : null;
+        builtStore = store;
+        if (store != null) {
+            builtRewriteVersion = store.getRewriteVersion();
+            builtFirst = store.getFirstSequence();
+            builtEnd = builtFirst + store.size();
+        }
+    }
+
+    // push 로 뒤에 row 가 붙고 앞에서 빠지기만 했으면 그 row 들만 반영한다. O(바뀐 row + level 수)
+    private boolean extend(IDataSet<?> dataSet) {
+        if (!(dataSet instanceof FloatArrayDataSet) || levels.isEmpty()) {
+            return false;
+        }
+        FloatArrayStore store = ((FloatArrayDataSet) dataSet).getStore();
+        long first = store.getFirstSequence();
+        long end = first + store.size();
+        if (store != builtStore || store.getRewriteVersion() != builtRewriteVersion
+                || first < builtFirst || end < builtEnd || first >= builtEnd) {
+            return false;
+        }
+        // 밀도가 두 배 이상 바뀌면 level 1 폭이 달라지므로 다시 만든다
+        ColumnEnvelope base = levels.get(0);
+        if (baseWidthFor(dataSet) != base.columnWidth) {
+            return false;
+        }
+
+        base.append(store, (int) (builtEnd - first), withPositions);
+        base.evict(store, first > builtFirst, withPositions);
+        for (int i = 1; i < levels.size(); i++) {
+            levels.get(i).follow(levels.get(i - 1));
+        }
+        // x 범위가 넓어져 맨 위 level 이 한 column 보다 많으면 level 을 더한다
+        ColumnEnvelope top = levels.get(levels.size() - 1);
+        while (top.count - top.head > 1 && levels.size() < MAX_LEVELS) {
+            ColumnEnvelope next = new ColumnEnvelope();
+            next.merge(top);
+            levels.add(next);
+            top = next;
+        }
+
+        builtFirst = first;
+        builtEnd = end;
+        return true;
+    }
+
+    // level 1 의 column 폭: column 당 entry 약 2 개, 2 의 거듭제곱. 만들 수 없으면 0
+    private static float baseWidthFor(IDataSet<?> dataSet) {
+        int n = dataSet.getEntryCount();
+        float span = dataSet.getXMax() - dataSet.getXMin();
+        if (n < 4 || span <= 0 || Float.isNaN(span)) {
+            return 0f;
+        }
+        return (float) Math.pow(2, Math.ceil(Math.log(2.0 * span / n) / Math.log(2)));
+    }
+
+    private ColumnEnvelope reuse(int index) {
+        if (index < levels.size()) {
+            return levels.get(index);
+        }
+        ColumnEnvelope level = new ColumnEnvelope();
+        levels.add(level);
+        return level;
+    }
+
+    /**
+     * Level number for a column width from {@link ColumnEnvelope#columnWidthFor}: 0 (draw the entries) when no level
+     * is that coarse, else 1 .. {@link #size()}.
+     */
+    int levelFor(float columnWidth) {
+        if (columnWidth <= 0f || levels.isEmpty()) {
+            return 0;
+        }
+        int k = Math.round((float) (Math.log(columnWidth / levels.get(0).columnWidth) / Math.log(2)));
+        if (k < 0) {
+            return 0;
+        }
+        return Math.min(k, levels.size() - 1) + 1;
+    }
+
+    /**
+     * Columns of level {@code level} (1 based).
+     */
+    ColumnEnvelope get(int level) {
+        return levels.get(level - 1);
+    }
+
+    int size() {
+        return levels.size();
+    }
+}
@@ -0,0 +1,15 @@
+package com.github.wuxudong.rncharts.charts;
+
+/**
+ * Renderer that can draw its data sets from a {@link LodPyramid} ("levelOfDetail" prop).
+ */
+public interface LodRenderer {
+
+    void setLevelOfDetailEnabled(boolean enabled);
+
+    /**
+     * Level used for the current viewport: 0 when entries are drawn as they are, 1.. for pyramid levels
+     * (level k aggregates about 2^k entries per column), -1 when level of detail is off.
+     */
+    int getLodLevel();
+}
@@ -2,31 +2,34 @@ package com.github.wuxudong.rncharts.charts;
 
 import android.graphics.Canvas;
 import android.graphics.Paint;
+import android.graphics.Path;
+import android.graphics.drawable.Drawable;
 import android.util.Log;
-import java.util.ArrayList;
-import java.util.List;
-import java.util.HashMap;
-import java.util.HashSet;
-import java.util.Map;
-import java.util.Set;
+import java.util.Arrays;
+import java.util.WeakHashMap;
 import android.os.SystemClock;
 import android.view.View;
 
 import com.github.mikephil.charting.animation.ChartAnimator;
 import com.github.mikephil.charting.data.Entry;
 import com.github.mikephil.charting.data.LineData;
+import com.github.mikephil.charting.data.LineDataSet;
+import com.github.mikephil.charting.formatter.ValueFormatter;
 import com.github.mikephil.charting.interfaces.dataprovider.LineDataProvider;
 import com.github.mikephil.charting.interfaces.datasets.ILineDataSet;
 import com.github.mikephil.charting.renderer.LineChartRenderer;
 import com.github.mikephil.charting.components.YAxis;
-import com.github.mikephil.charting.charts.LineChart;
 import com.github.mikephil.charting.charts.CombinedChart;
+import com.github.mikephil.charting.charts.Chart;
 import com.github.mikephil.charting.charts.BarLineChartBase;
 import com.github.mikephil.charting.highlight.Highlight;
 import com.github.mikephil.charting.interfaces.datasets.ILineScatterCandleRadarDataSet;
 import com.github.mikephil.charting.utils.MPPointD;
+import com.github.mikephil.charting.utils.Transformer;
 import com.github.mikephil.charting.utils.Utils;
 import com.github.mikephil.charting.utils.ViewPortHandler;
+import com.github.wuxudong.rncharts.data.FloatArrayDataSet;
+import com.github.wuxudong.rncharts.data.FloatArrayStore;
 import com.github.wuxudong.rncharts.markers.RNAtfleeMarkerView;
 
 /**
@@ -35,7 +38,7 @@ import com.github.wuxudong.rncharts.markers.RNAtfleeMarkerView;
  * drawn below the point instead. Also skips the Y in-bounds check so values can
  * render inside the chart's extra offset region.
  */
-public class NoClipLineChartRenderer extends LineChartRenderer {
+public class NoClipLineChartRenderer extends LineChartRenderer implements LodRenderer, CachingRenderer {
 
     private static final String TAG = "RNCharts-LineLabel";
     // Verbose logging only around the top-edge scenario to keep noise low
@@ -45,20 +48,56 @@ public class NoClipLineChartRenderer extends LineChartRenderer {
     private static final float LABEL_OFFSET_SCALE_ABOVE = 0.5f;
     private static final float LABEL_CONTENT_TOP_GAP_DP = 4f;
 
-    private static class PendingLabel {
-        final String text; final float x; final float y; final int color; final long key;
-        PendingLabel(String t, float x, float y, int c, long k){ this.text=t; this.x=x; this.y=y; this.color=c; this.key=k; }
+    // Top-edge labels redrawn in drawExtras, kept as parallel arrays reused across frames
+    private static final class PendingLabels {
+        String[] texts = new String[16];
+        float[] xs = new float[16];
+        float[] ys = new float[16];
+        int[] colors = new int[16];
+        ValueLabelCache[] caches = new ValueLabelCache[16];
+        int[] entries = new int[16];
+        int size;
+
+        void add(String text, float x, float y, int color, ValueLabelCache cache, int entry) {
+            if (size == texts.length) {
+                int capacity = size * 2;
+                texts = Arrays.copyOf(texts, capacity);
+                xs = Arrays.copyOf(xs, capacity);
+                ys = Arrays.copyOf(ys, capacity);
+                colors = Arrays.copyOf(colors, capacity);
+                caches = Arrays.copyOf(caches, capacity);
+                entries = Arrays.copyOf(entries, capacity);
+            }
+            texts[size] = text; xs[size] = x; ys[size] = y; colors[size] = color; caches[size] = cache; entries[size] = entry;
+            size++;
+        }
+
+        void clear() {
+            Arrays.fill(texts, 0, size, null);
+            Arrays.fill(caches, 0, size, null);
+            size = 0;
+        }
     }
-    private final List<PendingLabel> pendingTopLabels = new ArrayList<>();
+    private final PendingLabels pendingTopLabels = new PendingLabels();
 
     // Fade-in for labels when they first become visible
     private static final long LABEL_FADE_MS = 180L; // duration for ease-in
-    private final Map<Long, Long> appearTimeMs = new HashMap<>();
-    private final Set<Long> visibleKeysThisFrame = new HashSet<>();
     private boolean fadeNeedsInvalidate = false;
 
-    private static long makeKey(int dataSetIndex, int entryIndex) {
-        return (((long) dataSetIndex) << 32) ^ (long) entryIndex;
+    // data set index 별 라벨 캐시, drawValues 호출마다 pass 를 하나씩 올린다
+    private ValueLabelCache[] labelCaches = new ValueLabelCache[0];
+    private int labelPass = 0;
+
+    private ValueLabelCache labelCache(int dataSetIndex) {
+        if (dataSetIndex >= labelCaches.length) {
+            labelCaches = Arrays.copyOf(labelCaches, dataSetIndex + 1);
+        }
+        ValueLabelCache cache = labelCaches[dataSetIndex];
+        if (cache == null) {
+            cache = new ValueLabelCache();
+            labelCaches[dataSetIndex] = cache;
+        }
+        return cache;
     }
 
     private static float easeIn(float t) {
@@ -66,13 +105,8 @@ public class NoClipLineChartRenderer extends LineChartRenderer {
         return t * t; // quadratic ease-in
     }
 
-    private int applyFadeToColor(int color, long key, long nowMs) {
-        visibleKeysThisFrame.add(key);
-        Long start = appearTimeMs.get(key);
-        if (start == null) {
-            start = nowMs;
-            appearTimeMs.put(key, start);
-        }
+    private int applyFadeToColor(int color, ValueLabelCache cache, int entryIndex, long nowMs) {
+        long start = cache.appearTime(entryIndex, labelPass, nowMs);
         float t = Math.min(1f, (nowMs - start) / (float) LABEL_FADE_MS);
         float k = easeIn(t);
         if (k < 1f) fadeNeedsInvalidate = true;
@@ -84,17 +118,6 @@ public class NoClipLineChartRenderer extends LineChartRenderer {
         return (a << 24) | (r << 16) | (g << 8) | b;
     }
 
-    private void cleanupFadeState() {
-        if (appearTimeMs.isEmpty()) return;
-        // Remove entries not seen this frame to prevent leaks while panning
-        if (!visibleKeysThisFrame.isEmpty()) {
-            appearTimeMs.keySet().retainAll(visibleKeysThisFrame);
-        } else {
-            appearTimeMs.clear();
-        }
-        visibleKeysThisFrame.clear();
-    }
-
     private void requestAnotherFrameIfFading() {
         if (!fadeNeedsInvalidate) return;
         fadeNeedsInvalidate = false;
@@ -127,6 +150,259 @@ public class NoClipLineChartRenderer extends LineChartRenderer {
         c.restore();
     }
 
+    // float-array dataSet 의 선분 좌표 (x0, y0, x1, y1 ...), 프레임 간 재사용
+    private float[] columnLineBuffer = new float[0];
+    private final Path columnFillPath = new Path();
+
+    private boolean decimationEnabled = false;
+    private final WeakHashMap<ILineDataSet, LineDecimator> decimators = new WeakHashMap<>();
+
+    /**
+     * Draw LINEAR data sets with more points than the content has pixels through {@link LineDecimator} (LTTB).
+     */
+    public void setDecimationEnabled(boolean enabled) {
+        this.decimationEnabled = enabled;
+        if (!enabled) {
+            decimators.clear();
+        }
+    }
+
+    // valueLabelCollision 이 켜져 있을 때만 있다
+    private LabelPlacer labelPlacer;
+
+    /**
+     * Draw every value label that does not overlap a label of higher priority instead of all or none of them.
+     */
+    public void setValueLabelCollisionEnabled(boolean enabled) {
+        labelPlacer = enabled ? (labelPlacer != null ? labelPlacer : new LabelPlacer()) : null;
+    }
+
+    // levelOfDetail: M4 (first / min / max / last) pyramid, column 마다 x 순서로 네 점
+    private final EnvelopeSource lodEnvelopes = new EnvelopeSource(true);
+    private float[] lodXs = new float[0];
+    private float[] lodYs = new float[0];
+
+    @Override
+    public void releaseCaches() {
+        labelCaches = new ValueLabelCache[0];
+        decimators.clear();
+        lodEnvelopes.clear();
+        fadeNeedsInvalidate = false;
+        if (labelPlacer != null) {
+            labelPlacer = new LabelPlacer();
+        }
+    }
+
+    @Override
+    public void setLevelOfDetailEnabled(boolean enabled) {
+        lodEnvelopes.setLevelOfDetailEnabled(enabled);
+    }
+
+    @Override
+    public int getLodLevel() {
+        LineData lineData = mChart.getLineData();
+        if (!lodEnvelopes.isLevelOfDetailEnabled()) {
+            return -1;
+        }
+        int level = 0;
+        if (lineData != null) {
+            for (ILineDataSet set : lineData.getDataSets()) {
+                level = Math.max(level, lodEnvelopes.levelFor(set, mChart.getLowestVisibleX(), mChart.getHighestVisibleX(),
+                        mViewPortHandler.contentWidth()));
+            }
+        }
+        return level;
+    }
+
+    /**
+     * Single-color linear lines of a {@link FloatArrayDataSet} are built straight from the x / y columns
+     * (no Entry per point), decimated ones from the LTTB result. Everything else goes through LineChartRenderer.
+     */
+    @Override
+    protected void drawLinear(Canvas c, ILineDataSet dataSet) {
+        if (dataSet.getMode() == LineDataSet.Mode.STEPPED || dataSet.getColors().size() > 1) {
+            super.drawLinear(c, dataSet);
+            return;
+        }
+
+        if (lodEnvelopes.isLevelOfDetailEnabled() && drawLevelOfDetail(c, dataSet)) {
+            return;
+        }
+
+        if (decimationEnabled && drawDecimated(c, dataSet)) {
+            return;
+        }
+
+        if (!(dataSet instanceof FloatArrayDataSet)) {
+            super.drawLinear(c, dataSet);
+            return;
+        }
+
+        FloatArrayStore store = ((FloatArrayDataSet) dataSet).getStore();
+        if (store.size() < 1) {
+            return;
+        }
+
+        Transformer trans = mChart.getTransformer(dataSet.getAxisDependency());
+        mXBounds.set(mChart, dataSet);
+
+        if (dataSet.isDrawFilledEnabled()) {
+            drawLinearFill(c, dataSet, trans, mXBounds);
+        }
+
+        int from = mXBounds.min;
+        int to = Math.min(mXBounds.min + mXBounds.range, store.size() - 1);
+        drawColumnSegments(c, dataSet, trans, store.xValues(), store.yValues(), store.getOffset() + from, store.getOffset() + to);
+    }
+
+    private boolean drawDecimated(Canvas c, ILineDataSet dataSet) {
+        LineDecimator decimator = decimators.get(dataSet);
+        if (decimator == null) {
+            decimator = new LineDecimator(mChart instanceof View ? (View) mChart : null);
+            decimators.put(dataSet, decimator);
+        }
+
+        LineDecimator.Result result = decimator.get(dataSet, mChart.getLowestVisibleX(), mChart.getHighestVisibleX(),
+                mViewPortHandler.contentWidth());
+        if (result == null) {
+            return false;
+        }
+
+        // 보이는 구간 + 양옆 한 점
+        int from = Math.max(0, lowerBound(result.xs, result.count, mChart.getLowestVisibleX()) - 1);
+        int to = Math.min(result.count - 1, lowerBound(result.xs, result.count, mChart.getHighestVisibleX()));
+        // phaseX 애니메이션은 LineChartRenderer 처럼 앞쪽부터 드러낸다
+        to = Math.min(to, from + (int) Math.ceil((to - from) * mAnimator.getPhaseX()));
+
+        Transformer trans = mChart.getTransformer(dataSet.getAxisDependency());
+        if (dataSet.isDrawFilledEnabled()) {
+            drawColumnFill(c, dataSet, trans, result.xs, result.ys, from, to);
+        }
+        drawColumnSegments(c, dataSet, trans, result.xs, result.ys, from, to);
+        return true;
+    }
+
+    private boolean drawLevelOfDetail(Canvas c, ILineDataSet dataSet) {
+        final float lowX = mChart.getLowestVisibleX();
+        final float highX = mChart.getHighestVisibleX();
+        ColumnEnvelope envelope = lodEnvelopes.get(dataSet, lowX, highX, mViewPortHandler.contentWidth());
+        if (envelope == null) {
+            return false;
+        }
+
+        // 보이는 column + 양옆 한 column
+        int from = Math.max(envelope.head, envelope.indexAfter(lowX) - 1);
+        int to = Math.min(envelope.count, envelope.indexAfter(highX) + 2);
+        to = from + (int) Math.ceil((to - from) * mAnimator.getPhaseX());
+        int columns = to - from;
+        if (columns <= 0) {
+            return true;
+        }
+
+        if (lodXs.length < columns * 4) {
+            lodXs = new float[columns * 4];
+            lodYs = new float[columns * 4];
+        }
+
+        final float[] xs = lodXs;
+        final float[] ys = lodYs;
+        int count = 0;
+        for (int i = from; i < to; i++) {
+            xs[count] = envelope.firstXs[i];
+            ys[count++] = envelope.firsts[i];
+            boolean lowFirst = envelope.lowXs[i] <= envelope.highXs[i];
+            xs[count] = lowFirst ? envelope.lowXs[i] : envelope.highXs[i];
+            ys[count++] = lowFirst ? envelope.lows[i] : envelope.highs[i];
+            xs[count] = lowFirst ? envelope.highXs[i] : envelope.lowXs[i];
+            ys[count++] = lowFirst ? envelope.highs[i] : envelope.lows[i];
+            xs[count] = envelope.lastXs[i];
+            ys[count++] = envelope.lasts[i];
+        }
+
+        Transformer trans = mChart.getTransformer(dataSet.getAxisDependency());
+        if (dataSet.isDrawFilledEnabled()) {
+            drawColumnFill(c, dataSet, trans, xs, ys, 0, count - 1);
+        }
+        drawColumnSegments(c, dataSet, trans, xs, ys, 0, count - 1);
+        return true;
+    }
+
+    private static int lowerBound(float[] xs, int count, float x) {
+        int low = 0;
+        int high = count;
+        while (low < high) {
+            int m = (low + high) >>> 1;
+            if (xs[m] < x) {
+                low = m + 1;
+            } else {
+                high = m;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Same fill as LineChartRenderer.drawLinearFill, for the points [from, to] of x / y columns.
+     */
+    private void drawColumnFill(Canvas c, ILineDataSet dataSet, Transformer trans, float[] xs, float[] ys, int from, int to) {
+        if (to <= from) {
+            return;
+        }
+
+        final float phaseY = mAnimator.getPhaseY();
+        final float fillMin = dataSet.getFillFormatter().getFillLinePosition(dataSet, mChart);
+        final Path path = columnFillPath;
+        path.reset();
+        path.moveTo(xs[from], fillMin);
+        for (int j = from; j <= to; j++) {
+            path.lineTo(xs[j], ys[j] * phaseY);
+        }
+        path.lineTo(xs[to], fillMin);
+        path.close();
+        trans.pathValueToPixel(path);
+
+        final Drawable drawable = dataSet.getFillDrawable();
+        if (drawable != null) {
+            drawFilledPath(c, path, drawable);
+        } else {
+            drawFilledPath(c, path, dataSet.getFillColor(), dataSet.getFillAlpha());
+        }
+    }
+
+    /**
+     * Draws the line through the points [from, to] of x / y columns with a single draw call.
+     */
+    private void drawColumnSegments(Canvas c, ILineDataSet dataSet, Transformer trans, float[] xs, float[] ys, int from, int to) {
+        int segments = to - from;
+        if (segments < 1) {
+            return;
+        }
+
+        if (columnLineBuffer.length < segments * 4) {
+            columnLineBuffer = new float[segments * 4];
+        }
+
+        final float phaseY = mAnimator.getPhaseY();
+        final float[] buffer = columnLineBuffer;
+        for (int j = from, k = 0; j < to; j++, k += 4) {
+            buffer[k] = xs[j];
+            buffer[k + 1] = ys[j] * phaseY;
+            buffer[k + 2] = xs[j + 1];
+            buffer[k + 3] = ys[j + 1] * phaseY;
+        }
+
+        // pointValuesToPixel 은 배열 전체를 변환하므로 같은 행렬로 필요한 구간만 변환한다.
+        trans.getValueToPixelMatrix().mapPoints(buffer, 0, buffer, 0, segments * 2);
+
+        Canvas canvas = dataSet.isDashedLineEnabled() ? mBitmapCanvas : c;
+        mRenderPaint.setStyle(Paint.Style.STROKE);
+        mRenderPaint.setStrokeWidth(dataSet.getLineWidth());
+        mRenderPaint.setPathEffect(dataSet.getDashPathEffect());
+        mRenderPaint.setColor(dataSet.getColor());
+        canvas.drawLines(buffer, 0, segments * 4, mRenderPaint);
+        mRenderPaint.setPathEffect(null);
+    }
+
     @Override
     public void drawValues(Canvas c) {
         LineDataProvider provider = mChart;
@@ -134,6 +410,9 @@ public class NoClipLineChartRenderer extends LineChartRenderer {
         LineData lineData = provider.getLineData();
         if (lineData == null) return;
 
+        // 이 pass 에 그려지지 않은 라벨은 다음에 보일 때 다시 fade-in 한다
+        labelPass++;
+
         // Guard against first-frame draws before layout sets a valid content rect.
         // When width/height are zero, transformers collapse many points to the same
         // pixel, causing labels to pile up in one spot. Skip this frame instead.
@@ -148,27 +427,42 @@ public class NoClipLineChartRenderer extends LineChartRenderer {
             return;
         }
 
-        boolean allowed = isDrawingValuesAllowed(provider);
+        final LabelPlacer placer = labelPlacer;
+        boolean allowed = placer != null
+                ? LabelPlacer.isDrawingAllowed(provider, mViewPortHandler)
+                : isDrawingValuesAllowed(provider);
         if (!allowed) {
-            Log.i(TAG, "drawValues skipped: not allowed for current zoom/entryCount");
+            if (Log.isLoggable(TAG, Log.DEBUG)) {
+                Log.i(TAG, "drawValues skipped: not allowed for current zoom/entryCount");
+            }
             return;
         }
 
         final float phaseY = mAnimator.getPhaseY();
-        final float phaseX = mAnimator.getPhaseX();
 
         final float lowestVisibleX = provider.getLowestVisibleX();
         final float highestVisibleX = provider.getHighestVisibleX();
 
         pendingTopLabels.clear();
-        Log.i(TAG, String.format("drawValues begin: sets=%d phaseY=%.2f visX=[%.2f..%.2f]", lineData.getDataSetCount(), phaseY, lowestVisibleX, highestVisibleX));
-        visibleKeysThisFrame.clear();
+        // 로그 문자열은 프레임마다 할당되므로 로그가 켜져 있을 때만 만든다
+        final boolean debug = Log.isLoggable(TAG, Log.DEBUG);
+        if (debug) {
+            Log.i(TAG, String.format("drawValues begin: sets=%d phaseY=%.2f visX=[%.2f..%.2f]", lineData.getDataSetCount(), phaseY, lowestVisibleX, highestVisibleX));
+        }
+        final long now = SystemClock.uptimeMillis();
+        long contentKey = Float.floatToIntBits(phaseY);
+        if (placer != null) {
+            placer.begin();
+        }
         for (int i = 0; i < lineData.getDataSetCount(); i++) {
             ILineDataSet dataSet = lineData.getDataSetByIndex(i);
             if (dataSet == null || !dataSet.isVisible() || !dataSet.isDrawValuesEnabled()) continue;
 
             // style
             applyValueTextStyle(dataSet);
+            final ValueLabelCache cache = labelCache(i);
+            cache.validate(dataSet, mValuePaint);
+            final ValueFormatter formatter = dataSet.getValueFormatter();
 
             final float circleRadius = dataSet.getCircleRadius();
             float valOffset = (circleRadius * 1.75f);
@@ -176,42 +470,47 @@ public class NoClipLineChartRenderer extends LineChartRenderer {
                 valOffset = valOffset / 2f;
             }
 
-            // Respect X animation phase so labels appear in sync with the line
-            final int entryCount = Math.min((int) Math.ceil(dataSet.getEntryCount() * phaseX), dataSet.getEntryCount());
-            for (int j = 0; j < entryCount; j++) {
+            // 보이는 index 구간만 돈다. phaseX 는 XBounds 가 선과 같은 방식으로 반영한다.
+            mXBounds.set(provider, dataSet);
+            final int from = mXBounds.min;
+            final int count = transformVisible(dataSet, from, mXBounds.min + mXBounds.range, phaseY);
+            final float[] points = visiblePoints;
+
+            final float[] yBounds = axisYBounds(provider, dataSet);
+            final float axisMax = yBounds[1];
+            final float contentTop = fixedTopLabelMinTop(provider);
+            final float contentBottom = mViewPortHandler.contentBottom();
+            final float topEpsPx = Utils.convertDpToPixel(TOP_EPS_DP);
+            final Paint.FontMetrics fm = cache.metrics;
+            final float textHeight = fm.descent - fm.ascent;
+            final float minBaseline = contentTop + Utils.convertDpToPixel(LABEL_CONTENT_TOP_GAP_DP) - fm.ascent;
+            final int placerFrom = placer != null ? placer.size : 0;
+
+            for (int k = 0; k < count; k++) {
+                final int j = from + k;
                 Entry e = dataSet.getEntryForIndex(j);
                 if (e == null) continue;
 
                 // skip outside current viewport X range
                 if (e.getX() < lowestVisibleX || e.getX() > highestVisibleX) continue;
-                if (!isEntryYWithinAxisBounds(provider, dataSet, e)) continue;
-
-                MPPointD pt = provider.getTransformer(dataSet.getAxisDependency())
-                        .getPixelForValues(e.getX(), e.getY() * phaseY);
-
-                if (!mViewPortHandler.isInBoundsRight((float) pt.x)) {
-                    MPPointD.recycleInstance(pt);
-                    break;
-                }
-                if (!mViewPortHandler.isInBoundsLeft((float) pt.x)) {
-                    MPPointD.recycleInstance(pt);
-                    continue;
+                if (!isYWithin(yBounds, e.getY())) continue;
+
+                final float px = points[k * 2];
+                final float py = points[k * 2 + 1];
+                if (!mViewPortHandler.isInBoundsRight(px)) break;
+                if (!mViewPortHandler.isInBoundsLeft(px)) continue;
+
+                // text / width 는 entry 가 처음 보일 때만 만든다
+                String text = cache.text(j);
+                if (text == null) {
+                    text = formatter.getFormattedValue(e.getY());
+                    cache.put(j, text, Utils.calcTextWidth(mValuePaint, text));
                 }
+                float textWidth = cache.width(j);
 
-                String text = dataSet.getValueFormatter().getFormattedValue(e.getY());
-
-                // measure text
-                float textWidth = Utils.calcTextWidth(mValuePaint, text);
-                Paint.FontMetrics fm = mValuePaint.getFontMetrics();
-                float textHeight = fm.descent - fm.ascent;
-
-                float x = (float) pt.x;
+                float x = px;
                 // Prefer drawing above the point, then keep the full text below contentTop.
-                float yAbove = (float) pt.y - (valOffset * LABEL_OFFSET_SCALE_ABOVE) - fm.descent;
-
-                float contentTop = fixedTopLabelMinTop(provider);
-                float contentBottom = mViewPortHandler.contentBottom();
-                float minBaseline = contentTop + Utils.convertDpToPixel(LABEL_CONTENT_TOP_GAP_DP) - fm.ascent;
+                float yAbove = py - (valOffset * LABEL_OFFSET_SCALE_ABOVE) - fm.descent;
                 float y = Math.max(yAbove, minBaseline);
 
                 // keep text horizontally within content rect to avoid clipping by view bounds
@@ -220,41 +519,53 @@ public class NoClipLineChartRenderer extends LineChartRenderer {
                 if (x + half > mViewPortHandler.contentRight()) x = mViewPortHandler.contentRight() - half;
 
                 // Debug logging for top-edge cases to diagnose missing labels
-                float topEpsPx = Utils.convertDpToPixel(TOP_EPS_DP);
-                float axisMax = Float.NaN;
-                if (provider instanceof BarLineChartBase) {
-                    BarLineChartBase<?> bl = (BarLineChartBase<?>) provider;
-                    axisMax = (dataSet.getAxisDependency() == YAxis.AxisDependency.LEFT)
-                            ? bl.getAxisLeft().getAxisMaximum()
-                            : bl.getAxisRight().getAxisMaximum();
-                } else if (provider instanceof LineChart) {
-                    LineChart lc = (LineChart) provider;
-                    axisMax = (dataSet.getAxisDependency() == YAxis.AxisDependency.LEFT)
-                            ? lc.getAxisLeft().getAxisMaximum()
-                            : lc.getAxisRight().getAxisMaximum();
-                }
                 boolean nearAxisMax = Math.abs(axisMax - e.getY()) <= 1e-4;
-                boolean nearTopEdge = (yAbove < contentTop + topEpsPx) || (float) pt.y <= contentTop + topEpsPx;
+                boolean nearTopEdge = (yAbove < contentTop + topEpsPx) || py <= contentTop + topEpsPx;
                 boolean deferDraw = false;
-                long key = makeKey(i, j);
                 if (nearAxisMax || nearTopEdge) {
-                    int color = dataSet.getValueTextColor(j);
-                    Log.d(TAG, String.format(
-                            "i=%d j=%d x=%.2f yVal=%.2f ptY=%.2f yAbove=%.2f chosenY=%.2f cTop=%.2f cBot=%.2f valOffset=%.2f txtH=%.2f axisMax=%.2f phaseY=%.2f text='%s' color=#%08X",
-                            i, j, e.getX(), e.getY(), pt.y, yAbove, y, contentTop, contentBottom, valOffset, textHeight, axisMax, phaseY, text, color
-                    ));
-                    // save for redraw on top in drawExtras
-                    pendingTopLabels.add(new PendingLabel(text, x, y, color, key));
+                    if (debug) {
+                        int color = dataSet.getValueTextColor(j);
+                        Log.d(TAG, String.format(
+                                "i=%d j=%d x=%.2f yVal=%.2f ptY=%.2f yAbove=%.2f chosenY=%.2f cTop=%.2f cBot=%.2f valOffset=%.2f txtH=%.2f axisMax=%.2f phaseY=%.2f text='%s' color=#%08X",
+                                i, j, e.getX(), e.getY(), py, yAbove, y, contentTop, contentBottom, valOffset, textHeight, axisMax, phaseY, text, color
+                        ));
+                    }
                     deferDraw = true; // avoid double drawing; draw later in overlay
                 }
 
-                if (!deferDraw) {
+                if (placer != null) {
+                    // 겹침 검사 뒤에 그린다
+                    placer.add(text, x, y, textWidth, fm, dataSet.getValueTextColor(j), cache, j, e.getY(), deferDraw);
+                } else if (deferDraw) {
+                    // save for redraw on top in drawExtras
+                    pendingTopLabels.add(text, x, y, dataSet.getValueTextColor(j), cache, j);
+                } else {
                     int color = dataSet.getValueTextColor(j);
-                    int faded = applyFadeToColor(color, key, SystemClock.uptimeMillis());
+                    int faded = applyFadeToColor(color, cache, j, now);
                     drawValue(c, text, x, y, faded);
                 }
+            }
+
+            if (placer != null) {
+                placer.prioritize(placerFrom, dataSet.getEntryCount() - 1);
+                if (provider instanceof Chart) {
+                    placer.prioritizeHighlighted((Chart<?>) provider, lineData, i, dataSet, placerFrom);
+                }
+                contentKey = contentKey * 31 + LineDecimator.signature(dataSet);
+                contentKey = contentKey * 31 + Float.floatToIntBits(mValuePaint.getTextSize());
+            }
+        }
 
-                MPPointD.recycleInstance(pt);
+        if (placer != null) {
+            placer.resolve(mViewPortHandler, contentKey);
+            for (int k = 0; k < placer.size; k++) {
+                if (!placer.isAccepted(k)) continue;
+                if (placer.deferred[k]) {
+                    pendingTopLabels.add(placer.texts[k], placer.xs[k], placer.ys[k], placer.colors[k], placer.caches[k], placer.entries[k]);
+                } else {
+                    int faded = applyFadeToColor(placer.colors[k], placer.caches[k], placer.entries[k], now);
+                    drawValue(c, placer.texts[k], placer.xs[k], placer.ys[k], faded);
+                }
             }
         }
         requestAnotherFrameIfFading();
@@ -271,7 +582,10 @@ public class NoClipLineChartRenderer extends LineChartRenderer {
         return marker.getFixedTopBottomPx();
     }
 
-    private boolean isEntryYWithinAxisBounds(LineDataProvider provider, ILineDataSet dataSet, Entry entry) {
+    // 축 min / max, 정해지지 않았으면 NaN. data set 마다 한 번만 구한다.
+    private final float[] yBoundsBuffer = new float[2];
+
+    private float[] axisYBounds(LineDataProvider provider, ILineDataSet dataSet) {
         float axisMin = Float.NaN;
         float axisMax = Float.NaN;
         if (provider instanceof BarLineChartBase) {
@@ -282,30 +596,56 @@ public class NoClipLineChartRenderer extends LineChartRenderer {
             axisMax = (dataSet.getAxisDependency() == YAxis.AxisDependency.LEFT)
                     ? chart.getAxisLeft().getAxisMaximum()
                     : chart.getAxisRight().getAxisMaximum();
-        } else if (provider instanceof LineChart) {
-            LineChart chart = (LineChart) provider;
-            axisMin = (dataSet.getAxisDependency() == YAxis.AxisDependency.LEFT)
-                    ? chart.getAxisLeft().getAxisMinimum()
-                    : chart.getAxisRight().getAxisMinimum();
-            axisMax = (dataSet.getAxisDependency() == YAxis.AxisDependency.LEFT)
-                    ? chart.getAxisLeft().getAxisMaximum()
-                    : chart.getAxisRight().getAxisMaximum();
         }
-        if (Float.isNaN(axisMin) || Float.isNaN(axisMax)) return true;
-        float y = entry.getY();
-        return y >= axisMin - 1e-4f && y <= axisMax + 1e-4f;
+        yBoundsBuffer[0] = axisMin;
+        yBoundsBuffer[1] = axisMax;
+        return yBoundsBuffer;
+    }
+
+    private static boolean isYWithin(float[] yBounds, float y) {
+        if (Float.isNaN(yBounds[0]) || Float.isNaN(yBounds[1])) return true;
+        return y >= yBounds[0] - 1e-4f && y <= yBounds[1] + 1e-4f;
+    }
+
+    // 보이는 점의 픽셀 좌표 (x0, y0, x1, y1 ...), 프레임 간 재사용
+    private float[] visiblePoints = new float[0];
+
+    /**
+     * Transforms the entries [from, to] of {@code dataSet} into {@link #visiblePoints} with one matrix pass.
+     *
+     * @return number of points written
+     */
+    private int transformVisible(ILineDataSet dataSet, int from, int to, float phaseY) {
+        to = Math.min(to, dataSet.getEntryCount() - 1);
+        int count = to - from + 1;
+        if (count <= 0) {
+            return 0;
+        }
+        if (visiblePoints.length < count * 2) {
+            visiblePoints = new float[count * 2];
+        }
+
+        final float[] points = visiblePoints;
+        for (int j = from, k = 0; j <= to; j++, k += 2) {
+            Entry e = dataSet.getEntryForIndex(j);
+            points[k] = e.getX();
+            points[k + 1] = e.getY() * phaseY;
+        }
+        // pointValuesToPixel 은 배열 전체를 변환하므로 같은 행렬로 필요한 구간만 변환한다.
+        mChart.getTransformer(dataSet.getAxisDependency()).getValueToPixelMatrix().mapPoints(points, 0, points, 0, count);
+        return count;
     }
 
     /** Draw pending top-edge labels after all renderers have drawn, with no outline. */
     public void drawTopLabelsOverlay(Canvas c) {
-        if (pendingTopLabels.isEmpty()) return;
+        final PendingLabels labels = pendingTopLabels;
+        if (labels.size == 0) return;
         long now = SystemClock.uptimeMillis();
-        for (PendingLabel pl : pendingTopLabels) {
-            int faded = applyFadeToColor(pl.color, pl.key, now);
-            drawValue(c, pl.text, pl.x, pl.y, faded);
+        for (int k = 0; k < labels.size; k++) {
+            int faded = applyFadeToColor(labels.colors[k], labels.caches[k], labels.entries[k], now);
+            drawValue(c, labels.texts[k], labels.xs[k], labels.ys[k], faded);
         }
-        pendingTopLabels.clear();
-        cleanupFadeState();
+        labels.clear();
         requestAnotherFrameIfFading();
     }
 
@@ -366,30 +706,34 @@ public class NoClipLineChartRenderer extends LineChartRenderer {
             return;
         }
 
-        final float phaseX = mAnimator.getPhaseX();
         final float phaseY = mAnimator.getPhaseY();
 
         for (int i = 0; i < lineData.getDataSetCount(); i++) {
             ILineDataSet dataSet = lineData.getDataSetByIndex(i);
             if (dataSet == null || !dataSet.isVisible() || !dataSet.isDrawCirclesEnabled()) continue;
 
-            final int entryCount = Math.min((int) Math.ceil(dataSet.getEntryCount() * phaseX), dataSet.getEntryCount());
-            for (int j = 0; j < entryCount; j++) {
+            mXBounds.set(provider, dataSet);
+            final int from = mXBounds.min;
+            // 원은 phaseY 없이 그린다
+            final int count = transformVisible(dataSet, from, mXBounds.min + mXBounds.range, 1f);
+            final float[] points = visiblePoints;
+            final float[] yBounds = axisYBounds(provider, dataSet);
+
+            final float r = dataSet.getCircleRadius();
+            final int circleColorCount = dataSet.getCircleColorCount();
+            for (int k = 0; k < count; k++) {
+                final int j = from + k;
                 Entry e = dataSet.getEntryForIndex(j);
                 if (e == null) continue;
-                if (!isEntryYWithinAxisBounds(provider, dataSet, e)) continue;
-                MPPointD pt = provider.getTransformer(dataSet.getAxisDependency())
-                        .getPixelForValues(e.getX(), e.getY());
+                if (!isYWithin(yBounds, e.getY())) continue;
 
-                float x = (float) pt.x;
-                float y = (float) pt.y;
+                float x = points[k * 2];
+                float y = points[k * 2 + 1];
 
-                float r = dataSet.getCircleRadius();
-                if (x > mViewPortHandler.contentRight() + r) { MPPointD.recycleInstance(pt); break; }
-                if (x < mViewPortHandler.contentLeft() - r)  { MPPointD.recycleInstance(pt); continue; }
+                if (x > mViewPortHandler.contentRight() + r) break;
+                if (x < mViewPortHandler.contentLeft() - r) continue;
 
                 mRenderPaint.setStyle(Paint.Style.FILL);
-                int circleColorCount = dataSet.getCircleColorCount();
                 int circleIdx = circleColorCount > 0 ? (j % circleColorCount) : 0;
                 int circleColor = circleColorCount > 0 ? dataSet.getCircleColor(circleIdx) : dataSet.getColor();
                 mRenderPaint.setColor(circleColor);
@@ -403,8 +747,6 @@ public class NoClipLineChartRenderer extends LineChartRenderer {
                         c.drawCircle(x, y, hr, mRenderPaint);
                     }
                 }
-
-                MPPointD.recycleInstance(pt);
             }
         }
 
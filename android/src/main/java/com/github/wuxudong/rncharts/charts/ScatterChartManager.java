@@ -23,6 +23,7 @@ public class ScatterChartManager extends BarLineChartBaseManager<ScatterChart, E
         scatterChart.setOnChartGestureListener(new RNOnChartGestureListener(scatterChart));
         // Enable marker dragging by default for consistency with iOS
         scatterChart.setHighlightPerDragEnabled(true);
+        scatterChart.setRenderer(new AtfleeScatterChartRenderer(scatterChart, scatterChart.getAnimator(), scatterChart.getViewPortHandler()));
         return scatterChart;
     }
 
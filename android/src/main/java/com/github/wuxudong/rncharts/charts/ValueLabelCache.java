@@ -0,0 +1,135 @@
+package com.github.wuxudong.rncharts.charts;
+
+import android.graphics.Paint;
+import android.graphics.Typeface;
+
+import com.github.mikephil.charting.formatter.ValueFormatter;
+import com.github.mikephil.charting.interfaces.datasets.IDataSet;
+import com.github.wuxudong.rncharts.data.FloatArrayDataSet;
+import com.github.wuxudong.rncharts.data.FloatArrayStore;
+
+import java.util.Arrays;
+
+/**
+ * Value label text and width per entry of the data set drawn at one data set index, kept across frames.
+ *
+ * - 패닝 중에는 같은 entry 의 라벨이 바뀌지 않으므로 formatter / calcTextWidth 는 처음 보일 때 한 번만 부른다.
+ * - data set (객체 / 내용), formatter, 글꼴 / 글자 크기가 바뀌면 text 와 폭을 버린다.
+ * - fade-in 상태는 data set index 기준이라 data 가 다시 와도 유지된다 (이전 (dataSetIndex, entryIndex) key 와 같은 의미).
+ * - ring buffer stream 은 push 마다 index 가 밀리므로 store 의 sequence 번호 (getFirstSequence() + index) 로 slot 을
+ *   찾는다. push 로 들어온 row 의 slot 만 비우고, push 가 아닌 변경 (getRewriteVersion) 때만 모두 버린다.
+ */
+final class ValueLabelCache {
+
+    private static final String[] NO_TEXTS = new String[0];
+    private static final float[] NO_WIDTHS = new float[0];
+    private static final long[] NO_TIMES = new long[0];
+    private static final int[] NO_PASSES = new int[0];
+
+    private String[] texts = NO_TEXTS;
+    private float[] widths = NO_WIDTHS;
+
+    // fade-in: 처음 보인 시각과 마지막으로 보인 pass
+    private long[] appearTimes = NO_TIMES;
+    private int[] seenPasses = NO_PASSES;
+
+    private IDataSet<?> dataSet;
+    private long signature;
+    // stream 이면 slot = (base + index) % texts.length, 아니면 base 는 0 이고 slot 은 index 이다
+    private FloatArrayStore stream;
+    private long base;
+    // 마지막 validate 때 store 의 끝 sequence
+    private long end;
+    private ValueFormatter formatter;
+    private Typeface typeface;
+    private float textSize;
+
+    /**
+     * Font metrics of the value paint, refreshed with the style.
+     */
+    final Paint.FontMetrics metrics = new Paint.FontMetrics();
+
+    /**
+     * Drops stale labels; call once per data set per frame after the value text style is applied to {@code paint}.
+     */
+    void validate(IDataSet<?> dataSet, Paint paint) {
+        FloatArrayStore store = dataSet instanceof FloatArrayDataSet ? ((FloatArrayDataSet) dataSet).getStore() : null;
+        FloatArrayStore stream = store != null && store.getCapacity() > 0 ? store : null;
+        // stream 은 push 로는 바뀌지 않는 rewrite version 을 쓴다
+        long signature = stream != null
+                ? System.identityHashCode(dataSet) * 31L + stream.getRewriteVersion()
+                : LineDecimator.signature(dataSet);
+        ValueFormatter formatter = dataSet.getValueFormatter();
+        boolean styleChanged = paint.getTypeface() != typeface || paint.getTextSize() != textSize;
+
+        if (dataSet != this.dataSet || signature != this.signature || formatter != this.formatter || styleChanged
+                || (stream != null && texts.length < stream.getCapacity())) {
+            this.dataSet = dataSet;
+            this.signature = signature;
+            this.formatter = formatter;
+            this.typeface = paint.getTypeface();
+            this.textSize = paint.getTextSize();
+            paint.getFontMetrics(metrics);
+
+            int n = stream != null ? stream.getCapacity() : dataSet.getEntryCount();
+            if (texts.length < n) {
+                texts = new String[n];
+                widths = new float[n];
+            } else {
+                Arrays.fill(texts, null);
+            }
+            if (appearTimes.length < n) {
+                appearTimes = Arrays.copyOf(appearTimes, n);
+                seenPasses = Arrays.copyOf(seenPasses, n);
+            }
+            this.stream = stream;
+            base = stream != null ? stream.getFirstSequence() : 0;
+            end = stream != null ? base + stream.size() : 0;
+        } else if (stream != null) {
+            // push 된 row 만 비운다. 밀려난 row 의 slot 은 새 row 가 다시 쓴다
+            long first = stream.getFirstSequence();
+            long last = first + stream.size();
+            for (long seq = Math.max(end, first); seq < last; seq++) {
+                int slot = (int) (seq % texts.length);
+                texts[slot] = null;
+                seenPasses[slot] = 0;
+            }
+            base = first;
+            end = last;
+        }
+    }
+
+    private int slot(int index) {
+        return stream != null ? (int) ((base + index) % texts.length) : index;
+    }
+
+    /**
+     * Cached text of entry {@code index}, or null when it has not been formatted yet.
+     */
+    String text(int index) {
+        return texts[slot(index)];
+    }
+
+    float width(int index) {
+        return widths[slot(index)];
+    }
+
+    void put(int index, String text, float width) {
+        int slot = slot(index);
+        texts[slot] = text;
+        widths[slot] = width;
+    }
+
+    /**
+     * Time entry {@code index} became visible; restarts when it was not drawn in the previous pass.
+     */
+    long appearTime(int index, int pass, long now) {
+        int slot = slot(index);
+        int seen = seenPasses[slot];
+        if (seen == 0 || seen < pass - 1) {
+            appearTimes[slot] = now;
+        }
+        seenPasses[slot] = pass;
+        return appearTimes[slot];
+    }
+}
@@ -0,0 +1,49 @@
+package com.github.wuxudong.rncharts.charts;
+
+import android.graphics.RectF;
+
+import com.github.mikephil.charting.charts.BarLineChartBase;
+import com.github.mikephil.charting.components.YAxis;
+import com.github.mikephil.charting.jobs.ZoomJob;
+import com.github.mikephil.charting.utils.MPPointD;
+
+/**
+ * x 범위가 바뀌면 같은 touch matrix 라도 보이는 구간이 달라지므로,
+ * 변경 전 보이던 중심/가시 x 범위를 기억했다가 그대로 되돌린다.
+ */
+final class ViewportLock {
+    private final float centerX;
+    private final float centerY;
+    private final float visibleXRange;
+    private final YAxis.AxisDependency axisDependency;
+
+    private ViewportLock(float centerX, float centerY, float visibleXRange, YAxis.AxisDependency axisDependency) {
+        this.centerX = centerX;
+        this.centerY = centerY;
+        this.visibleXRange = visibleXRange;
+        this.axisDependency = axisDependency;
+    }
+
+    static ViewportLock capture(BarLineChartBase chart) {
+        RectF contentRect = chart.getViewPortHandler().getContentRect();
+        if (chart.getData() == null || contentRect.width() <= 0 || chart.getVisibleXRange() <= 0) {
+            return new ViewportLock(0, 0, 0, YAxis.AxisDependency.LEFT);
+        }
+
+        YAxis.AxisDependency axisDependency = chart.getAxisLeft().isEnabled() ? YAxis.AxisDependency.LEFT : YAxis.AxisDependency.RIGHT;
+        MPPointD center = chart.getValuesByTouchPoint(contentRect.centerX(), contentRect.centerY(), axisDependency);
+        ViewportLock lock = new ViewportLock((float) center.x, (float) center.y, chart.getVisibleXRange(), axisDependency);
+        MPPointD.recycleInstance(center);
+        return lock;
+    }
+
+    void restore(BarLineChartBase chart) {
+        float newVisibleXRange = chart.getVisibleXRange();
+        if (visibleXRange <= 0 || newVisibleXRange <= 0 || Float.isNaN(newVisibleXRange)) {
+            return;
+        }
+
+        ZoomJob.getInstance(chart.getViewPortHandler(), newVisibleXRange / visibleXRange, 1f, centerX, centerY,
+                chart.getTransformer(axisDependency), axisDependency, chart).run();
+    }
+}
@@ -0,0 +1,178 @@
+package com.github.wuxudong.rncharts.charts;
+
+import com.github.mikephil.charting.charts.BarLineChartBase;
+import com.github.mikephil.charting.components.YAxis;
+import com.github.mikephil.charting.data.ChartData;
+import com.github.mikephil.charting.utils.Transformer;
+import com.github.mikephil.charting.utils.ViewPortHandler;
+
+import java.util.Arrays;
+
+/**
+ * Visible viewport of a chart in value space (left axis), computed once per matrix change.
+ *
+ * 한 번의 translate 동안 이벤트 payload, edge label, 감속 클램핑, group sync, edge formatter 가 모두 같은 값을 쓰므로
+ * getValuesByTouchPoint (역변환 + MPPointD 할당) 를 각자 부르지 않고 여기서 한 번만 계산한다.
+ * value→pixel matrix, content rect, data x 범위가 그대로면 (stamp) 이전 값을 그대로 돌려준다. UI thread 전용.
+ */
+public final class ViewportSnapshot {
+
+    private static final int STAMP_SIZE = 9 + 4 + 4;
+
+    private final float[] stamp = new float[STAMP_SIZE];
+    private final float[] scratch = new float[STAMP_SIZE];
+    private final float[] points = new float[6];
+    private boolean valid = false;
+    private long version = 0;
+
+    private float scaleX;
+    private float scaleY;
+    private double centerX;
+    private double centerY;
+    private double rawLeft;
+    private double rawRight;
+    private double bottom;
+    private double top;
+    private double allowedMin;
+    private double allowedMax;
+    private double left;
+    private double right;
+
+    private ViewportSnapshot() {
+    }
+
+    /**
+     * Snapshot of the current viewport of {@code chart}, recomputed only when its matrix or x bounds changed.
+     */
+    public static ViewportSnapshot of(BarLineChartBase chart) {
+        ChartRuntimeState state = ChartRuntimeState.of(chart);
+        ViewportSnapshot snapshot = state.viewport;
+        if (snapshot == null) {
+            snapshot = new ViewportSnapshot();
+            state.viewport = snapshot;
+        }
+        snapshot.update(chart);
+        return snapshot;
+    }
+
+    private void update(BarLineChartBase chart) {
+        ViewPortHandler handler = chart.getViewPortHandler();
+        Transformer transformer = chart.getTransformer(YAxis.AxisDependency.LEFT);
+        ChartData data = chart.getData();
+        float spaceMin = chart.getXAxis().getSpaceMin();
+        float spaceMax = chart.getXAxis().getSpaceMax();
+        // data 가 없을 때는 getEvent 의 이전 동작대로 사실상 클램핑하지 않는다
+        float minX = data != null ? data.getXMin() : Float.MIN_VALUE;
+        float maxX = data != null ? data.getXMax() : Float.MAX_VALUE;
+
+        transformer.getValueToPixelMatrix().getValues(scratch);
+        scratch[9] = handler.contentLeft();
+        scratch[10] = handler.contentTop();
+        scratch[11] = handler.contentRight();
+        scratch[12] = handler.contentBottom();
+        scratch[13] = minX;
+        scratch[14] = maxX;
+        scratch[15] = spaceMin;
+        scratch[16] = spaceMax;
+        if (valid && Arrays.equals(scratch, stamp)) {
+            return;
+        }
+        System.arraycopy(scratch, 0, stamp, 0, STAMP_SIZE);
+        valid = true;
+        version++;
+
+        points[0] = handler.contentLeft();
+        points[1] = handler.contentBottom();
+        points[2] = handler.contentRight();
+        points[3] = handler.contentTop();
+        points[4] = handler.getContentRect().centerX();
+        points[5] = handler.getContentRect().centerY();
+        transformer.pixelsToValue(points);
+
+        scaleX = handler.getScaleX();
+        scaleY = handler.getScaleY();
+        rawLeft = points[0];
+        bottom = points[1];
+        rawRight = points[2];
+        top = points[3];
+        centerX = points[4];
+        centerY = points[5];
+
+        allowedMin = (double) minX - spaceMin;
+        allowedMax = (double) maxX + spaceMax;
+
+        // 보이는 폭은 유지하고 data 경계 안으로 민다
+        double width = rawRight - rawLeft;
+        left = rawLeft;
+        right = rawRight;
+        if (left < allowedMin) {
+            left = allowedMin;
+            right = left + width;
+        }
+        if (right > allowedMax) {
+            right = allowedMax;
+            left = right - width;
+        }
+        if (left < allowedMin) left = allowedMin;
+        if (right > allowedMax) right = allowedMax;
+    }
+
+    /**
+     * Changes whenever the snapshot was recomputed; consumers can cache derived values against it.
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    public float getScaleX() {
+        return scaleX;
+    }
+
+    public float getScaleY() {
+        return scaleY;
+    }
+
+    public double getCenterX() {
+        return centerX;
+    }
+
+    public double getCenterY() {
+        return centerY;
+    }
+
+    /** x at the left edge of the content rect, not clamped. */
+    public double getRawLeft() {
+        return rawLeft;
+    }
+
+    /** x at the right edge of the content rect, not clamped. */
+    public double getRawRight() {
+        return rawRight;
+    }
+
+    public double getBottom() {
+        return bottom;
+    }
+
+    public double getTop() {
+        return top;
+    }
+
+    /** Lowest x the viewport may show: data x min minus the axis space. */
+    public double getAllowedMin() {
+        return allowedMin;
+    }
+
+    public double getAllowedMax() {
+        return allowedMax;
+    }
+
+    /** Visible left x, shifted inside [allowedMin, allowedMax] keeping the visible width. */
+    public double getLeft() {
+        return left;
+    }
+
+    public double getRight() {
+        return right;
+    }
+}
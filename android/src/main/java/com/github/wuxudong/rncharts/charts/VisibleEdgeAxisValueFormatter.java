@@ -3,10 +3,8 @@ package com.github.wuxudong.rncharts.charts;
 import android.util.Log;
 
 import com.github.mikephil.charting.charts.BarLineChartBase;
-import com.github.mikephil.charting.components.YAxis;
 import com.github.mikephil.charting.data.Entry;
 import com.github.mikephil.charting.formatter.ValueFormatter;
-import com.github.mikephil.charting.utils.MPPointD;
 import com.github.mikephil.charting.utils.ViewPortHandler;
 
 public class VisibleEdgeAxisValueFormatter extends ValueFormatter {
@@ -38,12 +36,10 @@ public class VisibleEdgeAxisValueFormatter extends ValueFormatter {
 
         ViewPortHandler handler = chart.getViewPortHandler();
         if (handler != null) {
-            MPPointD leftBottom = chart.getValuesByTouchPoint(handler.contentLeft(), handler.contentBottom(), YAxis.AxisDependency.LEFT);
-            MPPointD rightTop = chart.getValuesByTouchPoint(handler.contentRight(), handler.contentTop(), YAxis.AxisDependency.LEFT);
-            lowest = (float) leftBottom.x;
-            highest = (float) rightTop.x;
-            MPPointD.recycleInstance(leftBottom);
-            MPPointD.recycleInstance(rightTop);
+            // 축 라벨마다 불리므로 역변환 없이 이번 matrix 의 snapshot 을 읽는다
+            ViewportSnapshot viewport = ViewportSnapshot.of(chart);
+            lowest = (float) viewport.getRawLeft();
+            highest = (float) viewport.getRawRight();
         } else {
             lowest = chart.getLowestVisibleX();
             highest = chart.getHighestVisibleX();
@@ -11,26 +11,15 @@ import com.github.mikephil.charting.charts.BarLineChartBase;
 import com.github.mikephil.charting.charts.Chart;
 import com.github.mikephil.charting.components.XAxis;
 import com.github.mikephil.charting.components.IMarker;
-import com.github.mikephil.charting.components.YAxis;
 import com.github.mikephil.charting.formatter.ValueFormatter;
-import com.github.mikephil.charting.utils.MPPointD;
-import com.github.mikephil.charting.utils.ViewPortHandler;
+import com.github.wuxudong.rncharts.charts.ChartRuntimeState;
+import com.github.wuxudong.rncharts.charts.ViewportSnapshot;
 import com.github.wuxudong.rncharts.markers.RNAtfleeMarkerView;
 
 /** Helper for fixed edge labels overlayed on the chart. */
 public class EdgeLabelHelper {
     private static final float PADDING_DP_LEFT = 8f;
     private static final float PADDING_DP_RIGHT = 12f;
-    private static java.util.WeakHashMap<BarLineChartBase, Boolean> enabledMap = new java.util.WeakHashMap<>();
-    private static java.util.WeakHashMap<BarLineChartBase, Boolean> explicitMap = new java.util.WeakHashMap<>();
-    private static java.util.WeakHashMap<BarLineChartBase, ValueFormatter> edgeFormatterMap = new java.util.WeakHashMap<>();
-    private static java.util.WeakHashMap<BarLineChartBase, Float> maxVisibleValueCountMap = new java.util.WeakHashMap<>();
-    // orientation override: null means auto-detect
-    private static java.util.WeakHashMap<BarLineChartBase, Boolean> landscapeOverrideMap = new java.util.WeakHashMap<>();
-    // remembers user-specified drawLabels flag for xAxis
-    private static java.util.WeakHashMap<BarLineChartBase, Boolean> userDrawLabelsMap = new java.util.WeakHashMap<>();
-    private static java.util.WeakHashMap<BarLineChartBase, float[]> baseOffsets = new java.util.WeakHashMap<>();
-    private static java.util.WeakHashMap<BarLineChartBase, View.OnLayoutChangeListener> layoutListeners = new java.util.WeakHashMap<>();
     private static String leftTag(Chart chart) {
         return "edgeLabelLeft-" + chart.getId();
     }
@@ -45,8 +34,28 @@ public class EdgeLabelHelper {
                 view.getResources().getDisplayMetrics()));
     }
 
+    /**
+     * Removes the edge label views and the layout listener of a chart view that is being dropped;
+     * the settings go with its {@link ChartRuntimeState}.
+     */
+    public static void release(BarLineChartBase chart) {
+        ChartRuntimeState state = ChartRuntimeState.peek(chart);
+        if (state != null && state.edgeLayoutListener != null) {
+            chart.removeOnLayoutChangeListener(state.edgeLayoutListener);
+            state.edgeLayoutListener = null;
+        }
+        if (chart.getParent() instanceof ViewGroup) {
+            ViewGroup parent = (ViewGroup) chart.getParent();
+            View left = parent.findViewWithTag(leftTag(chart));
+            View right = parent.findViewWithTag(rightTag(chart));
+            if (left != null) parent.removeView(left);
+            if (right != null) parent.removeView(right);
+        }
+    }
+
     public static void setEnabled(BarLineChartBase chart, boolean enabled) {
-        enabledMap.put(chart, enabled);
+        ChartRuntimeState state = ChartRuntimeState.of(chart);
+        state.edgeLabelEnabled = enabled;
         ViewGroup parent = (ViewGroup) chart.getParent();
         if (parent == null) {
             chart.addOnAttachStateChangeListener(new View.OnAttachStateChangeListener() {
@@ -61,13 +70,13 @@ public class EdgeLabelHelper {
 
         TextView left = parent.findViewWithTag(leftTag(chart));
         TextView right = parent.findViewWithTag(rightTag(chart));
-        OnLayoutChangeListener listener = layoutListeners.get(chart);
+        OnLayoutChangeListener listener = state.edgeLayoutListener;
         if (!enabled) {
             if (left != null) parent.removeView(left);
             if (right != null) parent.removeView(right);
             if (listener != null) {
                 chart.removeOnLayoutChangeListener(listener);
-                layoutListeners.remove(chart);
+                state.edgeLayoutListener = null;
             }
             applyPadding(chart);
             return;
@@ -115,7 +124,7 @@ public class EdgeLabelHelper {
                 }
             };
             chart.addOnLayoutChangeListener(listener);
-            layoutListeners.put(chart, listener);
+            state.edgeLayoutListener = listener;
         }
 
         style(chart);
@@ -185,7 +194,7 @@ public class EdgeLabelHelper {
         TextView right = parent.findViewWithTag(rightTag(bar));
         if (left == null || right == null) return;
 
-        ValueFormatter vf = edgeFormatterMap.get(bar);
+        ValueFormatter vf = ChartRuntimeState.of(bar).edgeFormatter;
         if (vf == null) {
             vf = bar.getXAxis().getValueFormatter();
         }
@@ -216,11 +225,11 @@ public class EdgeLabelHelper {
     }
 
     public static void saveBaseOffsets(BarLineChartBase chart, float left, float top, float right, float bottom) {
-        baseOffsets.put(chart, new float[]{left, top, right, bottom});
+        ChartRuntimeState.of(chart).baseOffsets = new float[]{left, top, right, bottom};
     }
 
     private static float[] base(BarLineChartBase chart) {
-        float[] b = baseOffsets.get(chart);
+        float[] b = ChartRuntimeState.of(chart).baseOffsets;
         if (b == null) {
             b = new float[]{0f, 0f, 0f, 0f};
         }
@@ -228,8 +237,7 @@ public class EdgeLabelHelper {
     }
 
     private static boolean isEnabled(BarLineChartBase chart) {
-        Boolean e = enabledMap.get(chart);
-        return e != null && e;
+        return ChartRuntimeState.of(chart).edgeLabelEnabled;
     }
 
     private static int overlayHeight(BarLineChartBase chart) {
@@ -263,28 +271,20 @@ public class EdgeLabelHelper {
 
     /** Saves explicit edgeLabelEnabled flag coming from JS. */
     public static void setExplicitFlag(BarLineChartBase chart, Boolean explicit) {
-        if (explicit == null) {
-            explicitMap.remove(chart);
-        } else {
-            explicitMap.put(chart, explicit);
-        }
+        ChartRuntimeState.of(chart).edgeLabelExplicit = explicit;
     }
 
     /** Returns explicit flag if provided; otherwise null (auto). */
     public static java.lang.Boolean getExplicitFlag(BarLineChartBase chart) {
-        return explicitMap.get(chart);
+        return ChartRuntimeState.of(chart).edgeLabelExplicit;
     }
 
     public static void setEdgeValueFormatter(BarLineChartBase chart, ValueFormatter formatter) {
-        if (formatter == null) {
-            edgeFormatterMap.remove(chart);
-        } else {
-            edgeFormatterMap.put(chart, formatter);
-        }
+        ChartRuntimeState.of(chart).edgeFormatter = formatter;
     }
 
     public static java.lang.Boolean hasEdgeValueFormatter(BarLineChartBase chart) {
-        return edgeFormatterMap.containsKey(chart);
+        return ChartRuntimeState.of(chart).edgeFormatter != null;
     }
 
     public static float getVisibleXSpan(BarLineChartBase chart) {
@@ -295,35 +295,9 @@ public class EdgeLabelHelper {
         if (totalEntries < 1) return 0f;
 
         float visibleSpan = totalEntries;
-        ViewPortHandler handler = chart.getViewPortHandler();
-        if (handler != null) {
-            MPPointD leftBottom = chart.getValuesByTouchPoint(
-                    handler.contentLeft(),
-                    handler.contentBottom(),
-                    YAxis.AxisDependency.LEFT);
-            MPPointD rightTop = chart.getValuesByTouchPoint(
-                    handler.contentRight(),
-                    handler.contentTop(),
-                    YAxis.AxisDependency.LEFT);
-            double originalWidth = rightTop.x - leftBottom.x;
-            double leftValue = leftBottom.x;
-            double rightValue = rightTop.x;
-            double allowedMin = data.getXMin() - chart.getXAxis().getSpaceMin();
-            double allowedMax = data.getXMax() + chart.getXAxis().getSpaceMax();
-
-            if (leftValue < allowedMin) {
-                leftValue = allowedMin;
-                rightValue = leftValue + originalWidth;
-            }
-            if (rightValue > allowedMax) {
-                rightValue = allowedMax;
-                leftValue = rightValue - originalWidth;
-            }
-            if (leftValue < allowedMin) leftValue = allowedMin;
-            if (rightValue > allowedMax) rightValue = allowedMax;
-            visibleSpan = (float) Math.max(rightValue - leftValue, 0d);
-            MPPointD.recycleInstance(leftBottom);
-            MPPointD.recycleInstance(rightTop);
+        if (chart.getViewPortHandler() != null) {
+            ViewportSnapshot viewport = ViewportSnapshot.of(chart);
+            visibleSpan = (float) Math.max(viewport.getRight() - viewport.getLeft(), 0d);
         }
 
         if (visibleSpan < 1f) visibleSpan = 1f;
@@ -334,49 +308,48 @@ public class EdgeLabelHelper {
     public static boolean shouldShowValues(BarLineChartBase chart) {
         float visibleSpan = getVisibleXSpan(chart);
         if (visibleSpan <= 0f) return false;
+        ChartRuntimeState state = ChartRuntimeState.of(chart);
+        if (state.valueLabelCollision) return true;
 
-        java.lang.Boolean landscapeOverride = getLandscapeOverride(chart);
+        java.lang.Boolean landscapeOverride = state.landscapeOverride;
         boolean isLandscape = landscapeOverride != null
                 ? landscapeOverride.booleanValue()
                 : (chart.getWidth() > chart.getHeight());
-        Float threshold = maxVisibleValueCountMap.get(chart);
-        float maxVisibleValueCount = threshold != null ? threshold.floatValue() : (isLandscape ? 15f : 8f);
+        float threshold = state.maxVisibleValueCount;
+        float maxVisibleValueCount = threshold > 0f ? threshold : (isLandscape ? 15f : 8f);
         return visibleSpan <= maxVisibleValueCount;
     }
 
     public static void setMaxVisibleValueCount(BarLineChartBase chart, float count) {
-        if (count > 0f) {
-            maxVisibleValueCountMap.put(chart, count);
-        } else {
-            maxVisibleValueCountMap.remove(chart);
-        }
+        ChartRuntimeState.of(chart).maxVisibleValueCount = count > 0f ? count : 0f;
+    }
+
+    /** Keeps value labels on at every zoom; the renderers drop the overlapping ones instead. */
+    public static void setValueLabelCollision(BarLineChartBase chart, boolean enabled) {
+        ChartRuntimeState.of(chart).valueLabelCollision = enabled;
+    }
+
+    public static boolean isValueLabelCollision(BarLineChartBase chart) {
+        return ChartRuntimeState.of(chart).valueLabelCollision;
     }
 
     /** Stores optional landscape override flag from JS. */
     public static void setLandscapeOverride(BarLineChartBase chart, java.lang.Boolean landscape) {
-        if (landscape == null) {
-            landscapeOverrideMap.remove(chart);
-        } else {
-            landscapeOverrideMap.put(chart, landscape);
-        }
+        ChartRuntimeState.of(chart).landscapeOverride = landscape;
     }
 
     /** Returns landscape override if provided; otherwise null. */
     public static java.lang.Boolean getLandscapeOverride(BarLineChartBase chart) {
-        return landscapeOverrideMap.get(chart);
+        return ChartRuntimeState.of(chart).landscapeOverride;
     }
 
     /** Remembers user-specified drawLabels flag for xAxis. */
     public static void setUserDrawLabels(BarLineChartBase chart, java.lang.Boolean enabled) {
-        if (enabled == null) {
-            userDrawLabelsMap.remove(chart);
-        } else {
-            userDrawLabelsMap.put(chart, enabled);
-        }
+        ChartRuntimeState.of(chart).userDrawLabels = enabled;
     }
 
     /** Returns user-specified drawLabels flag for xAxis, or null if not provided. */
     public static java.lang.Boolean getUserDrawLabels(BarLineChartBase chart) {
-        return userDrawLabelsMap.get(chart);
+        return ChartRuntimeState.of(chart).userDrawLabels;
     }
 }
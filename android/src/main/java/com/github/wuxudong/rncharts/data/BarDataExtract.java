@@ -11,7 +11,6 @@ import com.github.wuxudong.rncharts.data.AtfleeBarDataSet;
 import com.github.mikephil.charting.interfaces.datasets.IDataSet;
 import com.github.wuxudong.rncharts.utils.BridgeUtils;
 import com.github.wuxudong.rncharts.utils.ChartDataSetConfigUtils;
-import com.github.wuxudong.rncharts.utils.ConversionUtil;
 
 import java.util.ArrayList;
 
@@ -50,7 +49,7 @@ public class BarDataExtract extends DataExtract<BarData, BarEntry> {
                 throw new IllegalArgumentException("Unexpected entry type: " + values.getType(index));
             }
 
-            entry.setData(ConversionUtil.toMap(map));
+            entry.setData(metadata(map));
 
         } else if (ReadableType.Array.equals(values.getType(index))) {
             entry = new BarEntry(x, BridgeUtils.convertToFloatArray(values.getArray(index)));
@@ -105,4 +104,31 @@ public class BarDataExtract extends DataExtract<BarData, BarEntry> {
 
 
     }
+
+    @Override
+    IDataSet<BarEntry> createPackedDataSet(PackedValues packed, String label) {
+        FloatArrayStore.Kind kind = packed.hasTuples(PackedValues.STACKS)
+                ? FloatArrayStore.Kind.STACKED_BAR : FloatArrayStore.Kind.BAR;
+        return new FloatArrayBarDataSet(FloatArrayStore.of(packed, kind), label);
+    }
+
+    @Override
+    IDataSet<BarEntry> copyWithValues(IDataSet<BarEntry> previous, String label) {
+        if (previous instanceof FloatArrayBarDataSet) {
+            return new FloatArrayBarDataSet(((FloatArrayBarDataSet) previous).getStore(), label);
+        }
+        return super.copyWithValues(previous, label);
+    }
+
+    @Override
+    BarEntry createPackedEntry(PackedValues packed, int index, float x) {
+        if (packed.hasTuples(PackedValues.STACKS)) {
+            float[] stack = new float[packed.getStride()];
+            for (int k = 0; k < stack.length; k++) {
+                stack[k] = packed.getTuple(index, k);
+            }
+            return new BarEntry(x, stack);
+        }
+        return new BarEntry(x, packed.getY(index));
+    }
 }
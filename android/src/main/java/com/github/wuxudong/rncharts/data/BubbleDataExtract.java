@@ -10,7 +10,6 @@ import com.github.mikephil.charting.data.BubbleEntry;
 import com.github.mikephil.charting.interfaces.datasets.IDataSet;
 import com.github.wuxudong.rncharts.utils.BridgeUtils;
 import com.github.wuxudong.rncharts.utils.ChartDataSetConfigUtils;
-import com.github.wuxudong.rncharts.utils.ConversionUtil;
 
 import java.util.ArrayList;
 
@@ -67,8 +66,29 @@ public class BubbleDataExtract extends DataExtract<BubbleData, BubbleEntry> {
         float y = (float) map.getDouble("y");
         float size = (float) map.getDouble("size");
 
-        BubbleEntry bubbleEntry = new BubbleEntry(x, y, size, ConversionUtil.toMap(map));
+        BubbleEntry bubbleEntry = new BubbleEntry(x, y, size, metadata(map));
 
         return bubbleEntry;
     }
+
+    @Override
+    IDataSet<BubbleEntry> createPackedDataSet(PackedValues packed, String label) {
+        return new FloatArrayBubbleDataSet(FloatArrayStore.of(packed, FloatArrayStore.Kind.BUBBLE), label);
+    }
+
+    @Override
+    IDataSet<BubbleEntry> copyWithValues(IDataSet<BubbleEntry> previous, String label) {
+        if (previous instanceof FloatArrayBubbleDataSet) {
+            return new FloatArrayBubbleDataSet(((FloatArrayBubbleDataSet) previous).getStore(), label);
+        }
+        return super.copyWithValues(previous, label);
+    }
+
+    @Override
+    BubbleEntry createPackedEntry(PackedValues packed, int index, float x) {
+        if (!packed.hasSizes()) {
+            throw new IllegalArgumentException("valuesPacked: 'sizes' is required for bubble data");
+        }
+        return new BubbleEntry(x, packed.getY(index), packed.getSize(index));
+    }
 }
@@ -0,0 +1,304 @@
+package com.github.wuxudong.rncharts.data;
+
+import android.util.Log;
+
+import com.facebook.react.bridge.ReadableMap;
+import com.facebook.react.bridge.ReadableType;
+import com.github.mikephil.charting.charts.Chart;
+import com.github.mikephil.charting.data.BarEntry;
+import com.github.mikephil.charting.data.BubbleEntry;
+import com.github.mikephil.charting.data.CandleEntry;
+import com.github.mikephil.charting.data.Entry;
+import com.github.mikephil.charting.interfaces.datasets.IDataSet;
+import com.github.wuxudong.rncharts.utils.BridgeUtils;
+
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.Locale;
+import java.util.TimeZone;
+import java.util.WeakHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Calendar buckets (day / week / month) of one data set whose x values are times, read the same way as the
+ * "date" valueFormatter: {@code since + x * timeUnit}.
+ *
+ * - bucket 마다 y 를 sum / avg / min / max / last 로 모은다. candle 은 첫 open / 최고 high / 최저 low / 마지막 close.
+ * - 모은 점의 x 는 bucket 의 가운데이고, 주의 시작 요일은 locale 을 따른다.
+ * - level 별 data set 은 처음 필요할 때 원본과 같은 config 로 만들고, 원본이 바뀔 때까지 재사용한다.
+ */
+public final class CalendarAggregator {
+
+    public enum Unit {
+        DAY(1), WEEK(7), MONTH(30.44);
+
+        // 평균 bucket 길이 (일)
+        public final double days;
+
+        Unit(double days) {
+            this.days = days;
+        }
+    }
+
+    enum Method {
+        SUM, AVG, MIN, MAX, LAST
+    }
+
+    /**
+     * Creates the data set of one level from its entries, styled like the original data set.
+     */
+    interface Factory {
+        IDataSet<?> create(Chart chart, ArrayList<Entry> entries);
+    }
+
+    private static final double NANOS_PER_DAY = TimeUnit.DAYS.toNanos(1);
+
+    // asyncData 면 attach 는 AsyncDataLoader worker 에서, of 는 UI thread 에서 부르므로 lock 을 잡는다.
+    // data set 은 MPAndroidChart 의 stock 클래스라 field 로 둘 수 없다.
+    private static final WeakHashMap<IDataSet<?>, CalendarAggregator> aggregators = new WeakHashMap<>();
+
+    private final Method method;
+    private final long since;
+    private final TimeUnit timeUnit;
+    private final Locale locale;
+    private final TimeZone timeZone;
+    private final Factory factory;
+    private final IDataSet<?>[] levels = new IDataSet<?>[Unit.values().length];
+
+    private CalendarAggregator(Method method, long since, TimeUnit timeUnit, Locale locale, TimeZone timeZone, Factory factory) {
+        this.method = method;
+        this.since = since;
+        this.timeUnit = timeUnit;
+        this.locale = locale;
+        this.timeZone = timeZone;
+        this.factory = factory;
+    }
+
+    /**
+     * @param config data set "aggregation" option: method, since, timeUnit, locale, timeZone
+     */
+    static CalendarAggregator parse(ReadableMap config, Factory factory) {
+        Method method = Method.AVG;
+        if (BridgeUtils.validate(config, ReadableType.String, "method")) {
+            String name = config.getString("method");
+            try {
+                method = Method.valueOf(name.toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                // 오타 하나로 setData 가 실패하지 않도록 기본값으로 둔다
+                Log.w("RNCharts", "aggregation.method must be one of sum, avg, min, max, last, using avg: " + name);
+            }
+        }
+
+        long since = 0;
+        if (BridgeUtils.validate(config, ReadableType.Number, "since")) {
+            since = (long) config.getDouble("since");
+        }
+
+        TimeUnit timeUnit = TimeUnit.MILLISECONDS;
+        if (BridgeUtils.validate(config, ReadableType.String, "timeUnit")) {
+            String name = config.getString("timeUnit");
+            try {
+                timeUnit = TimeUnit.valueOf(name.toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                Log.w("RNCharts", "unknown aggregation.timeUnit, using milliseconds: " + name);
+            }
+        }
+
+        Locale locale = Locale.getDefault();
+        if (BridgeUtils.validate(config, ReadableType.String, "locale")) {
+            locale = Locale.forLanguageTag(config.getString("locale"));
+        }
+
+        TimeZone timeZone = TimeZone.getDefault();
+        if (BridgeUtils.validate(config, ReadableType.String, "timeZone")) {
+            timeZone = TimeZone.getTimeZone(config.getString("timeZone"));
+        }
+
+        return new CalendarAggregator(method, since, timeUnit, locale, timeZone, factory);
+    }
+
+    static void attach(IDataSet<?> dataSet, CalendarAggregator aggregator) {
+        synchronized (aggregators) {
+            aggregators.put(dataSet, aggregator);
+        }
+    }
+
+    /**
+     * Aggregator of a data set created with an "aggregation" option, else null.
+     */
+    public static CalendarAggregator of(IDataSet<?> dataSet) {
+        synchronized (aggregators) {
+            return aggregators.get(dataSet);
+        }
+    }
+
+    /**
+     * Length of {@code xRange} in days.
+     */
+    public double toDays(double xRange) {
+        return xRange * timeUnit.toNanos(1) / NANOS_PER_DAY;
+    }
+
+    /**
+     * Length of {@code days} in x units.
+     */
+    public double toX(double days) {
+        return days * NANOS_PER_DAY / timeUnit.toNanos(1);
+    }
+
+    /**
+     * Data set of {@code raw} aggregated per {@code unit}, built on first use.
+     */
+    public IDataSet<?> level(Chart chart, IDataSet<?> raw, Unit unit) {
+        IDataSet<?> level = levels[unit.ordinal()];
+        if (level == null) {
+            level = factory.create(chart, aggregate(raw, unit));
+            levels[unit.ordinal()] = level;
+        }
+        return level;
+    }
+
+    /**
+     * Drops the cached levels after the entries of the original data set changed.
+     */
+    public void invalidate() {
+        for (int i = 0; i < levels.length; i++) {
+            levels[i] = null;
+        }
+    }
+
+    private ArrayList<Entry> aggregate(IDataSet<?> raw, Unit unit) {
+        ArrayList<Entry> entries = new ArrayList<>();
+        Calendar calendar = Calendar.getInstance(timeZone, locale);
+
+        long start = Long.MAX_VALUE;
+        long end = Long.MIN_VALUE;
+        int count = 0;
+        float sum = 0f;
+        float first = 0f;
+        float low = 0f;
+        float high = 0f;
+        float last = 0f;
+        float size = 0f;
+        Entry sample = null;
+
+        for (int i = 0, n = raw.getEntryCount(); i < n; i++) {
+            Entry e = raw.getEntryForIndex(i);
+            float open;
+            float min;
+            float max;
+            float close;
+            if (e instanceof CandleEntry) {
+                CandleEntry candle = (CandleEntry) e;
+                open = candle.getOpen();
+                min = candle.getLow();
+                max = candle.getHigh();
+                close = candle.getClose();
+            } else {
+                open = min = max = close = e.getY();
+            }
+            if (Float.isNaN(close)) {
+                continue;
+            }
+
+            // DateFormatter 와 같은 방식으로 시각을 구한다
+            long time = since + timeUnit.toMillis((long) e.getX());
+            if (time < start || time >= end) {
+                if (count > 0) {
+                    entries.add(createEntry(sample, xOf((start + end) / 2), count, sum, first, low, high, last, size));
+                }
+                start = floor(calendar, time, unit);
+                calendar.setTimeInMillis(start);
+                next(calendar, unit);
+                end = calendar.getTimeInMillis();
+
+                count = 0;
+                sum = 0f;
+                first = open;
+                low = min;
+                high = max;
+                size = 0f;
+                sample = e;
+            }
+
+            count++;
+            sum += close;
+            low = Math.min(low, min);
+            high = Math.max(high, max);
+            last = close;
+            if (e instanceof BubbleEntry) {
+                size = Math.max(size, ((BubbleEntry) e).getSize());
+            }
+        }
+        if (count > 0) {
+            entries.add(createEntry(sample, xOf((start + end) / 2), count, sum, first, low, high, last, size));
+        }
+        return entries;
+    }
+
+    private Entry createEntry(Entry sample, float x, int count, float sum, float first, float low, float high, float last, float size) {
+        if (sample instanceof CandleEntry) {
+            return new CandleEntry(x, high, low, first, last);
+        }
+
+        float y;
+        switch (method) {
+            case SUM:
+                y = sum;
+                break;
+            case MIN:
+                y = low;
+                break;
+            case MAX:
+                y = high;
+                break;
+            case LAST:
+                y = last;
+                break;
+            default:
+                y = sum / count;
+                break;
+        }
+
+        if (sample instanceof BubbleEntry) {
+            return new BubbleEntry(x, y, size);
+        }
+        if (sample instanceof BarEntry) {
+            return new BarEntry(x, y);
+        }
+        return new Entry(x, y);
+    }
+
+    private float xOf(long time) {
+        return (float) ((double) (time - since) * TimeUnit.MILLISECONDS.toNanos(1) / timeUnit.toNanos(1));
+    }
+
+    private static long floor(Calendar calendar, long time, Unit unit) {
+        calendar.setTimeInMillis(time);
+        calendar.set(Calendar.HOUR_OF_DAY, 0);
+        calendar.set(Calendar.MINUTE, 0);
+        calendar.set(Calendar.SECOND, 0);
+        calendar.set(Calendar.MILLISECOND, 0);
+        if (unit == Unit.WEEK) {
+            int days = (calendar.get(Calendar.DAY_OF_WEEK) - calendar.getFirstDayOfWeek() + 7) % 7;
+            calendar.add(Calendar.DAY_OF_MONTH, -days);
+        } else if (unit == Unit.MONTH) {
+            calendar.set(Calendar.DAY_OF_MONTH, 1);
+        }
+        return calendar.getTimeInMillis();
+    }
+
+    private static void next(Calendar calendar, Unit unit) {
+        switch (unit) {
+            case WEEK:
+                calendar.add(Calendar.DAY_OF_MONTH, 7);
+                break;
+            case MONTH:
+                calendar.add(Calendar.MONTH, 1);
+                break;
+            default:
+                calendar.add(Calendar.DAY_OF_MONTH, 1);
+                break;
+        }
+    }
+}
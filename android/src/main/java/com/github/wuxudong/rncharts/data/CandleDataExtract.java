@@ -12,7 +12,6 @@ import com.github.mikephil.charting.data.CandleEntry;
 import com.github.mikephil.charting.interfaces.datasets.IDataSet;
 import com.github.wuxudong.rncharts.utils.BridgeUtils;
 import com.github.wuxudong.rncharts.utils.ChartDataSetConfigUtils;
-import com.github.wuxudong.rncharts.utils.ConversionUtil;
 
 import java.util.ArrayList;
 import java.util.Locale;
@@ -95,8 +94,29 @@ public class CandleDataExtract extends DataExtract<CandleData, CandleEntry> {
         float open = (float) map.getDouble("open");
         float close = (float) map.getDouble("close");
 
-        CandleEntry candleEntry = new CandleEntry(x, shadowH, shadowL, open, close, ConversionUtil.toMap(map));
+        CandleEntry candleEntry = new CandleEntry(x, shadowH, shadowL, open, close, metadata(map));
 
         return candleEntry;
     }
+
+    @Override
+    IDataSet<CandleEntry> createPackedDataSet(PackedValues packed, String label) {
+        return new FloatArrayCandleDataSet(FloatArrayStore.of(packed, FloatArrayStore.Kind.CANDLE), label);
+    }
+
+    @Override
+    IDataSet<CandleEntry> copyWithValues(IDataSet<CandleEntry> previous, String label) {
+        if (previous instanceof FloatArrayCandleDataSet) {
+            return new FloatArrayCandleDataSet(((FloatArrayCandleDataSet) previous).getStore(), label);
+        }
+        return super.copyWithValues(previous, label);
+    }
+
+    @Override
+    CandleEntry createPackedEntry(PackedValues packed, int index, float x) {
+        packed.requireTuples(PackedValues.OHLC, 4);
+        // ohlc 는 open, high, low, close 순서
+        return new CandleEntry(x, packed.getTuple(index, 1), packed.getTuple(index, 2),
+                packed.getTuple(index, 0), packed.getTuple(index, 3));
+    }
 }
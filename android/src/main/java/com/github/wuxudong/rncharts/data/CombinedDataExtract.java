@@ -6,7 +6,11 @@ import com.facebook.react.bridge.ReadableType;
 import com.github.mikephil.charting.charts.Chart;
 import com.github.mikephil.charting.data.CombinedData;
 import com.github.mikephil.charting.data.Entry;
+import com.github.mikephil.charting.interfaces.datasets.IBarDataSet;
+import com.github.mikephil.charting.interfaces.datasets.IBubbleDataSet;
+import com.github.mikephil.charting.interfaces.datasets.ICandleDataSet;
 import com.github.mikephil.charting.interfaces.datasets.IDataSet;
+import com.github.mikephil.charting.interfaces.datasets.IScatterDataSet;
 import com.github.wuxudong.rncharts.utils.BridgeUtils;
 
 import java.util.ArrayList;
@@ -26,28 +30,63 @@ public class CombinedDataExtract extends DataExtract<CombinedData, Entry> {
         CombinedData chartData = new CombinedData();
 
         if (BridgeUtils.validate(propMap, ReadableType.Map, "lineData")) {
-            chartData.setData(lineDataExtract.extract(chart, propMap.getMap("lineData")));
+            chartData.setData(lineDataExtract.extract(chart, propMap.getMap("lineData"), "lineData"));
+        } else if (chart != null) {
+            DataSetCache.of(chart).clear("lineData");
         }
 
         if (BridgeUtils.validate(propMap, ReadableType.Map, "barData")) {
-            chartData.setData(barDataExtract.extract(chart, propMap.getMap("barData")));
+            chartData.setData(barDataExtract.extract(chart, propMap.getMap("barData"), "barData"));
+        } else if (chart != null) {
+            DataSetCache.of(chart).clear("barData");
         }
 
         if (BridgeUtils.validate(propMap, ReadableType.Map, "scatterData")) {
-            chartData.setData(scatterDataExtract.extract(chart, propMap.getMap("scatterData")));
+            chartData.setData(scatterDataExtract.extract(chart, propMap.getMap("scatterData"), "scatterData"));
+        } else if (chart != null) {
+            DataSetCache.of(chart).clear("scatterData");
         }
 
         if (BridgeUtils.validate(propMap, ReadableType.Map, "candleData")) {
-            chartData.setData(candleDataExtract.extract(chart, propMap.getMap("candleData")));
+            chartData.setData(candleDataExtract.extract(chart, propMap.getMap("candleData"), "candleData"));
+        } else if (chart != null) {
+            DataSetCache.of(chart).clear("candleData");
         }
 
         if (BridgeUtils.validate(propMap, ReadableType.Map, "bubbleData")) {
-            chartData.setData(bubbleDataExtract.extract(chart, propMap.getMap("bubbleData")));
+            chartData.setData(bubbleDataExtract.extract(chart, propMap.getMap("bubbleData"), "bubbleData"));
+        } else if (chart != null) {
+            DataSetCache.of(chart).clear("bubbleData");
         }
 
         return chartData;
     }
 
+    @Override
+    @SuppressWarnings("unchecked")
+    public ArrayList<Entry> createEntries(Chart chart, IDataSet<?> dataSet, ReadableArray values, float implicitXStart) {
+        return (ArrayList<Entry>) extractFor(dataSet).createEntries(chart, dataSet, values, implicitXStart);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public ArrayList<Entry> createEntries(Chart chart, IDataSet<?> dataSet, PackedValues packed, float implicitXStart) {
+        return (ArrayList<Entry>) extractFor(dataSet).createEntries(chart, dataSet, packed, implicitXStart);
+    }
+
+    private DataExtract<?, ? extends Entry> extractFor(IDataSet<?> dataSet) {
+        if (dataSet instanceof IBarDataSet) {
+            return barDataExtract;
+        } else if (dataSet instanceof ICandleDataSet) {
+            return candleDataExtract;
+        } else if (dataSet instanceof IBubbleDataSet) {
+            return bubbleDataExtract;
+        } else if (dataSet instanceof IScatterDataSet) {
+            return scatterDataExtract;
+        }
+        return lineDataExtract;
+    }
+
     @Override
     CombinedData createData() {
         throw new UnsupportedOperationException();
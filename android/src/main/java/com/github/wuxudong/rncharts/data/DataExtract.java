@@ -1,10 +1,14 @@
 package com.github.wuxudong.rncharts.data;
 
+import android.os.Looper;
+import android.util.Log;
+
 import com.facebook.react.bridge.ReadableArray;
 import com.facebook.react.bridge.ReadableMap;
 import com.facebook.react.bridge.ReadableType;
 import com.github.mikephil.charting.charts.Chart;
 import com.github.mikephil.charting.data.ChartData;
+import com.github.mikephil.charting.data.DataSet;
 import com.github.mikephil.charting.data.Entry;
 import com.github.mikephil.charting.interfaces.datasets.IDataSet;
 import com.github.wuxudong.rncharts.utils.BridgeUtils;
@@ -15,35 +19,119 @@ import java.util.ArrayList;
  * Created by xudong on 02/03/2017.
  */
 
+@SuppressWarnings("unchecked")
 public abstract class DataExtract<D extends ChartData, U extends Entry> {
 
+    private static final String TAG = "RNCharts";
+
+    // schema of the data set whose entries are being created
+    private MetadataSchema schema;
+
+    // chart the entries are created for; entry icons invalidate it once their bitmap is loaded
+    Chart host;
+
+    // "stream" option of the data set being created, null when it is not a streaming data set
+    ReadableMap stream;
+
     public D extract(Chart chart, ReadableMap propMap) {
+        return extract(chart, propMap, "data");
+    }
+
+    /**
+     * @param cacheSlot key of the {@link DataSetCache} slot this payload is diffed against
+     *                  (CombinedChart uses one per sub data).
+     */
+    public D extract(Chart chart, ReadableMap propMap, String cacheSlot) {
         if (!BridgeUtils.validate(propMap, ReadableType.Array, "dataSets")) {
             return null;
         }
 
         D chartData = createData();
+        host = chart;
 
+        DataSetCache cache = chart != null ? DataSetCache.of(chart) : null;
+        DataSetCache.Lookup lookup = cache != null ? cache.lookup(cacheSlot) : null;
+        // asyncData worker 에서는 화면에 있는 dataSet 을 읽거나 바꾸지 않는다 (UI thread 가 그리고 push 하는 중이고,
+        // 취소된 generation 의 결과는 버려진다). 값이 같은 이전 dataSet 을 넘겨받는 것은 UI thread 에서만 한다.
+        boolean onUiThread = Looper.myLooper() == Looper.getMainLooper();
 
         ReadableArray dataSets = propMap.getArray("dataSets");
         for (int i = 0; i < dataSets.size(); i++) {
             ReadableMap dataSetReadableMap = dataSets.getMap(i);
 
             // TODO validation
-            ReadableArray values = dataSetReadableMap.getArray("values");
             String label = dataSetReadableMap.getString("label");
+            boolean packed = BridgeUtils.validate(dataSetReadableMap, ReadableType.Map, "valuesPacked");
+            PackedValues packedValues = null;
+            if (packed) {
+                try {
+                    packedValues = PackedValues.decode(dataSetReadableMap.getMap("valuesPacked"));
+                } catch (IllegalArgumentException e) {
+                    // 잘못된 valuesPacked 는 그 dataSet 만 빼고 나머지를 그린다
+                    Log.w(TAG, "data set '" + label + "' skipped: " + e.getMessage());
+                    continue;
+                }
+            }
+            ReadableMap config = BridgeUtils.validate(dataSetReadableMap, ReadableType.Map, "config")
+                    ? dataSetReadableMap.getMap("config") : null;
+            stream = BridgeUtils.validate(dataSetReadableMap, ReadableType.Map, "stream")
+                    ? dataSetReadableMap.getMap("stream") : null;
+
+            // Java 컬렉션으로 복사하지 않고 ReadableArray / decode 된 컬럼을 바로 해시한다.
+            // packed 는 miss 때 같은 decode 결과로 엔트리를 만든다.
+            long valuesHash = packed
+                    ? packedValues.fingerprint()
+                    : DataSetFingerprint.of(dataSetReadableMap.getArray("values"));
+            long configHash = DataSetFingerprint.combine(DataSetFingerprint.of(label), DataSetFingerprint.of(config));
+            if (stream != null) {
+                configHash = DataSetFingerprint.combine(configHash, DataSetFingerprint.of(stream));
+            }
+
+            IDataSet<U> dataSet = lookup != null ? (IDataSet<U>) lookup.takeExact(valuesHash, configHash) : null;
+
+            if (dataSet == null) {
+                IDataSet<U> sameValues = lookup != null && onUiThread
+                        ? (IDataSet<U>) lookup.takeSameValues(valuesHash) : null;
 
-            ArrayList<U> entries = createEntries(values);
+                if (sameValues != null) {
+                    // config 만 바뀜: 엔트리는 그대로 두고 새 dataSet 에 config 를 처음부터 다시 적용한다.
+                    dataSet = copyWithValues(sameValues, label);
+                } else if (packed) {
+                    try {
+                        dataSet = createPackedDataSet(packedValues, label);
+                    } catch (IllegalArgumentException e) {
+                        // 데이터 종류에 맞지 않는 컬럼 (ohlc / stacks / sizes 누락 등)
+                        Log.w(TAG, "data set '" + label + "' skipped: " + e.getMessage());
+                        continue;
+                    }
+                } else {
+                    dataSet = createDataSet(createEntries(dataSetReadableMap.getArray("values")), label);
+                }
 
-            IDataSet<U> dataSet = createDataSet(entries, label);
+                if (config != null) {
+                    dataSetConfig(chart, dataSet, config);
+                }
 
-            if (BridgeUtils.validate(dataSetReadableMap, ReadableType.Map, "config")) {
-                dataSetConfig(chart, dataSet, dataSetReadableMap.getMap("config"));
+                // stream data set 은 계속 바뀌므로 묶지 않는다
+                if (config != null && stream == null && BridgeUtils.validate(config, ReadableType.Map, "aggregation")) {
+                    CalendarAggregator.attach(dataSet,
+                            CalendarAggregator.parse(config.getMap("aggregation"), levelFactory(label, config)));
+                }
+            }
+
+            if (lookup != null) {
+                lookup.record(valuesHash, configHash, dataSet);
             }
 
             chartData.addDataSet(dataSet);
         }
 
+        stream = null;
+
+        if (cache != null) {
+            cache.commit(cacheSlot, lookup);
+        }
+
         if (BridgeUtils.validate(propMap, ReadableType.Map, "config")) {
             dataConfig(chartData, propMap.getMap("config"));
         }
@@ -59,9 +147,38 @@ public abstract class DataExtract<D extends ChartData, U extends Entry> {
 
     abstract IDataSet<U> createDataSet(ArrayList<U> entries, String label);
 
+    /**
+     * Data set for "valuesPacked". Types with a {@link FloatArrayDataSet} keep the columns as they are.
+     */
+    IDataSet<U> createPackedDataSet(PackedValues packed, String label) {
+        return createDataSet(createEntries(packed), label);
+    }
+
+    /**
+     * New data set sharing the entries of {@code previous}, with default styling. UI thread only.
+     */
+    IDataSet<U> copyWithValues(IDataSet<U> previous, String label) {
+        return createDataSet(new ArrayList<>(((DataSet<U>) previous).getValues()), label);
+    }
+
     abstract void dataSetConfig(Chart chart, IDataSet<U> dataSet, ReadableMap config);
 
+    /**
+     * Builds the calendar levels of a data set with its own label and config.
+     */
+    private CalendarAggregator.Factory levelFactory(final String label, final ReadableMap config) {
+        return new CalendarAggregator.Factory() {
+            @Override
+            public IDataSet<?> create(Chart chart, ArrayList<Entry> entries) {
+                IDataSet<U> level = createDataSet((ArrayList<U>) (ArrayList<?>) entries, label);
+                dataSetConfig(chart, level, config);
+                return level;
+            }
+        };
+    }
+
     ArrayList<U> createEntries(ReadableArray yValues) {
+        schema = new MetadataSchema();
         ArrayList<U> entries = new ArrayList<>(yValues.size());
         for (int j = 0; j < yValues.size(); j++) {
             if (!yValues.isNull(j)) {
@@ -73,5 +190,84 @@ public abstract class DataExtract<D extends ChartData, U extends Entry> {
 
     abstract U createEntry(ReadableArray values, int index);
 
+    /**
+     * Entry payload for {@code map}, sharing the key table of the data set being built.
+     */
+    EntryMetadata metadata(ReadableMap map) {
+        if (schema == null) {
+            schema = new MetadataSchema();
+        }
+        return schema.wrap(map);
+    }
+
+    ArrayList<U> createEntries(PackedValues packed) {
+        int size = packed.size();
+        ArrayList<U> entries = new ArrayList<>(size);
+        for (int j = 0; j < size; j++) {
+            float y = packed.getY(j);
+            if (!Float.isNaN(y)) {
+                U entry = createPackedEntry(packed, j, packed.getX(j));
+                if (entry == null) {
+                    break;
+                }
+                entries.add(entry);
+            }
+        }
+        return entries;
+    }
+
+    /**
+     * Entries for an incremental update (append / prepend) of {@code dataSet}.
+     * Values without an explicit x are numbered from {@code implicitXStart} instead of 0.
+     */
+    public ArrayList<U> createEntries(Chart chart, IDataSet<?> dataSet, ReadableArray values, float implicitXStart) {
+        host = chart;
+        // 추가되는 엔트리도 기존 엔트리와 같은 schema 를 쓴다.
+        schema = null;
+        if (dataSet.getEntryCount() > 0 && dataSet.getEntryForIndex(0).getData() instanceof EntryMetadata) {
+            schema = ((EntryMetadata) dataSet.getEntryForIndex(0).getData()).getSchema();
+        }
+
+        ArrayList<U> entries = new ArrayList<>(values.size());
+        for (int j = 0; j < values.size(); j++) {
+            if (values.isNull(j)) {
+                continue;
+            }
+
+            U entry = createEntry(values, j);
+            if (!ReadableType.Map.equals(values.getType(j)) || !values.getMap(j).hasKey("x")) {
+                entry.setX(implicitXStart + j);
+            }
+            entries.add(entry);
+        }
+        return entries;
+    }
+
+    public ArrayList<U> createEntries(Chart chart, IDataSet<?> dataSet, PackedValues packed, float implicitXStart) {
+        ArrayList<U> entries = new ArrayList<>(packed.size());
+        for (int j = 0; j < packed.size(); j++) {
+            float y = packed.getY(j);
+            if (!Float.isNaN(y)) {
+                U entry = createPackedEntry(packed, j, packed.hasX() ? packed.getX(j) : implicitXStart + j);
+                if (entry == null) {
+                    break;
+                }
+                entries.add(entry);
+            }
+        }
+        return entries;
+    }
+
+    /**
+     * Entry for one row of "valuesPacked". Packed rows carry no per-entry payload (marker, icon ...),
+     * so data types that need one keep using "values".
+     *
+     * @return null when this data type has no packed form; the data set is then left empty
+     */
+    U createPackedEntry(PackedValues packed, int index, float x) {
+        Log.w(TAG, "valuesPacked is not supported by " + getClass().getSimpleName() + ", data set left empty");
+        return null;
+    }
+
 
 }
@@ -0,0 +1,104 @@
+package com.github.wuxudong.rncharts.data;
+
+import com.github.mikephil.charting.charts.Chart;
+import com.github.mikephil.charting.interfaces.datasets.IDataSet;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.WeakHashMap;
+
+/**
+ * Data sets built by the last extract of a chart, keyed by their fingerprints (values, label + config).
+ *
+ * setData 로 같은 내용이 다시 들어오면 이전 IDataSet 을 그대로 쓰고, config 만 바뀐 경우 엔트리만 재사용한다.
+ * slot 은 data / lineData / barData ... 처럼 extract 단위로 나눈다 (CombinedChart 의 sub data 별).
+ * 네이티브에서 dataSet 을 직접 바꾸는 명령(appendValues 등) 뒤에는 {@link #invalidate(Chart)} 로 비워야 한다.
+ */
+public final class DataSetCache {
+
+    private static final WeakHashMap<Chart, DataSetCache> caches = new WeakHashMap<>();
+
+    private final HashMap<String, List<Record>> slots = new HashMap<>();
+
+    private DataSetCache() {
+    }
+
+    static synchronized DataSetCache of(Chart chart) {
+        DataSetCache cache = caches.get(chart);
+        if (cache == null) {
+            cache = new DataSetCache();
+            caches.put(chart, cache);
+        }
+        return cache;
+    }
+
+    public static synchronized void invalidate(Chart chart) {
+        caches.remove(chart);
+    }
+
+    synchronized Lookup lookup(String slot) {
+        List<Record> previous = slots.get(slot);
+        return new Lookup(previous != null ? previous : Collections.<Record>emptyList());
+    }
+
+    synchronized void commit(String slot, Lookup lookup) {
+        slots.put(slot, lookup.next);
+    }
+
+    synchronized void clear(String slot) {
+        slots.remove(slot);
+    }
+
+    private static final class Record {
+        final long valuesHash;
+        final long configHash;
+        final IDataSet<?> dataSet;
+
+        Record(long valuesHash, long configHash, IDataSet<?> dataSet) {
+            this.valuesHash = valuesHash;
+            this.configHash = configHash;
+            this.dataSet = dataSet;
+        }
+    }
+
+    /**
+     * One extract pass over a slot. A previous instance (and its entry list) is handed out at most once,
+     * so two identical data sets in the same payload never share entries.
+     */
+    static final class Lookup {
+        private final ArrayList<Record> previous;
+        private final ArrayList<Record> next = new ArrayList<>();
+
+        private Lookup(List<Record> previous) {
+            this.previous = new ArrayList<>(previous);
+        }
+
+        IDataSet<?> takeExact(long valuesHash, long configHash) {
+            for (int i = 0; i < previous.size(); i++) {
+                Record record = previous.get(i);
+                if (record.valuesHash == valuesHash && record.configHash == configHash) {
+                    previous.remove(i);
+                    return record.dataSet;
+                }
+            }
+            return null;
+        }
+
+        IDataSet<?> takeSameValues(long valuesHash) {
+            for (int i = 0; i < previous.size(); i++) {
+                Record record = previous.get(i);
+                if (record.valuesHash == valuesHash) {
+                    previous.remove(i);
+                    return record.dataSet;
+                }
+            }
+            return null;
+        }
+
+        void record(long valuesHash, long configHash, IDataSet<?> dataSet) {
+            next.add(new Record(valuesHash, configHash, dataSet));
+        }
+    }
+}
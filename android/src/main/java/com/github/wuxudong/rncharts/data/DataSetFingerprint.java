@@ -0,0 +1,127 @@
+package com.github.wuxudong.rncharts.data;
+
+import com.facebook.react.bridge.ReadableArray;
+import com.facebook.react.bridge.ReadableMap;
+import com.facebook.react.bridge.ReadableMapKeySetIterator;
+
+/**
+ * 64-bit content hash of a data set payload, read straight from the ReadableArray / ReadableMap
+ * (or the decoded "valuesPacked" columns) without copying it into Java collections first.
+ *
+ * 배열은 순서를 반영하고, 맵은 키 순서와 무관하게(엔트리 해시의 합) 계산한다.
+ * String.hashCode() 같은 32-bit 해시는 데이터셋 수가 늘면 충돌 가능성이 무시할 수 없어서 64-bit 로 섞는다.
+ * 엔트리를 만들 때 다시 읽는 ReadableNativeMap 은 처음 읽을 때 native 값을 캐시하므로, 해시가 읽은 값은 그대로 재사용된다.
+ */
+final class DataSetFingerprint {
+
+    private static final long SEED = 0x9E3779B97F4A7C15L;
+    private static final long NULL = 0x5bd1e995L;
+
+    private DataSetFingerprint() {
+    }
+
+    static long of(String s) {
+        if (s == null) {
+            return NULL;
+        }
+        long h = SEED ^ 0x4L;
+        for (int i = 0; i < s.length(); i++) {
+            h = (h ^ s.charAt(i)) * 0x100000001B3L;
+        }
+        return mix(h);
+    }
+
+    static long of(ReadableArray array) {
+        if (array == null) {
+            return NULL;
+        }
+        int size = array.size();
+        long h = SEED ^ 0x5L;
+        for (int i = 0; i < size; i++) {
+            h = mix(h ^ element(array, i)) + i;
+        }
+        return mix(h ^ size);
+    }
+
+    static long of(ReadableMap map) {
+        if (map == null) {
+            return NULL;
+        }
+        long h = 0;
+        int size = 0;
+        ReadableMapKeySetIterator keys = map.keySetIterator();
+        while (keys.hasNextKey()) {
+            String key = keys.nextKey();
+            h += mix(of(key) * 31 + value(map, key));
+            size++;
+        }
+        return mix(h ^ (SEED + size));
+    }
+
+    /**
+     * Hash of a decoded "valuesPacked" column; null and empty columns differ.
+     */
+    static long of(float[] column) {
+        if (column == null) {
+            return NULL;
+        }
+        long h = SEED ^ 0x6L;
+        for (float v : column) {
+            h = mix(h ^ Float.floatToIntBits(v));
+        }
+        return mix(h ^ column.length);
+    }
+
+    static long combine(long a, long b) {
+        return mix(a * 31 + b);
+    }
+
+    private static long element(ReadableArray array, int index) {
+        switch (array.getType(index)) {
+            case Boolean:
+                return bool(array.getBoolean(index));
+            case Number:
+                return number(array.getDouble(index));
+            case String:
+                return of(array.getString(index));
+            case Map:
+                return of(array.getMap(index));
+            case Array:
+                return of(array.getArray(index));
+            default:
+                return NULL;
+        }
+    }
+
+    private static long value(ReadableMap map, String key) {
+        switch (map.getType(key)) {
+            case Boolean:
+                return bool(map.getBoolean(key));
+            case Number:
+                return number(map.getDouble(key));
+            case String:
+                return of(map.getString(key));
+            case Map:
+                return of(map.getMap(key));
+            case Array:
+                return of(map.getArray(key));
+            default:
+                return NULL;
+        }
+    }
+
+    private static long number(double value) {
+        return mix(Double.doubleToLongBits(value) ^ 0x1L);
+    }
+
+    private static long bool(boolean value) {
+        return mix(value ? 0x2L : 0x3L);
+    }
+
+    // splitmix64 finalizer
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,329 @@
+package com.github.wuxudong.rncharts.data;
+
+import android.util.Log;
+
+import com.github.mikephil.charting.data.BarEntry;
+import com.github.mikephil.charting.data.BubbleDataSet;
+import com.github.mikephil.charting.data.BubbleEntry;
+import com.github.mikephil.charting.data.CandleEntry;
+import com.github.mikephil.charting.data.DataSet;
+import com.github.mikephil.charting.data.Entry;
+import com.github.mikephil.charting.interfaces.datasets.IDataSet;
+
+import java.lang.reflect.Field;
+import java.util.List;
+import java.util.WeakHashMap;
+
+/**
+ * In-place edits of a {@link DataSet} used by the append / prepend / removeRange / patchValues commands.
+ *
+ * 변경 비용은 delta 크기에 비례한다: min/max 는 바뀐 엔트리만 보고 갱신하고,
+ * 제거/수정된 엔트리가 현재 y min/max 를 쥐고 있던 경우에만 calcMinMax() 로 전체를 다시 계산한다.
+ * DataSet 의 min/max 필드는 protected 라서 reflection 으로 갱신한다 (실패하면 calcMinMax() 로 대체).
+ */
+@SuppressWarnings({"rawtypes", "unchecked"})
+public final class DataSetMutator {
+
+    private static final String TAG = "RNCharts";
+
+    private static Field yMinField;
+    private static Field yMaxField;
+    private static Field xMinField;
+    private static Field xMaxField;
+    private static Field bubbleMaxSizeField;
+    private static boolean fieldsAvailable;
+
+    // Entry 목록 data set 의 수정 횟수. 제자리 수정은 개수/범위를 바꾸지 않을 수 있어서 캐시는 이것으로 바뀐 것을 안다.
+    private static final WeakHashMap<IDataSet<?>, int[]> mutationCounts = new WeakHashMap<>();
+
+    static {
+        try {
+            yMinField = DataSet.class.getDeclaredField("mYMin");
+            yMaxField = DataSet.class.getDeclaredField("mYMax");
+            xMinField = DataSet.class.getDeclaredField("mXMin");
+            xMaxField = DataSet.class.getDeclaredField("mXMax");
+            bubbleMaxSizeField = BubbleDataSet.class.getDeclaredField("mMaxSize");
+            yMinField.setAccessible(true);
+            yMaxField.setAccessible(true);
+            xMinField.setAccessible(true);
+            xMaxField.setAccessible(true);
+            bubbleMaxSizeField.setAccessible(true);
+            fieldsAvailable = true;
+        } catch (Exception e) {
+            e.printStackTrace();
+            fieldsAvailable = false;
+        }
+    }
+
+    private DataSetMutator() {
+    }
+
+    /**
+     * Number of edits made through this class to {@code dataSet}; 0 for a data set that was never edited.
+     * UI thread only.
+     */
+    public static int getMutationCount(IDataSet<?> dataSet) {
+        int[] count = mutationCounts.get(dataSet);
+        return count != null ? count[0] : 0;
+    }
+
+    private static void mutated(IDataSet<?> dataSet) {
+        int[] count = mutationCounts.get(dataSet);
+        if (count == null) {
+            mutationCounts.put(dataSet, new int[]{1});
+        } else {
+            count[0]++;
+        }
+    }
+
+    public static void append(DataSet dataSet, List<? extends Entry> entries) {
+        if (entries.isEmpty()) {
+            return;
+        }
+        mutated(dataSet);
+
+        List values = dataSet.getValues();
+        boolean ordered = isSorted(entries)
+                && (values.isEmpty() || ((Entry) values.get(values.size() - 1)).getX() <= entries.get(0).getX());
+
+        for (Entry entry : entries) {
+            // addEntry() 는 calcMinMax(e) 로 min/max 를 증분 갱신한다.
+            if (ordered) {
+                dataSet.addEntry(entry);
+            } else {
+                dataSet.addEntryOrdered(entry);
+            }
+        }
+    }
+
+    public static void prepend(DataSet dataSet, List<? extends Entry> entries) {
+        if (entries.isEmpty()) {
+            return;
+        }
+        mutated(dataSet);
+
+        List values = dataSet.getValues();
+        boolean ordered = isSorted(entries)
+                && (values.isEmpty() || entries.get(entries.size() - 1).getX() <= ((Entry) values.get(0)).getX());
+
+        if (!ordered || !fieldsAvailable || values.isEmpty()) {
+            for (Entry entry : entries) {
+                dataSet.addEntryOrdered(entry);
+            }
+            return;
+        }
+
+        // 앞쪽 삽입은 한 번의 addAll 로 처리하고 min/max 는 새 엔트리만 보고 넓힌다.
+        values.addAll(0, entries);
+        try {
+            float yMin = dataSet.getYMin();
+            float yMax = dataSet.getYMax();
+            float maxSize = dataSet instanceof BubbleDataSet ? ((BubbleDataSet) dataSet).getMaxSize() : 0f;
+            for (Entry entry : entries) {
+                if (Float.isNaN(entry.getY())) {
+                    continue;
+                }
+                yMin = Math.min(yMin, low(entry));
+                yMax = Math.max(yMax, high(entry));
+                if (entry instanceof BubbleEntry) {
+                    maxSize = Math.max(maxSize, ((BubbleEntry) entry).getSize());
+                }
+            }
+            yMinField.setFloat(dataSet, yMin);
+            yMaxField.setFloat(dataSet, yMax);
+            xMinField.setFloat(dataSet, Math.min(dataSet.getXMin(), entries.get(0).getX()));
+            if (dataSet instanceof BubbleDataSet) {
+                bubbleMaxSizeField.setFloat(dataSet, maxSize);
+            }
+        } catch (IllegalAccessException e) {
+            e.printStackTrace();
+            dataSet.calcMinMax();
+        }
+    }
+
+    public static void removeRange(DataSet dataSet, int fromIndex, int count) {
+        List values = dataSet.getValues();
+        int from = Math.max(0, fromIndex);
+        int to = Math.min(values.size(), fromIndex + count);
+        if (from >= to) {
+            return;
+        }
+        mutated(dataSet);
+
+        float yMin = dataSet.getYMin();
+        float yMax = dataSet.getYMax();
+        float maxSize = dataSet instanceof BubbleDataSet ? ((BubbleDataSet) dataSet).getMaxSize() : 0f;
+        boolean rescan = false;
+        for (int i = from; i < to && !rescan; i++) {
+            Entry entry = (Entry) values.get(i);
+            rescan = low(entry) <= yMin || high(entry) >= yMax
+                    || (entry instanceof BubbleEntry && ((BubbleEntry) entry).getSize() >= maxSize);
+        }
+
+        values.subList(from, to).clear();
+
+        if (rescan || !fieldsAvailable || values.isEmpty()) {
+            dataSet.calcMinMax();
+            return;
+        }
+
+        // y 범위는 그대로이고, x 는 정렬되어 있으므로 양 끝 엔트리만 보면 된다.
+        try {
+            xMinField.setFloat(dataSet, ((Entry) values.get(0)).getX());
+            xMaxField.setFloat(dataSet, ((Entry) values.get(values.size() - 1)).getX());
+        } catch (IllegalAccessException e) {
+            e.printStackTrace();
+            dataSet.calcMinMax();
+        }
+    }
+
+    /**
+     * Overwrites the y of {@code ys.length} entries from {@code startIndex}. The whole range is checked first,
+     * so a bad request leaves the data set untouched.
+     *
+     * @return false when nothing was written: the range is outside the data set or holds candle / stacked bar entries
+     */
+    public static boolean patchY(DataSet dataSet, int startIndex, float[] ys) {
+        List values = dataSet.getValues();
+        int end = startIndex + ys.length;
+        if (ys.length == 0) {
+            return false;
+        }
+        if (startIndex < 0 || end > values.size()) {
+            Log.w(TAG, "patchValues ignored, range [" + startIndex + ", " + end + ") outside 0.." + values.size());
+            return false;
+        }
+
+        // float-array dataSet 의 엔트리는 view 라서 store 에 직접 쓴다.
+        FloatArrayStore store = dataSet instanceof FloatArrayDataSet ? ((FloatArrayDataSet) dataSet).getStore() : null;
+        if (store != null ? !store.isSingleY() : !isSingleY(values, startIndex, end)) {
+            Log.w(TAG, "patchValues ignored, supports single y values only: " + dataSet.getLabel());
+            return false;
+        }
+
+        mutated(dataSet);
+        final float previousYMin = dataSet.getYMin();
+        final float previousYMax = dataSet.getYMax();
+        float yMin = previousYMin;
+        float yMax = previousYMax;
+        boolean rescan = !fieldsAvailable;
+
+        for (int i = startIndex; i < end; i++) {
+            float oldY;
+            float newY = ys[i - startIndex];
+            if (store != null) {
+                oldY = store.getY(i);
+                store.setY(i, newY);
+            } else {
+                Entry entry = (Entry) values.get(i);
+                oldY = entry.getY();
+                entry.setY(newY);
+            }
+
+            if (oldY != newY && (oldY <= previousYMin || oldY >= previousYMax)) {
+                // 기존 극값이 안쪽으로 들어왔을 수 있다.
+                rescan = true;
+            }
+            if (!Float.isNaN(newY)) {
+                yMin = Math.min(yMin, newY);
+                yMax = Math.max(yMax, newY);
+            }
+        }
+
+        if (rescan) {
+            dataSet.calcMinMax();
+            return true;
+        }
+
+        try {
+            yMinField.setFloat(dataSet, yMin);
+            yMaxField.setFloat(dataSet, yMax);
+        } catch (IllegalAccessException e) {
+            e.printStackTrace();
+            dataSet.calcMinMax();
+        }
+        return true;
+    }
+
+    /**
+     * Writes the min/max fields of a data set that computes them without its entries ({@link FloatArrayStore}).
+     *
+     * @param maxSize bubble max size, ignored for other data sets
+     * @return false when the fields are not reachable; the caller then uses the stock calculation
+     */
+    static boolean setBounds(DataSet dataSet, float xMin, float xMax, float yMin, float yMax, float maxSize) {
+        if (!fieldsAvailable) {
+            return false;
+        }
+        try {
+            xMinField.setFloat(dataSet, xMin);
+            xMaxField.setFloat(dataSet, xMax);
+            yMinField.setFloat(dataSet, yMin);
+            yMaxField.setFloat(dataSet, yMax);
+            if (dataSet instanceof BubbleDataSet) {
+                bubbleMaxSizeField.setFloat(dataSet, maxSize);
+            }
+            return true;
+        } catch (IllegalAccessException e) {
+            e.printStackTrace();
+            return false;
+        }
+    }
+
+    /**
+     * Writes the y min/max fields only, see {@link #setBounds}.
+     */
+    static boolean setYRange(DataSet dataSet, float yMin, float yMax) {
+        if (!fieldsAvailable) {
+            return false;
+        }
+        try {
+            yMinField.setFloat(dataSet, yMin);
+            yMaxField.setFloat(dataSet, yMax);
+            return true;
+        } catch (IllegalAccessException e) {
+            e.printStackTrace();
+            return false;
+        }
+    }
+
+    private static boolean isSingleY(List values, int from, int to) {
+        for (int i = from; i < to; i++) {
+            Object entry = values.get(i);
+            if (entry instanceof CandleEntry || (entry instanceof BarEntry && ((BarEntry) entry).isStacked())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isSorted(List<? extends Entry> entries) {
+        for (int i = 1; i < entries.size(); i++) {
+            if (entries.get(i - 1).getX() > entries.get(i).getX()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // DataSet/BarDataSet/CandleDataSet.calcMinMax(e) 와 같은 기준
+    private static float low(Entry entry) {
+        if (entry instanceof CandleEntry) {
+            return ((CandleEntry) entry).getLow();
+        }
+        if (entry instanceof BarEntry && ((BarEntry) entry).getYVals() != null) {
+            return -((BarEntry) entry).getNegativeSum();
+        }
+        return entry.getY();
+    }
+
+    private static float high(Entry entry) {
+        if (entry instanceof CandleEntry) {
+            return ((CandleEntry) entry).getHigh();
+        }
+        if (entry instanceof BarEntry && ((BarEntry) entry).getYVals() != null) {
+            return ((BarEntry) entry).getPositiveSum();
+        }
+        return entry.getY();
+    }
+}
@@ -0,0 +1,93 @@
+package com.github.wuxudong.rncharts.data;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * Per-entry payload (Entry.getData()) backed by a {@link MetadataSchema}: just the values, in slot order.
+ *
+ * 기존 코드가 entry.getData() instanceof Map 으로 읽으므로 읽기 전용 Map 으로 노출한다.
+ * 자주 읽는 쪽(마커 등)은 schema.slotOf() 를 한 번 구해두고 {@link #get(int)} 로 읽으면 된다.
+ * ConversionUtil.toObject 는 null 을 만들지 않으므로 null 은 "키 없음" 을 뜻한다.
+ */
+public final class EntryMetadata extends AbstractMap<String, Object> {
+
+    private final MetadataSchema schema;
+    private final Object[] values;
+
+    EntryMetadata(MetadataSchema schema, Object[] values) {
+        this.schema = schema;
+        this.values = values;
+    }
+
+    public MetadataSchema getSchema() {
+        return schema;
+    }
+
+    public Object get(int slot) {
+        return slot >= 0 && slot < values.length ? values[slot] : null;
+    }
+
+    @Override
+    public Object get(Object key) {
+        return get(schema.slotOf(key));
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return get(key) != null;
+    }
+
+    @Override
+    public int size() {
+        int size = 0;
+        for (Object value : values) {
+            if (value != null) {
+                size++;
+            }
+        }
+        return size;
+    }
+
+    @Override
+    public Set<Entry<String, Object>> entrySet() {
+        return new AbstractSet<Entry<String, Object>>() {
+            @Override
+            public Iterator<Entry<String, Object>> iterator() {
+                return new Iterator<Entry<String, Object>>() {
+                    private int next = advance(0);
+
+                    private int advance(int from) {
+                        while (from < values.length && values[from] == null) {
+                            from++;
+                        }
+                        return from;
+                    }
+
+                    @Override
+                    public boolean hasNext() {
+                        return next < values.length;
+                    }
+
+                    @Override
+                    public Entry<String, Object> next() {
+                        if (!hasNext()) {
+                            throw new NoSuchElementException();
+                        }
+                        int slot = next;
+                        next = advance(slot + 1);
+                        return new SimpleImmutableEntry<>(schema.keyAt(slot), values[slot]);
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return EntryMetadata.this.size();
+            }
+        };
+    }
+}
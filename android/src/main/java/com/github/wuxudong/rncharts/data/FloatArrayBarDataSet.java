@@ -0,0 +1,73 @@
+package com.github.wuxudong.rncharts.data;
+
+import com.github.mikephil.charting.data.BarEntry;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * AtfleeBarDataSet backed by a {@link FloatArrayStore}; used for "valuesPacked" (plain or "stacks").
+ * Stack values stay in the tuple column instead of a float[] per BarEntry.
+ */
+public class FloatArrayBarDataSet extends AtfleeBarDataSet implements FloatArrayDataSet {
+
+    private final FloatArrayStore store;
+
+    public FloatArrayBarDataSet(FloatArrayStore store, String label) {
+        // BarDataSet 생성자는 stack 크기를 세려고 엔트리를 모두 훑으므로 빈 리스트로 만든 뒤 view 를 붙인다.
+        super(new ArrayList<BarEntry>(), label);
+        this.store = store;
+        mValues = store.entries();
+        calcMinMax();
+    }
+
+    @Override
+    public FloatArrayStore getStore() {
+        return store;
+    }
+
+    @Override
+    public int getStackSize() {
+        return store.getKind() == FloatArrayStore.Kind.STACKED_BAR ? store.getStride() : 1;
+    }
+
+    @Override
+    public boolean isStacked() {
+        return getStackSize() > 1;
+    }
+
+    @Override
+    public int getEntryCountStacks() {
+        return store.size() * getStackSize();
+    }
+
+    @Override
+    public void calcMinMax() {
+        if (!FloatArrayStore.applyBounds(store, this)) {
+            super.calcMinMax();
+        }
+    }
+
+    @Override
+    public void calcMinMaxY(float fromX, float toX) {
+        if (!FloatArrayStore.applyYRange(store, this, fromX, toX)) {
+            super.calcMinMaxY(fromX, toX);
+        }
+    }
+
+    @Override
+    public int getEntryIndex(float xValue, float closestToY, Rounding rounding) {
+        return store.indexOfX(xValue, closestToY, rounding);
+    }
+
+    @Override
+    public List<BarEntry> getEntriesForXValue(float xValue) {
+        return store.entriesForX(xValue);
+    }
+
+    @Override
+    public void setValues(List<BarEntry> values) {
+        store.replaceAll(values);
+        notifyDataSetChanged();
+    }
+}
@@ -0,0 +1,55 @@
+package com.github.wuxudong.rncharts.data;
+
+import com.github.mikephil.charting.data.BubbleDataSet;
+import com.github.mikephil.charting.data.BubbleEntry;
+
+import java.util.List;
+
+/**
+ * BubbleDataSet backed by a {@link FloatArrayStore}; used for "valuesPacked".
+ */
+public class FloatArrayBubbleDataSet extends BubbleDataSet implements FloatArrayDataSet {
+
+    private final FloatArrayStore store;
+
+    public FloatArrayBubbleDataSet(FloatArrayStore store, String label) {
+        super(store.<BubbleEntry>entries(), label);
+        this.store = store;
+        calcMinMax();
+    }
+
+    @Override
+    public FloatArrayStore getStore() {
+        return store;
+    }
+
+    @Override
+    public void calcMinMax() {
+        if (!FloatArrayStore.applyBounds(store, this)) {
+            super.calcMinMax();
+        }
+    }
+
+    @Override
+    public void calcMinMaxY(float fromX, float toX) {
+        if (!FloatArrayStore.applyYRange(store, this, fromX, toX)) {
+            super.calcMinMaxY(fromX, toX);
+        }
+    }
+
+    @Override
+    public int getEntryIndex(float xValue, float closestToY, Rounding rounding) {
+        return store.indexOfX(xValue, closestToY, rounding);
+    }
+
+    @Override
+    public List<BubbleEntry> getEntriesForXValue(float xValue) {
+        return store.entriesForX(xValue);
+    }
+
+    @Override
+    public void setValues(List<BubbleEntry> values) {
+        store.replaceAll(values);
+        notifyDataSetChanged();
+    }
+}
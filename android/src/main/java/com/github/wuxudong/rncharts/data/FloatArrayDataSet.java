@@ -0,0 +1,9 @@
+package com.github.wuxudong.rncharts.data;
+
+/**
+ * Data set whose values live in a {@link FloatArrayStore} instead of an Entry list.
+ * Renderers can check for this and read the columns directly.
+ */
+public interface FloatArrayDataSet {
+    FloatArrayStore getStore();
+}
@@ -0,0 +1,55 @@
+package com.github.wuxudong.rncharts.data;
+
+import com.github.mikephil.charting.data.ScatterDataSet;
+import com.github.mikephil.charting.data.Entry;
+
+import java.util.List;
+
+/**
+ * ScatterDataSet backed by a {@link FloatArrayStore}; used for "valuesPacked".
+ */
+public class FloatArrayScatterDataSet extends ScatterDataSet implements FloatArrayDataSet {
+
+    private final FloatArrayStore store;
+
+    public FloatArrayScatterDataSet(FloatArrayStore store, String label) {
+        super(store.<Entry>entries(), label);
+        this.store = store;
+        calcMinMax();
+    }
+
+    @Override
+    public FloatArrayStore getStore() {
+        return store;
+    }
+
+    @Override
+    public void calcMinMax() {
+        if (!FloatArrayStore.applyBounds(store, this)) {
+            super.calcMinMax();
+        }
+    }
+
+    @Override
+    public void calcMinMaxY(float fromX, float toX) {
+        if (!FloatArrayStore.applyYRange(store, this, fromX, toX)) {
+            super.calcMinMaxY(fromX, toX);
+        }
+    }
+
+    @Override
+    public int getEntryIndex(float xValue, float closestToY, Rounding rounding) {
+        return store.indexOfX(xValue, closestToY, rounding);
+    }
+
+    @Override
+    public List<Entry> getEntriesForXValue(float xValue) {
+        return store.entriesForX(xValue);
+    }
+
+    @Override
+    public void setValues(List<Entry> values) {
+        store.replaceAll(values);
+        notifyDataSetChanged();
+    }
+}
@@ -0,0 +1,856 @@
+package com.github.wuxudong.rncharts.data;
+
+import com.github.mikephil.charting.data.BarEntry;
+import com.github.mikephil.charting.data.BubbleEntry;
+import com.github.mikephil.charting.data.CandleEntry;
+import com.github.mikephil.charting.data.DataSet;
+import com.github.mikephil.charting.data.Entry;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * Primitive storage behind the float-array data sets ({@link FloatArrayDataSet}): x / y columns plus a
+ * fixed-stride tuple column (bubble size, candle OHLC, bar stacks) instead of one Entry object per point.
+ *
+ * - x 는 정렬되어 있다고 가정한다 (MPAndroidChart 의 DataSet 과 같은 전제).
+ * - 렌더러는 {@link #xValues()} / {@link #yValues()} 를 [getOffset(), getOffset() + size()) 범위로 직접 읽는다.
+ * - Entry 가 꼭 필요한 API(highlight, marker, 기본 렌더러 등)에는 {@link #entries()} 가 index 별 view 를 만들어 준다.
+ *   최근 view 는 작은 direct-mapped 캐시에 두어 같은 index 를 반복해서 읽어도 새로 만들지 않는다.
+ * - 변경될 때마다 {@link #getVersion()} 이 올라간다.
+ * - {@link #setCapacity(int)} 를 주면 고정 크기 ring buffer 가 된다: {@link #push(float, float)} 는 가장 오래된 row 를
+ *   밀어내고 O(1)(amortized) 에 추가되며, y 최소/최대는 monotonic deque 로 유지해 {@link #bounds(float[])} 도 O(1) 이다.
+ *
+ * UI 스레드(또는 아직 차트에 붙기 전의 extract 스레드)에서만 접근한다.
+ */
+public final class FloatArrayStore {
+
+    /**
+     * Entry type the rows stand for, and what the tuple column holds per row.
+     */
+    public enum Kind {
+        // tuple 없음
+        ENTRY(0),
+        BAR(0),
+        // [size]
+        BUBBLE(1),
+        // [high, low, open, close] (CandleEntry 생성자 순서)
+        CANDLE(4),
+        // [stack values...], stride 는 stackSize
+        STACKED_BAR(-1);
+
+        final int stride;
+
+        Kind(int stride) {
+            this.stride = stride;
+        }
+    }
+
+    private static final int VIEW_CACHE_SIZE = 256;
+
+    private final Kind kind;
+    private final int stride;
+
+    private float[] xs;
+    // Entry.getY() 값 (candle 은 (high + low) / 2, stacked bar 는 합계)
+    private float[] ys;
+    // row 마다 stride 개
+    private float[] tuples;
+    // row i 는 backing index offset + i 에 있다 (앞쪽 삭제 / ring buffer 밀어내기를 복사 없이 하기 위해)
+    private int offset;
+    private int size;
+    private int version;
+    // push 가 아닌 변경 (setY, 삭제, capacity ...) 마다 증가한다
+    private int rewriteVersion;
+
+    // 0 이면 제한 없음
+    private int capacity;
+    // row 0 의 sequence 번호. 앞에서 row 가 빠질 때마다 증가한다
+    private long first;
+
+    // streaming 용 monotonic deque (sequence 번호의 ring). minQ 는 y 오름차순, maxQ 는 내림차순
+    private long[] minQ;
+    private long[] maxQ;
+    private int minHead;
+    private int minLen;
+    private int maxHead;
+    private int maxLen;
+    private boolean extremaValid;
+    private boolean followLatest;
+
+    private final Entry[] viewCache = new Entry[VIEW_CACHE_SIZE];
+    // view 가 만들어진 row 의 sequence 번호 (offset 이 바뀌어도 그대로 유효)
+    private final long[] viewIndex = new long[VIEW_CACHE_SIZE];
+
+    private final EntryList entries = new EntryList();
+    private final float[] tmp = new float[2];
+    // applyBounds / applyYRange 용
+    private final float[] range = new float[4];
+
+    FloatArrayStore(Kind kind, int stride, float[] xs, float[] ys, float[] tuples, int size) {
+        this.kind = kind;
+        this.stride = stride;
+        this.xs = xs;
+        this.ys = ys;
+        this.tuples = tuples;
+        this.size = size;
+        Arrays.fill(viewIndex, -1);
+    }
+
+    /**
+     * Copies the packed columns, skipping rows whose y is NaN like {@link DataExtract#createEntries(PackedValues)}.
+     */
+    static FloatArrayStore of(PackedValues packed, Kind kind) {
+        int stride;
+        if (kind == Kind.CANDLE) {
+            packed.requireTuples(PackedValues.OHLC, 4);
+            stride = 4;
+        } else if (kind == Kind.STACKED_BAR) {
+            packed.requireTuples(PackedValues.STACKS, -1);
+            stride = packed.getStride();
+        } else if (kind == Kind.BUBBLE && !packed.hasSizes()) {
+            throw new IllegalArgumentException("valuesPacked: 'sizes' is required for bubble data");
+        } else {
+            stride = kind.stride;
+        }
+
+        int n = packed.size();
+        float[] xs = new float[n];
+        float[] ys = new float[n];
+        float[] tuples = new float[n * stride];
+
+        int count = 0;
+        for (int i = 0; i < n; i++) {
+            float y = packed.getY(i);
+            if (Float.isNaN(y)) {
+                continue;
+            }
+            xs[count] = packed.getX(i);
+            ys[count] = y;
+
+            int t = count * stride;
+            if (kind == Kind.BUBBLE) {
+                tuples[t] = packed.getSize(i);
+            } else if (kind == Kind.CANDLE) {
+                // packed 는 open, high, low, close 순서
+                tuples[t] = packed.getTuple(i, 1);
+                tuples[t + 1] = packed.getTuple(i, 2);
+                tuples[t + 2] = packed.getTuple(i, 0);
+                tuples[t + 3] = packed.getTuple(i, 3);
+            } else if (kind == Kind.STACKED_BAR) {
+                for (int k = 0; k < stride; k++) {
+                    tuples[t + k] = packed.getTuple(i, k);
+                }
+            }
+            count++;
+        }
+
+        return new FloatArrayStore(kind, stride, xs, ys, tuples, count);
+    }
+
+    /**
+     * Copies {@code entries} (e.g. plain "values" of a streaming data set). Entry data / icons are not kept.
+     */
+    static FloatArrayStore of(List<? extends Entry> entries, Kind kind) {
+        if (kind.stride < 0) {
+            throw new IllegalArgumentException(kind + " needs an explicit stride");
+        }
+        FloatArrayStore store = new FloatArrayStore(kind, kind.stride, new float[0], new float[0], new float[0], 0);
+        store.replaceAll(entries);
+        return store;
+    }
+
+    public Kind getKind() {
+        return kind;
+    }
+
+    /**
+     * Whether each row holds one y (plain entries / bars), the only rows push / setY can write.
+     */
+    public boolean isSingleY() {
+        return kind == Kind.ENTRY || kind == Kind.BAR;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int getVersion() {
+        return version;
+    }
+
+    /**
+     * Changes on every edit except {@link #push}; while it stays the same, rows only got appended or evicted.
+     */
+    public int getRewriteVersion() {
+        return rewriteVersion;
+    }
+
+    /**
+     * Sequence number of row 0; grows by one for every row dropped from the front.
+     */
+    public long getFirstSequence() {
+        return first;
+    }
+
+    /**
+     * Backing index of row 0 in {@link #xValues()} / {@link #yValues()} (times {@link #getStride()} for tuples).
+     */
+    public int getOffset() {
+        return offset;
+    }
+
+    /**
+     * Ring buffer capacity, 0 when unbounded.
+     */
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Bounds the store to {@code capacity} rows (0 = unbounded), dropping the oldest rows if it already holds more.
+     */
+    public void setCapacity(int capacity) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("capacity must be >= 0, got " + capacity);
+        }
+        this.capacity = capacity;
+        if (capacity > 0 && size > capacity) {
+            dropFront(size - capacity);
+        }
+        if (capacity > 0) {
+            // 밀어내기 후 compact 는 capacity 번 push 마다 한 번만 일어나도록 2 배로 잡는다
+            reallocate(Math.max(capacity * 2, size));
+            minQ = new long[capacity];
+            maxQ = new long[capacity];
+        } else {
+            minQ = null;
+            maxQ = null;
+        }
+        extremaValid = false;
+        changed();
+    }
+
+    /**
+     * Whether the chart should scroll to the last x after {@link #push(float, float)}.
+     */
+    public boolean isFollowLatest() {
+        return followLatest;
+    }
+
+    public void setFollowLatest(boolean followLatest) {
+        this.followLatest = followLatest;
+    }
+
+    /**
+     * Appends one row, evicting the oldest when the store is at capacity.
+     *
+     * @return false, leaving the store as it was, for a candle / stacked store or an x below the last x
+     * (indexOfX, the min/max deques and the renderers' x bounds rely on sorted x)
+     */
+    public boolean push(float x, float y) {
+        if (!isSingleY() || Float.isNaN(x) || (size > 0 && x < xs[offset + size - 1])) {
+            return false;
+        }
+        if (capacity > 0 && size == capacity) {
+            long evicted = first;
+            dropFront(1);
+            if (extremaValid) {
+                if (minLen > 0 && minQ[minHead] == evicted) {
+                    minHead = (minHead + 1) % capacity;
+                    minLen--;
+                }
+                if (maxLen > 0 && maxQ[maxHead] == evicted) {
+                    maxHead = (maxHead + 1) % capacity;
+                    maxLen--;
+                }
+            }
+        }
+        if (offset + size == xs.length) {
+            if (offset > 0) {
+                compact();
+            } else {
+                reallocate(xs.length + (xs.length >> 1) + 8);
+            }
+        }
+
+        xs[offset + size] = x;
+        ys[offset + size] = y;
+        size++;
+        if (extremaValid) {
+            track(first + size - 1, y);
+        }
+        version++;
+        return true;
+    }
+
+    private void track(long seq, float y) {
+        if (Float.isNaN(y)) {
+            return;
+        }
+        while (minLen > 0 && yAt(minQ[(minHead + minLen - 1) % capacity]) >= y) {
+            minLen--;
+        }
+        minQ[(minHead + minLen++) % capacity] = seq;
+        while (maxLen > 0 && yAt(maxQ[(maxHead + maxLen - 1) % capacity]) <= y) {
+            maxLen--;
+        }
+        maxQ[(maxHead + maxLen++) % capacity] = seq;
+    }
+
+    private float yAt(long seq) {
+        return ys[offset + (int) (seq - first)];
+    }
+
+    private void rebuildExtrema() {
+        minHead = minLen = maxHead = maxLen = 0;
+        for (int i = 0; i < size; i++) {
+            track(first + i, ys[offset + i]);
+        }
+        extremaValid = true;
+    }
+
+    private void dropFront(int count) {
+        offset += count;
+        first += count;
+        size -= count;
+    }
+
+    private void compact() {
+        System.arraycopy(xs, offset, xs, 0, size);
+        System.arraycopy(ys, offset, ys, 0, size);
+        System.arraycopy(tuples, offset * stride, tuples, 0, size * stride);
+        offset = 0;
+    }
+
+    private void reallocate(int rows) {
+        float[] newXs = new float[rows];
+        float[] newYs = new float[rows];
+        float[] newTuples = new float[rows * stride];
+        System.arraycopy(xs, offset, newXs, 0, size);
+        System.arraycopy(ys, offset, newYs, 0, size);
+        System.arraycopy(tuples, offset * stride, newTuples, 0, size * stride);
+        xs = newXs;
+        ys = newYs;
+        tuples = newTuples;
+        offset = 0;
+    }
+
+    /**
+     * Values per row in the tuple column: 1 for bubble, 4 for candle, the stack size for stacked bars, else 0.
+     */
+    public int getStride() {
+        return stride;
+    }
+
+    public float getX(int index) {
+        return xs[offset + index];
+    }
+
+    public float getY(int index) {
+        return ys[offset + index];
+    }
+
+    public float getSize(int index) {
+        return kind == Kind.BUBBLE ? tuples[offset + index] : 0f;
+    }
+
+    /**
+     * Lowest value of the row: candle low, negative stack sum, else y.
+     */
+    public float getLow(int index) {
+        if (kind == Kind.CANDLE) {
+            return tuples[(offset + index) * 4 + 1];
+        }
+        if (kind == Kind.STACKED_BAR) {
+            float negative = 0f;
+            for (int k = (offset + index) * stride, end = k + stride; k < end; k++) {
+                if (tuples[k] < 0f) {
+                    negative += tuples[k];
+                }
+            }
+            return negative;
+        }
+        return ys[offset + index];
+    }
+
+    /**
+     * Highest value of the row: candle high, positive stack sum, else y.
+     */
+    public float getHigh(int index) {
+        if (kind == Kind.CANDLE) {
+            return tuples[(offset + index) * 4];
+        }
+        if (kind == Kind.STACKED_BAR) {
+            float positive = 0f;
+            for (int k = (offset + index) * stride, end = k + stride; k < end; k++) {
+                if (tuples[k] > 0f) {
+                    positive += tuples[k];
+                }
+            }
+            return positive;
+        }
+        return ys[offset + index];
+    }
+
+    /**
+     * Candle open, else y.
+     */
+    public float getOpen(int index) {
+        return kind == Kind.CANDLE ? tuples[(offset + index) * 4 + 2] : ys[offset + index];
+    }
+
+    /**
+     * Candle close, else y.
+     */
+    public float getClose(int index) {
+        return kind == Kind.CANDLE ? tuples[(offset + index) * 4 + 3] : ys[offset + index];
+    }
+
+    /**
+     * Backing x column; rows are at [{@link #getOffset()}, getOffset() + {@link #size()}). Do not modify.
+     */
+    public float[] xValues() {
+        return xs;
+    }
+
+    /**
+     * Backing y column, same layout as {@link #xValues()}. Do not modify.
+     */
+    public float[] yValues() {
+        return ys;
+    }
+
+    /**
+     * Backing tuple column, {@link #getStride()} values per row. Do not modify.
+     */
+    public float[] tupleValues() {
+        return tuples;
+    }
+
+    public void setY(int index, float y) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("index " + index + ", size " + size);
+        }
+        if (kind == Kind.CANDLE || kind == Kind.STACKED_BAR) {
+            throw new IllegalArgumentException("patchValues supports single y values only");
+        }
+        ys[offset + index] = y;
+        changed();
+    }
+
+    /**
+     * Entry view of the columns. Writes through (add / set / remove), so the stock DataSet methods keep working.
+     */
+    @SuppressWarnings("unchecked")
+    <T extends Entry> List<T> entries() {
+        return (List<T>) entries;
+    }
+
+    private void changed() {
+        version++;
+        rewriteVersion++;
+        extremaValid = false;
+        Arrays.fill(viewIndex, -1);
+    }
+
+    private Entry view(int index) {
+        long seq = first + index;
+        int slot = (int) (seq & (VIEW_CACHE_SIZE - 1));
+        if (viewIndex[slot] == seq) {
+            return viewCache[slot];
+        }
+
+        Entry entry;
+        int t = (offset + index) * stride;
+        switch (kind) {
+            case BAR:
+                entry = new BarEntry(xs[offset + index], ys[offset + index]);
+                break;
+            case BUBBLE:
+                entry = new BubbleEntry(xs[offset + index], ys[offset + index], tuples[t]);
+                break;
+            case CANDLE:
+                entry = new CandleEntry(xs[offset + index], tuples[t], tuples[t + 1], tuples[t + 2], tuples[t + 3]);
+                break;
+            case STACKED_BAR:
+                entry = new BarEntry(xs[offset + index], Arrays.copyOfRange(tuples, t, t + stride));
+                break;
+            default:
+                entry = new Entry(xs[offset + index], ys[offset + index]);
+                break;
+        }
+        viewCache[slot] = entry;
+        viewIndex[slot] = seq;
+        return entry;
+    }
+
+    private void ensureCapacity(int rows) {
+        if (offset + rows <= xs.length) {
+            return;
+        }
+        if (rows <= xs.length) {
+            compact();
+        } else {
+            reallocate(Math.max(rows, xs.length + (xs.length >> 1) + 8));
+        }
+    }
+
+    private void insert(int index, Collection<? extends Entry> values) {
+        int count = values.size();
+        ensureCapacity(size + count);
+        int from = offset + index;
+        System.arraycopy(xs, from, xs, from + count, size - index);
+        System.arraycopy(ys, from, ys, from + count, size - index);
+        System.arraycopy(tuples, from * stride, tuples, (from + count) * stride, (size - index) * stride);
+
+        int i = index;
+        for (Entry entry : values) {
+            write(i++, entry);
+        }
+        size += count;
+        if (capacity > 0 && size > capacity) {
+            dropFront(size - capacity);
+        }
+        changed();
+    }
+
+    private void write(int index, Entry entry) {
+        xs[offset + index] = entry.getX();
+        ys[offset + index] = entry.getY();
+
+        int t = (offset + index) * stride;
+        if (kind == Kind.BUBBLE) {
+            tuples[t] = entry instanceof BubbleEntry ? ((BubbleEntry) entry).getSize() : 0f;
+        } else if (kind == Kind.CANDLE) {
+            if (!(entry instanceof CandleEntry)) {
+                throw new IllegalArgumentException("Candle data set expects candle entries");
+            }
+            CandleEntry candle = (CandleEntry) entry;
+            tuples[t] = candle.getHigh();
+            tuples[t + 1] = candle.getLow();
+            tuples[t + 2] = candle.getOpen();
+            tuples[t + 3] = candle.getClose();
+        } else if (kind == Kind.STACKED_BAR) {
+            float[] vals = entry instanceof BarEntry ? ((BarEntry) entry).getYVals() : null;
+            if (vals != null && vals.length > stride) {
+                throw new IllegalArgumentException("stack size " + vals.length + " exceeds " + stride);
+            }
+            Arrays.fill(tuples, t, t + stride, 0f);
+            if (vals != null) {
+                System.arraycopy(vals, 0, tuples, t, vals.length);
+            } else {
+                tuples[t] = entry.getY();
+            }
+        }
+    }
+
+    private void removeColumns(int from, int to) {
+        if (from == 0) {
+            // 앞쪽 삭제는 offset 만 옮긴다
+            dropFront(to);
+            changed();
+            return;
+        }
+        int a = offset + from;
+        int b = offset + to;
+        System.arraycopy(xs, b, xs, a, size - to);
+        System.arraycopy(ys, b, ys, a, size - to);
+        System.arraycopy(tuples, b * stride, tuples, a * stride, (size - to) * stride);
+        size -= to - from;
+        changed();
+    }
+
+    /**
+     * Replaces the contents with {@code values} (DataSet.setValues).
+     */
+    void replaceAll(List<? extends Entry> values) {
+        if (values == entries) {
+            return;
+        }
+        ArrayList<Entry> copy = new ArrayList<>(values);
+        size = 0;
+        offset = 0;
+        insert(0, copy);
+    }
+
+    /**
+     * Same search as DataSet.getEntryIndex(float, float, Rounding), on the x / y columns.
+     */
+    public int indexOfX(float xValue, float closestToY, DataSet.Rounding rounding) {
+        if (size == 0) {
+            return -1;
+        }
+
+        int low = 0;
+        int high = size - 1;
+        int closest = high;
+
+        while (low < high) {
+            int m = (low + high) >>> 1;
+
+            final float d1 = xs[offset + m] - xValue;
+            final float d2 = xs[offset + m + 1] - xValue;
+            final float ad1 = Math.abs(d1);
+            final float ad2 = Math.abs(d2);
+
+            if (ad2 < ad1) {
+                // 오른쪽이 더 가깝다
+                low = m + 1;
+            } else if (ad1 < ad2) {
+                high = m;
+            } else if (d1 >= 0.0) {
+                // 같은 거리면 rounding 과 무관하게 DataSet 과 같은 방향을 택한다
+                high = m;
+            } else {
+                low = m + 1;
+            }
+
+            closest = high;
+        }
+
+        float closestXValue = xs[offset + closest];
+        if (rounding == DataSet.Rounding.UP) {
+            if (closestXValue < xValue && closest < size - 1) {
+                ++closest;
+            }
+        } else if (rounding == DataSet.Rounding.DOWN) {
+            if (closestXValue > xValue && closest > 0) {
+                --closest;
+            }
+        }
+
+        // 같은 x 가 여러 개면 y 가 가장 가까운 것
+        if (!Float.isNaN(closestToY)) {
+            while (closest > 0 && xs[offset + closest - 1] == closestXValue) {
+                closest -= 1;
+            }
+
+            float closestYValue = ys[offset + closest];
+            int closestYIndex = closest;
+
+            while (++closest < size && xs[offset + closest] == closestXValue) {
+                if (Math.abs(ys[offset + closest] - closestToY) < Math.abs(closestYValue - closestToY)) {
+                    closestYValue = ys[offset + closest];
+                    closestYIndex = closest;
+                }
+            }
+
+            closest = closestYIndex;
+        }
+
+        return closest;
+    }
+
+    /**
+     * Same as DataSet.getEntriesForXValue(float).
+     */
+    <T extends Entry> List<T> entriesForX(float xValue) {
+        List<T> result = new ArrayList<>();
+        List<T> view = entries();
+
+        int low = 0;
+        int high = size - 1;
+        while (low <= high) {
+            int m = (low + high) >>> 1;
+            if (xs[offset + m] == xValue) {
+                while (m > 0 && xs[offset + m - 1] == xValue) {
+                    m--;
+                }
+                for (; m < size && xs[offset + m] == xValue; m++) {
+                    result.add(view.get(m));
+                }
+                break;
+            } else if (xValue > xs[offset + m]) {
+                low = m + 1;
+            } else {
+                high = m - 1;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * [yMin, yMax] over the index range [from, to] (candle low/high, stack sums), NaN y ignored. Returns {MAX_VALUE, -MAX_VALUE} when empty.
+     */
+    float[] yRange(int from, int to, float[] out) {
+        float min = Float.MAX_VALUE;
+        float max = -Float.MAX_VALUE;
+        boolean plain = kind != Kind.CANDLE && kind != Kind.STACKED_BAR;
+        for (int i = Math.max(0, from); i <= to && i < size; i++) {
+            if (Float.isNaN(ys[offset + i])) {
+                continue;
+            }
+            float low = plain ? ys[offset + i] : getLow(i);
+            float high = plain ? ys[offset + i] : getHigh(i);
+            if (low < min) {
+                min = low;
+            }
+            if (high > max) {
+                max = high;
+            }
+        }
+        out[0] = min;
+        out[1] = max;
+        return out;
+    }
+
+    /**
+     * {xMin, xMax, yMin, yMax} like DataSet.calcMinMax(); extremes are left at +/-MAX_VALUE when empty.
+     */
+    float[] bounds(float[] out) {
+        out[0] = Float.MAX_VALUE;
+        out[1] = -Float.MAX_VALUE;
+        if (capacity > 0 && (kind == Kind.ENTRY || kind == Kind.BAR)) {
+            if (!extremaValid) {
+                rebuildExtrema();
+            }
+            out[2] = minLen > 0 ? yAt(minQ[minHead]) : Float.MAX_VALUE;
+            out[3] = maxLen > 0 ? yAt(maxQ[maxHead]) : -Float.MAX_VALUE;
+        } else {
+            yRange(0, size - 1, tmp);
+            out[2] = tmp[0];
+            out[3] = tmp[1];
+        }
+        if (size > 0) {
+            out[0] = xs[offset];
+            out[1] = xs[offset + size - 1];
+        }
+        return out;
+    }
+
+    /**
+     * DataSet.calcMinMax() of a float-array data set: writes {@link #bounds(float[])} (and the bubble max size)
+     * into {@code dataSet} without walking its entries.
+     *
+     * @return false when the min/max fields are not reachable and the stock calculation has to run instead
+     */
+    static boolean applyBounds(FloatArrayStore store, DataSet<?> dataSet) {
+        // DataSet 생성자에서 store 가 대입되기 전에 한 번 불린다. 생성자 끝에서 다시 계산한다.
+        if (store == null) {
+            return true;
+        }
+        float[] bounds = store.bounds(store.range);
+        return DataSetMutator.setBounds(dataSet, bounds[0], bounds[1], bounds[2], bounds[3], store.maxSize());
+    }
+
+    /**
+     * DataSet.calcMinMaxY(fromX, toX) of a float-array data set, see {@link #applyBounds}.
+     */
+    static boolean applyYRange(FloatArrayStore store, DataSet<?> dataSet, float fromX, float toX) {
+        float[] range = store.range;
+        if (store.size() == 0) {
+            range[0] = Float.MAX_VALUE;
+            range[1] = -Float.MAX_VALUE;
+        } else {
+            int from = store.indexOfX(fromX, Float.NaN, DataSet.Rounding.DOWN);
+            int to = store.indexOfX(toX, Float.NaN, DataSet.Rounding.UP);
+            store.yRange(from, to, range);
+        }
+        return DataSetMutator.setYRange(dataSet, range[0], range[1]);
+    }
+
+    float maxSize() {
+        float max = 0f;
+        if (kind == Kind.BUBBLE) {
+            for (int i = 0; i < size; i++) {
+                max = Math.max(max, tuples[offset + i]);
+            }
+        }
+        return max;
+    }
+
+    private final class EntryList extends AbstractList<Entry> implements RandomAccess {
+
+        @Override
+        public Entry get(int index) {
+            if (index < 0 || index >= size) {
+                throw new IndexOutOfBoundsException("index " + index + ", size " + size);
+            }
+            return view(index);
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public Entry set(int index, Entry element) {
+            Entry previous = get(index);
+            write(index, element);
+            changed();
+            return previous;
+        }
+
+        @Override
+        public void add(int index, Entry element) {
+            if (index < 0 || index > size) {
+                throw new IndexOutOfBoundsException("index " + index + ", size " + size);
+            }
+            insert(index, Collections.singletonList(element));
+        }
+
+        @Override
+        public boolean addAll(int index, Collection<? extends Entry> values) {
+            if (index < 0 || index > size) {
+                throw new IndexOutOfBoundsException("index " + index + ", size " + size);
+            }
+            if (values.isEmpty()) {
+                return false;
+            }
+            insert(index, values);
+            return true;
+        }
+
+        @Override
+        public boolean addAll(Collection<? extends Entry> values) {
+            return addAll(size, values);
+        }
+
+        @Override
+        public Entry remove(int index) {
+            Entry previous = get(index);
+            removeColumns(index, index + 1);
+            return previous;
+        }
+
+        @Override
+        protected void removeRange(int fromIndex, int toIndex) {
+            if (fromIndex < toIndex) {
+                removeColumns(fromIndex, toIndex);
+            }
+        }
+
+        /**
+         * Views are created on demand, so entries are matched by value (x, y) instead of identity.
+         */
+        @Override
+        public int indexOf(Object o) {
+            if (!(o instanceof Entry) || size == 0) {
+                return -1;
+            }
+            Entry entry = (Entry) o;
+            int index = indexOfX(entry.getX(), Float.NaN, DataSet.Rounding.CLOSEST);
+            while (index > 0 && xs[offset + index - 1] == entry.getX()) {
+                index--;
+            }
+            for (; index < size && xs[offset + index] == entry.getX(); index++) {
+                if (ys[offset + index] == entry.getY() || (Float.isNaN(ys[offset + index]) && Float.isNaN(entry.getY()))) {
+                    return index;
+                }
+            }
+            return -1;
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            return indexOf(o) >= 0;
+        }
+    }
+}
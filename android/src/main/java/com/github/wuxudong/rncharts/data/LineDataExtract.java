@@ -1,5 +1,7 @@
 package com.github.wuxudong.rncharts.data;
 
+import android.util.Log;
+
 import com.facebook.react.bridge.ReadableArray;
 import com.facebook.react.bridge.ReadableMap;
 import com.facebook.react.bridge.ReadableType;
@@ -11,7 +13,6 @@ import com.github.mikephil.charting.interfaces.datasets.IDataSet;
 import com.github.wuxudong.rncharts.charts.ConfigurableMinimumLinePositionFillFormatter;
 import com.github.wuxudong.rncharts.utils.BridgeUtils;
 import com.github.wuxudong.rncharts.utils.ChartDataSetConfigUtils;
-import com.github.wuxudong.rncharts.utils.ConversionUtil;
 import com.github.wuxudong.rncharts.utils.DrawableUtils;
 
 import java.lang.Exception;
@@ -32,9 +33,34 @@ public class LineDataExtract extends DataExtract<LineData, Entry> {
 
     @Override
     IDataSet<Entry> createDataSet(ArrayList<Entry> entries, String label) {
+        if (stream != null) {
+            return new FloatArrayLineDataSet(streamStore(FloatArrayStore.of(entries, FloatArrayStore.Kind.ENTRY)), label);
+        }
         return new LineDataSet(entries, label);
     }
 
+    /**
+     * "stream": { capacity, followLatest } 를 store 에 적용한다. capacity 를 넘는 초기 값은 앞쪽부터 버린다.
+     * capacity 가 없거나 0 이하면 경고만 남기고 일반 dataSet (capacity 0) 으로 둔다.
+     */
+    private FloatArrayStore streamStore(FloatArrayStore store) {
+        int capacity = 0;
+        boolean followLatest = false;
+        if (stream != null) {
+            if (BridgeUtils.validate(stream, ReadableType.Number, "capacity") && stream.getInt("capacity") > 0) {
+                capacity = stream.getInt("capacity");
+                followLatest = BridgeUtils.validate(stream, ReadableType.Boolean, "followLatest") && stream.getBoolean("followLatest");
+            } else {
+                Log.w("RNCharts", "stream ignored, 'capacity' must be a positive number");
+            }
+        }
+        if (capacity != store.getCapacity()) {
+            store.setCapacity(capacity);
+        }
+        store.setFollowLatest(followLatest);
+        return store;
+    }
+
     @Override
     void dataSetConfig(Chart chart, IDataSet<Entry> dataSet, ReadableMap config) {
         LineDataSet lineDataSet = (LineDataSet) dataSet;
@@ -114,13 +140,13 @@ public class LineDataExtract extends DataExtract<LineData, Entry> {
                 ReadableMap bundle = icon.getMap("bundle");
                 int width = icon.getInt("width");
                 int height = icon.getInt("height");
-                entry = new Entry(x, (float) map.getDouble("y"), DrawableUtils.drawableFromUrl(bundle.getString("uri"), width, height));
+                entry = new Entry(x, (float) map.getDouble("y"), DrawableUtils.drawableFromUrl(host, bundle.getString("uri"), width, height));
 
             } else {
                 // y는 원본 값을 그대로 사용하고, 표시 자리수는 마커/포매터에서 처리한다.
                 double yRaw = map.getDouble("y");
                 float yVal = (float) yRaw;
-                entry = new Entry(x, yVal, ConversionUtil.toMap(map));
+                entry = new Entry(x, yVal, metadata(map));
             }
         } else if (ReadableType.Number.equals(values.getType(index))) {
             entry = new Entry(x, (float) values.getDouble(index));
@@ -130,4 +156,23 @@ public class LineDataExtract extends DataExtract<LineData, Entry> {
 
         return entry;
     }
+
+    @Override
+    IDataSet<Entry> createPackedDataSet(PackedValues packed, String label) {
+        return new FloatArrayLineDataSet(streamStore(FloatArrayStore.of(packed, FloatArrayStore.Kind.ENTRY)), label);
+    }
+
+    @Override
+    IDataSet<Entry> copyWithValues(IDataSet<Entry> previous, String label) {
+        if (previous instanceof FloatArrayLineDataSet) {
+            // 이전 dataSet 은 버려지므로 store 를 그대로 넘겨받는다.
+            return new FloatArrayLineDataSet(streamStore(((FloatArrayLineDataSet) previous).getStore()), label);
+        }
+        return super.copyWithValues(previous, label);
+    }
+
+    @Override
+    Entry createPackedEntry(PackedValues packed, int index, float x) {
+        return new Entry(x, packed.getY(index));
+    }
 }
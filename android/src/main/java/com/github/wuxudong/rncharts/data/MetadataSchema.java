@@ -0,0 +1,104 @@
+package com.github.wuxudong.rncharts.data;
+
+import com.facebook.react.bridge.ReadableMap;
+import com.facebook.react.bridge.ReadableMapKeySetIterator;
+import com.github.wuxudong.rncharts.utils.ConversionUtil;
+
+import java.util.Arrays;
+import java.util.HashMap;
+
+/**
+ * Key table shared by the {@link EntryMetadata} of one data set.
+ *
+ * 한 dataSet 의 엔트리들은 거의 같은 키(marker, markerUnit, decimalPlaces, markerTitle, markerEmotion ...)를 가지므로
+ * 키 → slot 번호를 한 번만 저장하고 엔트리에는 slot 순서의 값 배열만 둔다.
+ * 반복되는 값("kg", 1, "3" ...)은 intern 해서 같은 인스턴스를 공유한다.
+ * 한 스레드(extract 또는 UI)에서만 갱신된다.
+ */
+public final class MetadataSchema {
+
+    // 값이 모두 다른 경우(예: 엔트리마다 다른 marker 문자열) intern 표가 오히려 메모리를 먹지 않도록 제한한다.
+    private static final int MAX_INTERNED = 256;
+
+    private final HashMap<String, Integer> slots = new HashMap<>();
+    private String[] keys = new String[8];
+    private int keyCount;
+
+    private final HashMap<Object, Object> interned = new HashMap<>();
+
+    private Object[] scratch = new Object[8];
+
+    public int size() {
+        return keyCount;
+    }
+
+    public String keyAt(int slot) {
+        return keys[slot];
+    }
+
+    /**
+     * @return slot of {@code key}, or -1 when no entry of this data set has it.
+     */
+    public int slotOf(Object key) {
+        Integer slot = slots.get(key);
+        return slot != null ? slot : -1;
+    }
+
+    private int slotFor(String key) {
+        Integer slot = slots.get(key);
+        if (slot != null) {
+            return slot;
+        }
+
+        if (keyCount == keys.length) {
+            keys = Arrays.copyOf(keys, keyCount * 2);
+        }
+        keys[keyCount] = key;
+        slots.put(key, keyCount);
+        return keyCount++;
+    }
+
+    private Object intern(Object value) {
+        if (!(value instanceof String || value instanceof Number || value instanceof Boolean)) {
+            return value;
+        }
+
+        Object existing = interned.get(value);
+        if (existing != null) {
+            return existing;
+        }
+        if (interned.size() < MAX_INTERNED) {
+            interned.put(value, value);
+        }
+        return value;
+    }
+
+    /**
+     * Same content as {@link ConversionUtil#toMap(ReadableMap)}, stored against this schema.
+     */
+    public EntryMetadata wrap(ReadableMap map) {
+        if (map == null) {
+            return null;
+        }
+
+        ReadableMapKeySetIterator iterator = map.keySetIterator();
+        if (!iterator.hasNextKey()) {
+            return null;
+        }
+
+        int length = 0;
+        while (iterator.hasNextKey()) {
+            String key = iterator.nextKey();
+            int slot = slotFor(key);
+            if (slot >= scratch.length) {
+                scratch = Arrays.copyOf(scratch, Math.max(slot + 1, scratch.length * 2));
+            }
+            scratch[slot] = intern(ConversionUtil.toObject(map, key));
+            length = Math.max(length, slot + 1);
+        }
+
+        Object[] values = Arrays.copyOf(scratch, length);
+        Arrays.fill(scratch, 0, length, null);
+        return new EntryMetadata(this, values);
+    }
+}
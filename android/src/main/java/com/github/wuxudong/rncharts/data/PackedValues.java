@@ -0,0 +1,224 @@
+package com.github.wuxudong.rncharts.data;
+
+import android.util.Base64;
+
+import com.facebook.react.bridge.ReadableArray;
+import com.facebook.react.bridge.ReadableMap;
+import com.facebook.react.bridge.ReadableType;
+import com.github.wuxudong.rncharts.utils.BridgeUtils;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.util.ArrayList;
+
+/**
+ * Columnar form of a dataset's values ("valuesPacked").
+ *
+ * <pre>
+ * valuesPacked: {
+ *   xs?: number[] | string,   // optional; index is used as x when absent
+ *   ys: number[] | string,    // not needed with ohlc / stacks
+ *   sizes?: number[] | string,  // bubble only
+ *   ohlc?: number[] | string,   // candle only; open, high, low, close per row (stride 4)
+ *   stacks?: number[] | string, // stacked bar only; stackSize values per row
+ *   stackSize?: number,
+ *   dtype?: 'float32' | 'float64'  // for base64 (little-endian) columns, default float32
+ * }
+ * </pre>
+ *
+ * 각 컬럼은 한 번의 bulk 호출(toArrayList 또는 base64 decode)로 읽어서
+ * 엔트리마다 getType/getMap/getDouble 를 호출하는 JNI 왕복을 피한다.
+ * NaN 인 y 는 values 배열의 null 과 동일하게 건너뛴다.
+ * ohlc / stacks 는 고정 stride 의 평평한 tuple 배열이고, ys 가 없으면 y 는 Entry 와 같은 기준으로
+ * 계산한다 (candle: (high + low) / 2, stacked bar: 합계).
+ */
+public final class PackedValues {
+
+    static final String OHLC = "ohlc";
+    static final String STACKS = "stacks";
+
+    private final float[] xs;
+    private final float[] ys;
+    private final float[] sizes;
+    // OHLC 또는 STACKS, 없으면 null
+    private final String tupleKey;
+    private final float[] tuples;
+    private final int stride;
+    private final int size;
+
+    PackedValues(float[] xs, float[] ys) {
+        this(xs, ys, null, null, null, 0);
+    }
+
+    PackedValues(float[] xs, float[] ys, float[] sizes, String tupleKey, float[] tuples, int stride) {
+        int rows;
+        if (tuples != null) {
+            if (stride <= 0 || tuples.length % stride != 0) {
+                throw new IllegalArgumentException("valuesPacked: '" + tupleKey + "' length " + tuples.length + " is not a multiple of " + stride);
+            }
+            rows = tuples.length / stride;
+        } else if (ys != null) {
+            rows = ys.length;
+        } else {
+            throw new IllegalArgumentException("valuesPacked: 'ys' is required");
+        }
+
+        checkLength("xs", xs, rows);
+        checkLength("ys", ys, rows);
+        checkLength("sizes", sizes, rows);
+
+        this.xs = xs;
+        this.ys = ys;
+        this.sizes = sizes;
+        this.tupleKey = tuples != null ? tupleKey : null;
+        this.tuples = tuples;
+        this.stride = tuples != null ? stride : 0;
+        this.size = rows;
+    }
+
+    private static void checkLength(String key, float[] column, int rows) {
+        if (column != null && column.length != rows) {
+            throw new IllegalArgumentException("valuesPacked: '" + key + "' must have one value per row (" + column.length + " != " + rows + ")");
+        }
+    }
+
+    public static PackedValues decode(ReadableMap packed) {
+        boolean float64 = BridgeUtils.validate(packed, ReadableType.String, "dtype")
+                && "float64".equalsIgnoreCase(packed.getString("dtype"));
+
+        float[] ys = decodeColumn(packed, "ys", float64);
+        float[] xs = decodeColumn(packed, "xs", float64);
+        float[] sizes = decodeColumn(packed, "sizes", float64);
+
+        float[] ohlc = decodeColumn(packed, OHLC, float64);
+        if (ohlc != null) {
+            return new PackedValues(xs, ys, sizes, OHLC, ohlc, 4);
+        }
+
+        float[] stacks = decodeColumn(packed, STACKS, float64);
+        if (stacks != null) {
+            if (!BridgeUtils.validate(packed, ReadableType.Number, "stackSize")) {
+                throw new IllegalArgumentException("valuesPacked: 'stackSize' is required with 'stacks'");
+            }
+            return new PackedValues(xs, ys, sizes, STACKS, stacks, packed.getInt("stackSize"));
+        }
+
+        return new PackedValues(xs, ys, sizes, null, null, 0);
+    }
+
+    static float[] decodeColumn(ReadableMap packed, String key, boolean float64) {
+        if (!packed.hasKey(key) || packed.isNull(key)) {
+            return null;
+        }
+
+        ReadableType type = packed.getType(key);
+        if (ReadableType.String.equals(type)) {
+            return decodeBase64(packed.getString(key), float64);
+        } else if (ReadableType.Array.equals(type)) {
+            return toFloatArray(packed.getArray(key));
+        }
+
+        throw new IllegalArgumentException("valuesPacked: '" + key + "' must be a number array or a base64 string");
+    }
+
+    private static float[] toFloatArray(ReadableArray array) {
+        // toArrayList() 는 배열 전체를 한 번에 가져온다.
+        ArrayList<Object> list = array.toArrayList();
+        int n = list.size();
+        float[] out = new float[n];
+        for (int i = 0; i < n; i++) {
+            Object v = list.get(i);
+            out[i] = v instanceof Number ? ((Number) v).floatValue() : Float.NaN;
+        }
+        return out;
+    }
+
+    private static float[] decodeBase64(String encoded, boolean float64) {
+        ByteBuffer buffer = ByteBuffer.wrap(Base64.decode(encoded, Base64.DEFAULT)).order(ByteOrder.LITTLE_ENDIAN);
+
+        if (float64) {
+            DoubleBuffer doubles = buffer.asDoubleBuffer();
+            float[] out = new float[doubles.remaining()];
+            for (int i = 0; i < out.length; i++) {
+                out[i] = (float) doubles.get(i);
+            }
+            return out;
+        }
+
+        float[] out = new float[buffer.remaining() / 4];
+        buffer.asFloatBuffer().get(out);
+        return out;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean hasX() {
+        return xs != null;
+    }
+
+    public float getX(int index) {
+        return xs != null ? xs[index] : index;
+    }
+
+    public float getY(int index) {
+        if (ys != null) {
+            return ys[index];
+        }
+
+        int t = index * stride;
+        if (OHLC.equals(tupleKey)) {
+            return (tuples[t + 1] + tuples[t + 2]) / 2f;
+        }
+        float sum = 0f;
+        for (int k = 0; k < stride; k++) {
+            sum += tuples[t + k];
+        }
+        return sum;
+    }
+
+    public boolean hasTuples(String key) {
+        return key.equals(tupleKey);
+    }
+
+    /**
+     * @param stride expected stride, or -1 for any
+     */
+    void requireTuples(String key, int stride) {
+        if (!hasTuples(key)) {
+            throw new IllegalArgumentException("valuesPacked: '" + key + "' is required for this data type");
+        }
+        if (stride >= 0 && this.stride != stride) {
+            throw new IllegalArgumentException("valuesPacked: '" + key + "' needs " + stride + " values per row");
+        }
+    }
+
+    public int getStride() {
+        return stride;
+    }
+
+    public float getTuple(int index, int k) {
+        return tuples[index * stride + k];
+    }
+
+    /**
+     * Content hash of the decoded columns, used to diff data sets against {@link DataSetCache}.
+     */
+    long fingerprint() {
+        long h = DataSetFingerprint.combine(DataSetFingerprint.of(xs), DataSetFingerprint.of(ys));
+        h = DataSetFingerprint.combine(h, DataSetFingerprint.of(sizes));
+        h = DataSetFingerprint.combine(h, DataSetFingerprint.of(tupleKey));
+        h = DataSetFingerprint.combine(h, DataSetFingerprint.of(tuples));
+        return DataSetFingerprint.combine(h, stride);
+    }
+
+    public boolean hasSizes() {
+        return sizes != null;
+    }
+
+    public float getSize(int index) {
+        return sizes != null ? sizes[index] : 0f;
+    }
+}
@@ -10,7 +10,6 @@ import com.github.mikephil.charting.data.PieEntry;
 import com.github.mikephil.charting.interfaces.datasets.IDataSet;
 import com.github.wuxudong.rncharts.utils.BridgeUtils;
 import com.github.wuxudong.rncharts.utils.ChartDataSetConfigUtils;
-import com.github.wuxudong.rncharts.utils.ConversionUtil;
 
 import java.util.ArrayList;
 import java.util.Locale;
@@ -85,9 +84,9 @@ public class PieDataExtract extends DataExtract<PieData, PieEntry> {
 
             float value = (float) map.getDouble("value");
             if (BridgeUtils.validate(map, ReadableType.String, "label")) {
-                entry = new PieEntry(value, map.getString("label"), ConversionUtil.toMap(map));
+                entry = new PieEntry(value, map.getString("label"), metadata(map));
             } else {
-                entry = new PieEntry(value, ConversionUtil.toMap(map));
+                entry = new PieEntry(value, metadata(map));
             }
         } else if (ReadableType.Number.equals(values.getType(index))) {
             entry = new PieEntry((float) values.getDouble(index));
@@ -98,4 +97,9 @@ public class PieDataExtract extends DataExtract<PieData, PieEntry> {
         return entry;
     }
 
+    // packed 행은 값만 가진다 (x 는 slice 순서라 쓰지 않는다)
+    @Override
+    PieEntry createPackedEntry(PackedValues packed, int index, float x) {
+        return new PieEntry(packed.getY(index));
+    }
 }
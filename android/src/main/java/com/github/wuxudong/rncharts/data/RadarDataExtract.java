@@ -9,7 +9,6 @@ import com.github.mikephil.charting.data.RadarDataSet;
 import com.github.mikephil.charting.data.RadarEntry;
 import com.github.mikephil.charting.interfaces.datasets.IDataSet;
 import com.github.wuxudong.rncharts.utils.ChartDataSetConfigUtils;
-import com.github.wuxudong.rncharts.utils.ConversionUtil;
 
 import java.util.ArrayList;
 
@@ -46,7 +45,7 @@ public class RadarDataExtract extends DataExtract<RadarData, RadarEntry> {
         if (ReadableType.Map.equals(values.getType(index))) {
             ReadableMap map = values.getMap(index);
             float value = (float) map.getDouble("value");
-            entry = new RadarEntry(value, ConversionUtil.toMap(map));
+            entry = new RadarEntry(value, metadata(map));
         } else if (ReadableType.Number.equals(values.getType(index))) {
             entry = new RadarEntry((float) values.getDouble(index));
         } else {
@@ -55,4 +54,9 @@ public class RadarDataExtract extends DataExtract<RadarData, RadarEntry> {
         return entry;
     }
 
+    // packed 행은 값만 가진다 (x 는 축 순서라 쓰지 않는다)
+    @Override
+    RadarEntry createPackedEntry(PackedValues packed, int index, float x) {
+        return new RadarEntry(packed.getY(index));
+    }
 }
@@ -11,7 +11,6 @@ import com.github.mikephil.charting.data.ScatterDataSet;
 import com.github.mikephil.charting.interfaces.datasets.IDataSet;
 import com.github.wuxudong.rncharts.utils.BridgeUtils;
 import com.github.wuxudong.rncharts.utils.ChartDataSetConfigUtils;
-import com.github.wuxudong.rncharts.utils.ConversionUtil;
 
 import java.util.ArrayList;
 import java.util.Locale;
@@ -63,7 +62,7 @@ public class ScatterDataExtract extends DataExtract<ScatterData, Entry> {
             if (map.hasKey("x")) {
                 x = (float) map.getDouble("x");
             }
-            entry = new Entry(x, (float) map.getDouble("y"), ConversionUtil.toMap(map));
+            entry = new Entry(x, (float) map.getDouble("y"), metadata(map));
         } else if (ReadableType.Number.equals(values.getType(index))) {
             entry = new Entry(x, (float) values.getDouble(index));
         } else {
@@ -72,4 +71,23 @@ public class ScatterDataExtract extends DataExtract<ScatterData, Entry> {
 
         return entry;
     }
+
+    @Override
+    IDataSet<Entry> createPackedDataSet(PackedValues packed, String label) {
+        return new FloatArrayScatterDataSet(FloatArrayStore.of(packed, FloatArrayStore.Kind.ENTRY), label);
+    }
+
+    @Override
+    IDataSet<Entry> copyWithValues(IDataSet<Entry> previous, String label) {
+        if (previous instanceof FloatArrayScatterDataSet) {
+            // 이전 dataSet 은 버려지므로 store 를 그대로 넘겨받는다.
+            return new FloatArrayScatterDataSet(((FloatArrayScatterDataSet) previous).getStore(), label);
+        }
+        return super.copyWithValues(previous, label);
+    }
+
+    @Override
+    Entry createPackedEntry(PackedValues packed, int index, float x) {
+        return new Entry(x, packed.getY(index));
+    }
 }
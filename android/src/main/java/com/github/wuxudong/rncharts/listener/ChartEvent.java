@@ -0,0 +1,67 @@
+package com.github.wuxudong.rncharts.listener;
+
+import androidx.annotation.Nullable;
+
+import com.facebook.react.bridge.WritableMap;
+import com.facebook.react.uimanager.events.Event;
+
+/**
+ * "topChange" chart event dispatched through the UIManager EventDispatcher.
+ *
+ * - chartTranslated / chartScaled 는 action 별 coalescing key 로 합쳐져 프레임마다 마지막 것만 JS 로 간다.
+ * - 나머지 action (chartGestureEnd, chartScrollStop ...) 은 합치지 않으므로 버려지지 않는다.
+ */
+public class ChartEvent extends Event<ChartEvent> {
+
+    private static final short KEY_NONE = 0;
+    private static final short KEY_TRANSLATED = 1;
+    private static final short KEY_SCALED = 2;
+
+    private final String action;
+    private final WritableMap payload;
+
+    public ChartEvent(int surfaceId, int viewTag, String action, WritableMap payload) {
+        super(surfaceId, viewTag);
+        this.action = action;
+        this.payload = payload;
+    }
+
+    public static boolean isCoalescable(String action) {
+        return coalescingKeyOf(action) != KEY_NONE;
+    }
+
+    private static short coalescingKeyOf(String action) {
+        if ("chartTranslated".equals(action)) {
+            return KEY_TRANSLATED;
+        }
+        if ("chartScaled".equals(action)) {
+            return KEY_SCALED;
+        }
+        return KEY_NONE;
+    }
+
+    public String getAction() {
+        return action;
+    }
+
+    @Override
+    public String getEventName() {
+        return "topChange";
+    }
+
+    @Override
+    public boolean canCoalesce() {
+        return isCoalescable(action);
+    }
+
+    @Override
+    public short getCoalescingKey() {
+        return coalescingKeyOf(action);
+    }
+
+    @Nullable
+    @Override
+    protected WritableMap getEventData() {
+        return payload;
+    }
+}
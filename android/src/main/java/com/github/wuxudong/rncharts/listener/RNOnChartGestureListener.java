@@ -2,23 +2,28 @@ package com.github.wuxudong.rncharts.listener;
 
 import android.os.Handler;
 import android.os.Looper;
+import android.os.SystemClock;
 import android.util.Log;
 import androidx.annotation.NonNull;
+import android.view.Choreographer;
 import android.view.MotionEvent;
 
 import com.facebook.react.bridge.Arguments;
 import com.facebook.react.bridge.ReactContext;
 import com.facebook.react.bridge.WritableMap;
+import com.facebook.react.uimanager.UIManagerHelper;
+import com.facebook.react.uimanager.events.EventDispatcher;
 import com.facebook.react.uimanager.events.RCTEventEmitter;
 import com.github.mikephil.charting.charts.BarLineChartBase;
 import com.github.mikephil.charting.charts.Chart;
-import com.github.mikephil.charting.components.YAxis;
 import com.github.mikephil.charting.listener.BarLineChartTouchListener;
 import com.github.mikephil.charting.listener.ChartTouchListener;
 import com.github.mikephil.charting.listener.OnChartGestureListener;
-import com.github.mikephil.charting.utils.MPPointD;
-import com.github.mikephil.charting.utils.ViewPortHandler;
+import com.github.wuxudong.rncharts.charts.CalendarLevelSwitcher;
 import com.github.wuxudong.rncharts.charts.ChartGroupHolder;
+import com.github.wuxudong.rncharts.charts.ChartRuntimeState;
+import com.github.wuxudong.rncharts.charts.LodRenderer;
+import com.github.wuxudong.rncharts.charts.ViewportSnapshot;
 import com.github.wuxudong.rncharts.charts.helpers.EdgeLabelHelper;
 import com.github.mikephil.charting.data.ChartData;
 import com.github.mikephil.charting.interfaces.datasets.IDataSet;
@@ -27,7 +32,6 @@ import com.github.mikephil.charting.highlight.Highlight;
 import com.github.mikephil.charting.utils.MPPointF;
 import com.github.wuxudong.rncharts.markers.RNAtfleeMarkerView;
 import android.view.View.MeasureSpec;
-import java.util.WeakHashMap;
 
 import java.lang.ref.WeakReference;
 
@@ -36,13 +40,6 @@ import java.lang.ref.WeakReference;
  */
 public class RNOnChartGestureListener implements OnChartGestureListener {
 
-    /**
-     * Keeps track of each IDataSet's initial drawValues flag supplied by JS.
-     * If the base flag is false, values will never be shown regardless of zoom/scroll.
-     * WeakHashMap avoids memory leaks when datasets are released.
-     */
-    private static final WeakHashMap<IDataSet, Boolean> BASE_DRAW_VALUES = new WeakHashMap<>();
-
     private WeakReference<Chart> mWeakChart;
 
     private String group = null;
@@ -53,8 +50,22 @@ public class RNOnChartGestureListener implements OnChartGestureListener {
     private long eventThrottleMs = 100; // 기본값 100ms
     private long lastTranslateEventTime = 0;
     private long lastScaleEventTime = 0;
-    private static final long CHART_GROUP_SYNC_THROTTLE_MS = 24;
-    private long lastChartGroupSyncTime = 0;
+
+    // chartTranslated / chartScaled 는 제스처 콜백마다 보내지 않고 표시만 해 두었다가
+    // 다음 vsync 에 마지막 viewport 로 한 번 만든다 (EventDispatcher 에서도 action 별로 coalesce 된다).
+    private boolean pendingTranslated = false;
+    private boolean pendingScaled = false;
+    private boolean frameScheduled = false;
+    // eventAck: JS 가 ackEvent 를 부를 때까지 다음 chartTranslated / chartScaled 를 보내지 않는다
+    private boolean eventAck = false;
+    private boolean awaitingAck = false;
+    private final Choreographer.FrameCallback frameCallback = new Choreographer.FrameCallback() {
+        @Override
+        public void doFrame(long frameTimeNanos) {
+            frameScheduled = false;
+            flushPendingEvents(false);
+        }
+    };
 
     // 스크롤/제스처 종료 감지용 debounce - chart deceleration이 종료된 후
     // 마지막 chartTranslated가 보낸 값과 실제 settle 위치 사이 어긋남 보정
@@ -70,6 +81,40 @@ public class RNOnChartGestureListener implements OnChartGestureListener {
         this.eventThrottleMs = Math.max(0, throttleMs);
     }
 
+    public void setEventAck(boolean enabled) {
+        this.eventAck = enabled;
+        if (!enabled) {
+            ack();
+        }
+    }
+
+    /**
+     * Cancels the pending scroll-settle and frame callbacks; the chart view is being dropped.
+     */
+    public void release() {
+        if (scrollSettleRunnable != null) {
+            scrollSettleHandler.removeCallbacks(scrollSettleRunnable);
+            scrollSettleRunnable = null;
+        }
+        if (frameScheduled) {
+            Choreographer.getInstance().removeFrameCallback(frameCallback);
+            frameScheduled = false;
+        }
+        pendingTranslated = false;
+        pendingScaled = false;
+        awaitingAck = false;
+    }
+
+    /**
+     * JS handled the last chartTranslated / chartScaled; sends the latest pending one on the next frame.
+     */
+    public void ack() {
+        awaitingAck = false;
+        if (pendingTranslated || pendingScaled) {
+            scheduleFrame(0);
+        }
+    }
+
     public void setGroup(String group) {
         this.group = group;
     }
@@ -79,23 +124,12 @@ public class RNOnChartGestureListener implements OnChartGestureListener {
     }
 
     private boolean shouldSyncChartGroup(String action) {
-        if ("chartScrollStop".equals(action)
+        // ChartGroupHolder 가 목표만 기록하고 프레임마다 한 번 적용하므로 시간으로 거르지 않는다
+        return "chartScrollStop".equals(action)
                 || "chartGestureEnd".equals(action)
-                || "chartPanEnd".equals(action)) {
-            return true;
-        }
-
-        if (!"chartTranslated".equals(action) && !"chartScaled".equals(action)) {
-            return false;
-        }
-
-        long now = System.currentTimeMillis();
-        if (now - lastChartGroupSyncTime < CHART_GROUP_SYNC_THROTTLE_MS) {
-            return false;
-        }
-
-        lastChartGroupSyncTime = now;
-        return true;
+                || "chartPanEnd".equals(action)
+                || "chartTranslated".equals(action)
+                || "chartScaled".equals(action);
     }
 
     private void syncChartGroup(String action) {
@@ -103,12 +137,9 @@ public class RNOnChartGestureListener implements OnChartGestureListener {
         Chart base = mWeakChart.get();
         if (!(base instanceof BarLineChartBase)) return;
         BarLineChartBase chart = (BarLineChartBase) base;
-        ViewPortHandler viewPortHandler = chart.getViewPortHandler();
-        MPPointD center = chart.getValuesByTouchPoint(
-                viewPortHandler.getContentCenter().getX(),
-                viewPortHandler.getContentCenter().getY(),
-                YAxis.AxisDependency.LEFT);
-        ChartGroupHolder.sync(group, identifier, chart.getScaleX(), chart.getScaleY(), (float) center.x, (float) center.y);
+        ViewportSnapshot viewport = ViewportSnapshot.of(chart);
+        ChartGroupHolder.sync(group, identifier, viewport.getScaleX(), viewport.getScaleY(),
+                (float) viewport.getCenterX(), (float) viewport.getCenterY());
     }
 
     @Override
@@ -170,11 +201,8 @@ public class RNOnChartGestureListener implements OnChartGestureListener {
         adjustValueAndEdgeLabels();
         syncChartGroup("chartScaled");
         
-        long now = System.currentTimeMillis();
-        if (eventThrottleMs == 0 || (now - lastScaleEventTime) >= eventThrottleMs) {
-            sendEvent("chartScaled", me);
-            lastScaleEventTime = now;
-        }
+        pendingScaled = true;
+        scheduleFrame(0);
     }
 
     @Override
@@ -187,11 +215,8 @@ public class RNOnChartGestureListener implements OnChartGestureListener {
         adjustValueAndEdgeLabels();
         syncChartGroup("chartTranslated");
         
-        long now = System.currentTimeMillis();
-        if (eventThrottleMs == 0 || (now - lastTranslateEventTime) >= eventThrottleMs) {
-            sendEvent("chartTranslated", me);
-            lastTranslateEventTime = now;
-        }
+        pendingTranslated = true;
+        scheduleFrame(0);
 
         // 마지막 chartTranslated 후 200ms 동안 추가 이벤트 없으면 chartScrollStop 발송
         // → moveViewToX가 비동기로 settle된 후 정확한 viewport 값을 JS에 전달
@@ -220,18 +245,14 @@ public class RNOnChartGestureListener implements OnChartGestureListener {
         ChartData data = chart.getData();
         if (data == null) return;
 
-        ViewPortHandler vph = chart.getViewPortHandler();
-        MPPointD lb = chart.getValuesByTouchPoint(vph.contentLeft(), vph.contentBottom(), YAxis.AxisDependency.LEFT);
-        MPPointD rt = chart.getValuesByTouchPoint(vph.contentRight(), vph.contentTop(), YAxis.AxisDependency.LEFT);
-        double rawLeft = lb.x;
-        double rawRight = rt.x;
+        ViewportSnapshot viewport = ViewportSnapshot.of(chart);
+        double rawLeft = viewport.getRawLeft();
+        double rawRight = viewport.getRawRight();
         double visibleWidth = rawRight - rawLeft;
         if (visibleWidth <= 0) return;
 
-        float spaceMin = chart.getXAxis().getSpaceMin();
-        float spaceMax = chart.getXAxis().getSpaceMax();
-        double allowedMin = (double) data.getXMin() - spaceMin;
-        double allowedMax = (double) data.getXMax() + spaceMax;
+        double allowedMin = viewport.getAllowedMin();
+        double allowedMax = viewport.getAllowedMax();
 
         if (rawRight > allowedMax) {
             stopDecelerationOnTouchListener(chart);
@@ -255,17 +276,14 @@ public class RNOnChartGestureListener implements OnChartGestureListener {
         BarLineChartBase chart = (BarLineChartBase) base;
 
         boolean showValues = EdgeLabelHelper.shouldShowValues(chart);
+        ChartRuntimeState state = ChartRuntimeState.of(chart);
 
         ChartData data = chart.getData();
         if (data != null) {
             for (Object obj : data.getDataSets()) {
                 if (obj instanceof IDataSet) {
                     IDataSet set = (IDataSet) obj;
-                    Boolean baseDraw = BASE_DRAW_VALUES.get(set);
-                    if (baseDraw == null) {
-                        baseDraw = set.isDrawValuesEnabled();
-                        BASE_DRAW_VALUES.put(set, baseDraw);
-                    }
+                    boolean baseDraw = state.baseDrawValues(set);
 
                     // If user disabled values initially, keep them off.
                     if (!baseDraw) {
@@ -314,22 +332,103 @@ public class RNOnChartGestureListener implements OnChartGestureListener {
         chart.invalidate();
     }
 
+    private void scheduleFrame(long delayMs) {
+        if (frameScheduled) {
+            return;
+        }
+        frameScheduled = true;
+        if (delayMs > 0) {
+            Choreographer.getInstance().postFrameCallbackDelayed(frameCallback, delayMs);
+        } else {
+            Choreographer.getInstance().postFrameCallback(frameCallback);
+        }
+    }
+
+    /**
+     * Sends the pending chartTranslated / chartScaled with the current viewport.
+     *
+     * @param terminal true right before a terminal event so that it never arrives ahead of the last move;
+     *                 skips the throttle and, in eventAck mode, the wait for ackEvent
+     */
+    private void flushPendingEvents(boolean terminal) {
+        Chart chart = mWeakChart.get();
+        if (chart == null) {
+            pendingTranslated = false;
+            pendingScaled = false;
+            return;
+        }
+        if (awaitingAck && !terminal) {
+            // ack() 가 다시 예약한다. 종료 이벤트 직전에는 기다리지 않고 보내야 오래된 chartTranslated 가
+            // 종료 이벤트 뒤에 도착하지 않는다
+            return;
+        }
+
+        long now = SystemClock.uptimeMillis();
+        long wait = 0;
+        if (pendingScaled) {
+            long remaining = terminal ? 0 : lastScaleEventTime + eventThrottleMs - now;
+            if (remaining <= 0) {
+                pendingScaled = false;
+                lastScaleEventTime = now;
+                dispatchEvent(chart, "chartScaled");
+            } else {
+                wait = remaining;
+            }
+        }
+        if (pendingTranslated && (!awaitingAck || terminal)) {
+            long remaining = terminal ? 0 : lastTranslateEventTime + eventThrottleMs - now;
+            if (remaining <= 0) {
+                pendingTranslated = false;
+                lastTranslateEventTime = now;
+                dispatchEvent(chart, "chartTranslated");
+            } else {
+                wait = wait > 0 ? Math.min(wait, remaining) : remaining;
+            }
+        }
+        if (wait > 0 && !awaitingAck) {
+            // throttle 이 끝나는 프레임에 마지막 값을 보낸다 (trailing edge)
+            scheduleFrame(wait);
+        }
+    }
+
     private void sendEvent(String action, MotionEvent me) {
         Chart chart = mWeakChart.get();
-        if (chart != null) {
+        if (chart == null) {
+            return;
+        }
+        if (ChartEvent.isCoalescable(action)) {
+            if ("chartScaled".equals(action)) {
+                pendingScaled = true;
+            } else {
+                pendingTranslated = true;
+            }
+            scheduleFrame(0);
+            return;
+        }
 
-            WritableMap event = getEvent(action, me, chart);
-            try {
-                ReactContext reactContext = (ReactContext) chart.getContext();
+        // 종료 이벤트는 버리지 않고, 밀려 있던 이동 이벤트보다 뒤에 도착하도록 먼저 flush 한다
+        flushPendingEvents(true);
+        dispatchEvent(chart, action);
+    }
 
+    private void dispatchEvent(Chart chart, String action) {
+        WritableMap event = getEvent(action, null, chart);
+        try {
+            ReactContext reactContext = (ReactContext) chart.getContext();
+            EventDispatcher dispatcher = UIManagerHelper.getEventDispatcherForReactTag(reactContext, chart.getId());
+            if (dispatcher != null) {
+                dispatcher.dispatchEvent(new ChartEvent(UIManagerHelper.getSurfaceId(chart), chart.getId(), action, event));
+            } else {
                 reactContext.getJSModule(RCTEventEmitter.class).receiveEvent(
                     chart.getId(),
                     "topChange",
                     event);
-
-            } catch (Exception e) {
-                Log.e("RNChartEvent", "[sendEvent] Exception in receiveEvent", e);
             }
+            if (eventAck && ChartEvent.isCoalescable(action)) {
+                awaitingAck = true;
+            }
+        } catch (Exception e) {
+            Log.e("RNChartEvent", "[sendEvent] Exception in dispatchEvent", e);
         }
     }
 
@@ -340,57 +439,36 @@ public class RNOnChartGestureListener implements OnChartGestureListener {
         event.putString("action", action);
 
         if (chart instanceof BarLineChartBase) {
-//            BarLineChartBase barLineChart = (BarLineChartBase) chart;
-            ViewPortHandler viewPortHandler = chart.getViewPortHandler();
-            event.putDouble("scaleX", chart.getScaleX());
-            event.putDouble("scaleY", chart.getScaleY());
-
-            MPPointD center = ((BarLineChartBase) chart).getValuesByTouchPoint(viewPortHandler.getContentCenter().getX(), viewPortHandler.getContentCenter().getY(), YAxis.AxisDependency.LEFT);
-            event.putDouble("centerX", center.x);
-            event.putDouble("centerY", center.y);
-
-            MPPointD leftBottom = ((BarLineChartBase) chart).getValuesByTouchPoint(
-                    viewPortHandler.contentLeft(),
-                    viewPortHandler.contentBottom(),
-                    YAxis.AxisDependency.LEFT);
-            MPPointD rightTop = ((BarLineChartBase) chart).getValuesByTouchPoint(
-                    viewPortHandler.contentRight(),
-                    viewPortHandler.contentTop(),
-                    YAxis.AxisDependency.LEFT);
-
-            float minX = chart.getData() != null ? chart.getData().getXMin() : Float.MIN_VALUE;
-            float maxX = chart.getData() != null ? chart.getData().getXMax() : Float.MAX_VALUE;
-
-            float spaceMin = chart.getXAxis().getSpaceMin();
-            float spaceMax = chart.getXAxis().getSpaceMax();
-
-            double allowedMin = minX - spaceMin;
-            double allowedMax = maxX + spaceMax;
-
-            double originalWidth = rightTop.x - leftBottom.x;
-            double leftValue = leftBottom.x;
-            double rightValue = rightTop.x;
-
-            if (leftValue < allowedMin) {
-                leftValue = allowedMin;
-                rightValue = leftValue + originalWidth;
-            }
-
-            if (rightValue > allowedMax) {
-                rightValue = allowedMax;
-                leftValue = rightValue - originalWidth;
-            }
-
-            if (leftValue < allowedMin) leftValue = allowedMin;
-            if (rightValue > allowedMax) rightValue = allowedMax;
-
+            // translate 한 번 동안 clamp / group sync / edge label 과 같은 snapshot 을 읽는다
+            ViewportSnapshot viewport = ViewportSnapshot.of((BarLineChartBase) chart);
+            event.putDouble("scaleX", viewport.getScaleX());
+            event.putDouble("scaleY", viewport.getScaleY());
+            event.putDouble("centerX", viewport.getCenterX());
+            event.putDouble("centerY", viewport.getCenterY());
+
+            double leftValue = viewport.getLeft();
+            double rightValue = viewport.getRight();
             event.putDouble("left", leftValue);
-            event.putDouble("bottom", leftBottom.y);
+            event.putDouble("bottom", viewport.getBottom());
             event.putDouble("right", rightValue);
-            event.putDouble("top", rightTop.y);
+            event.putDouble("top", viewport.getTop());
 
             com.github.wuxudong.rncharts.charts.helpers.EdgeLabelHelper.update(chart, leftValue, rightValue);
 
+            // levelOfDetail 이 켜져 있으면 지금 그리는 pyramid level
+            if ("chartScaled".equals(action) && chart.getRenderer() instanceof LodRenderer) {
+                int level = ((LodRenderer) chart.getRenderer()).getLodLevel();
+                if (level >= 0) {
+                    event.putInt("lodLevel", level);
+                }
+            }
+
+            if ("chartScaled".equals(action)) {
+                String aggregationLevel = CalendarLevelSwitcher.levelName(chart);
+                if (aggregationLevel != null) {
+                    event.putString("aggregationLevel", aggregationLevel);
+                }
+            }
         }
         return event;
     }
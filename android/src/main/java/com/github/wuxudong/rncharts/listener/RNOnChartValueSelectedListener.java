@@ -6,11 +6,11 @@ import com.github.mikephil.charting.charts.Chart;
 import com.github.mikephil.charting.data.Entry;
 import com.github.mikephil.charting.highlight.Highlight;
 import com.github.mikephil.charting.listener.OnChartValueSelectedListener;
+import com.github.wuxudong.rncharts.charts.ChartRuntimeState;
 import com.github.wuxudong.rncharts.utils.EntryToWritableMapUtils;
 import com.github.wuxudong.rncharts.markers.RNAtfleeMarkerView;
 
 import java.lang.ref.WeakReference;
-import java.util.WeakHashMap;
 
 /**
  * Created by xudong on 07/03/2017.
@@ -18,8 +18,6 @@ import java.util.WeakHashMap;
 public class RNOnChartValueSelectedListener implements OnChartValueSelectedListener {
 
     private WeakReference<Chart> mWeakChart;
-    private static final WeakHashMap<Chart, Boolean> SUPPRESS_NEXT_CLEAR = new WeakHashMap<>();
-    private static final WeakHashMap<Chart, Boolean> SUPPRESS_SELECT_DURING_TOUCH = new WeakHashMap<>();
 
     /**
      * When called, the next onNothingSelected for the given chart will not emit
@@ -28,18 +26,14 @@ public class RNOnChartValueSelectedListener implements OnChartValueSelectedListe
      */
     public static void suppressNextClear(Chart chart) {
         if (chart != null) {
-            SUPPRESS_NEXT_CLEAR.put(chart, Boolean.TRUE);
+            ChartRuntimeState.of(chart).suppressNextClear = true;
         }
     }
 
     /** Enables/disables suppression of onValueSelected emissions during a touch gesture. */
     public static void setSuppressSelectDuringTouch(Chart chart, boolean suppress) {
         if (chart == null) return;
-        if (suppress) {
-            SUPPRESS_SELECT_DURING_TOUCH.put(chart, Boolean.TRUE);
-        } else {
-            SUPPRESS_SELECT_DURING_TOUCH.remove(chart);
-        }
+        ChartRuntimeState.of(chart).suppressSelectDuringTouch = suppress;
     }
 
     public RNOnChartValueSelectedListener(Chart chart) {
@@ -51,7 +45,7 @@ public class RNOnChartValueSelectedListener implements OnChartValueSelectedListe
 
         if (mWeakChart != null) {
             Chart chart = mWeakChart.get();
-            if (SUPPRESS_SELECT_DURING_TOUCH.get(chart) != null) {
+            if (chart != null && ChartRuntimeState.of(chart).suppressSelectDuringTouch) {
                 try {
                     android.util.Log.d("AtfleeMarkerDebug", "topSelect suppressed during touch: entry(x,y)=(" + entry.getX() + "," + entry.getY() + ")");
                 } catch (Throwable ignore) {}
@@ -86,7 +80,9 @@ public class RNOnChartValueSelectedListener implements OnChartValueSelectedListe
             }
 
             // Suppress emission if this clear originates from a marker click
-            if (SUPPRESS_NEXT_CLEAR.remove(chart) != null) {
+            ChartRuntimeState state = chart != null ? ChartRuntimeState.of(chart) : null;
+            if (state != null && state.suppressNextClear) {
+                state.suppressNextClear = false;
                 try { android.util.Log.d("AtfleeMarkerDebug", "onNothingSelected: suppressed by marker click"); } catch (Throwable ignore) {}
                 return;
             }
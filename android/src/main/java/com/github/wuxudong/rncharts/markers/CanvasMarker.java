@@ -0,0 +1,265 @@
+package com.github.wuxudong.rncharts.markers;
+
+import android.content.Context;
+import android.graphics.Canvas;
+import android.graphics.Color;
+import android.graphics.Paint;
+import android.graphics.RectF;
+import android.graphics.Typeface;
+import android.graphics.drawable.Drawable;
+import android.text.Layout;
+import android.text.StaticLayout;
+import android.text.TextPaint;
+import android.util.LruCache;
+import android.widget.TextView;
+
+import androidx.core.content.ContextCompat;
+
+import com.github.mikephil.charting.data.Entry;
+import com.github.wuxudong.rncharts.R;
+
+/**
+ * Same pill as R.layout.atflee_marker (title, value, emotion, arrow on a rounded background), drawn straight on
+ * the chart canvas for marker renderMode "canvas".
+ *
+ * - entry 마다 만든 StaticLayout / 크기를 LRU 에 두므로 드래그로 같은 entry 를 다시 지나면 측정하지 않는다.
+ *   patchValues 는 entry 를 제자리에서 고치므로, 만들 때의 x / y / data 와 다르면 캐시를 쓰지 않는다.
+ * - 글자 스타일은 marker prop 이 설정한 TextView 의 paint 를 복사해 쓰고, 바뀌면 캐시를 비운다.
+ * - view measure / layout, view tree 변경 (overlay) 이 없다.
+ */
+final class CanvasMarker {
+
+    /**
+     * Measured content of one entry.
+     */
+    static final class Content {
+        final StaticLayout title;
+        final StaticLayout value;
+        final int emotion;
+        final float width;
+        final float height;
+        // 레이아웃을 만들 때의 entry 값
+        private final float x;
+        private final float y;
+        private final Object data;
+
+        Content(StaticLayout title, StaticLayout value, int emotion, float width, float height, Entry entry) {
+            this.title = title;
+            this.value = value;
+            this.emotion = emotion;
+            this.width = width;
+            this.height = height;
+            this.x = entry.getX();
+            this.y = entry.getY();
+            this.data = entry.getData();
+        }
+
+        boolean matches(Entry entry) {
+            return Float.floatToIntBits(entry.getX()) == Float.floatToIntBits(x)
+                    && Float.floatToIntBits(entry.getY()) == Float.floatToIntBits(y)
+                    && entry.getData() == data;
+        }
+    }
+
+    // atflee_marker.xml 과 같은 치수 (dp)
+    private static final float PADDING_DP = 8f;
+    private static final float VALUE_GAP_DP = 6f;
+    private static final float EMOTION_SIZE_DP = 16f;
+    private static final float EMOTION_GAP_DP = 5f;
+    private static final float ARROW_SIZE_DP = 18f;
+    private static final float ARROW_GAP_DP = 10f;
+    private static final float CORNER_DP = 8f;
+
+    private static final int[] EMOTIONS = {
+            R.drawable.emotion1, R.drawable.emotion2, R.drawable.emotion3, R.drawable.emotion4, R.drawable.emotion5
+    };
+
+    private final Context context;
+    private final float density;
+    private final TextPaint titlePaint = new TextPaint(Paint.ANTI_ALIAS_FLAG);
+    private final TextPaint valuePaint = new TextPaint(Paint.ANTI_ALIAS_FLAG);
+    private final Paint backgroundPaint = new Paint(Paint.ANTI_ALIAS_FLAG);
+    private final RectF backgroundRect = new RectF();
+    private final Drawable[] emotions = new Drawable[EMOTIONS.length];
+    private Drawable arrow;
+
+    private final LruCache<Entry, Content> contents = new LruCache<>(64);
+    // 캐시를 만든 스타일
+    private float titleSize;
+    private Typeface titleTypeface;
+    private float valueSize;
+    private Typeface valueTypeface;
+    private boolean arrowHidden;
+
+    CanvasMarker(Context context) {
+        this.context = context;
+        this.density = context.getResources().getDisplayMetrics().density;
+    }
+
+    /**
+     * Copies the text style of the marker TextViews; drops the cached layouts when size or typeface changed.
+     */
+    void syncStyle(TextView title, TextView value, boolean arrowHidden) {
+        titlePaint.setColor(title.getCurrentTextColor());
+        valuePaint.setColor(value.getCurrentTextColor());
+
+        TextPaint t = title.getPaint();
+        TextPaint v = value.getPaint();
+        if (t.getTextSize() != titleSize || t.getTypeface() != titleTypeface
+                || v.getTextSize() != valueSize || v.getTypeface() != valueTypeface
+                || arrowHidden != this.arrowHidden) {
+            titleSize = t.getTextSize();
+            titleTypeface = t.getTypeface();
+            valueSize = v.getTextSize();
+            valueTypeface = v.getTypeface();
+            this.arrowHidden = arrowHidden;
+            titlePaint.setTextSize(titleSize);
+            titlePaint.setTypeface(titleTypeface);
+            valuePaint.setTextSize(valueSize);
+            valuePaint.setTypeface(valueTypeface);
+            contents.evictAll();
+        }
+    }
+
+    /**
+     * Drops every cached layout, e.g. after the x axis formatter changed.
+     */
+    void invalidate() {
+        contents.evictAll();
+    }
+
+    /**
+     * Cached content of {@code entry}, or null when it was never laid out or the entry changed since.
+     */
+    Content get(Entry entry) {
+        Content content = contents.get(entry);
+        if (content != null && !content.matches(entry)) {
+            contents.remove(entry);
+            return null;
+        }
+        return content;
+    }
+
+    /**
+     * Lays out and caches the content of {@code entry}.
+     *
+     * @param emotion "1" .. "5"; anything else draws no emotion
+     */
+    Content put(Entry entry, String title, String value, String emotion) {
+        StaticLayout titleLayout = layout(title, titlePaint);
+        StaticLayout valueLayout = layout(value, valuePaint);
+
+        // view 모드와 같이 "1" .. "5" 만 그린다
+        int emotionIndex = emotion.length() == 1 ? "12345".indexOf(emotion.charAt(0)) : -1;
+
+        float width = dp(PADDING_DP) + titleLayout.getWidth() + dp(VALUE_GAP_DP) + valueLayout.getWidth();
+        float inner = Math.max(titleLayout.getHeight(), valueLayout.getHeight());
+        if (emotionIndex >= 0) {
+            width += dp(EMOTION_GAP_DP) + dp(EMOTION_SIZE_DP);
+            inner = Math.max(inner, dp(EMOTION_SIZE_DP));
+        }
+        if (!arrowHidden) {
+            width += dp(ARROW_GAP_DP) + dp(ARROW_SIZE_DP);
+            inner = Math.max(inner, dp(ARROW_SIZE_DP));
+        }
+        width += dp(PADDING_DP);
+
+        Content content = new Content(titleLayout, valueLayout, emotionIndex, (float) Math.ceil(width),
+                (float) Math.ceil(inner + dp(PADDING_DP) * 2), entry);
+        contents.put(entry, content);
+        return content;
+    }
+
+    /**
+     * Draws {@code content} with its top-left corner at the canvas origin.
+     *
+     * @param alpha 0 - 255, for the fade in
+     */
+    void draw(Canvas canvas, Content content, int color, int alpha) {
+        backgroundPaint.setColor(color | 0xFF000000);
+        backgroundPaint.setAlpha(alpha);
+        backgroundRect.set(0f, 0f, content.width, content.height);
+        canvas.drawRoundRect(backgroundRect, dp(CORNER_DP), dp(CORNER_DP), backgroundPaint);
+
+        float centerY = content.height / 2f;
+        float x = dp(PADDING_DP);
+        x = drawText(canvas, content.title, titlePaint, x, centerY, alpha);
+        x += dp(VALUE_GAP_DP);
+        x = drawText(canvas, content.value, valuePaint, x, centerY, alpha);
+
+        if (content.emotion >= 0) {
+            x += dp(EMOTION_GAP_DP);
+            x = drawIcon(canvas, emotion(content.emotion), x, centerY, dp(EMOTION_SIZE_DP), alpha);
+        }
+        if (!arrowHidden) {
+            x += dp(ARROW_GAP_DP);
+            if (arrow == null) {
+                arrow = mutated(R.drawable.dropdown_circle_right);
+            }
+            drawIcon(canvas, arrow, x, centerY, dp(ARROW_SIZE_DP), alpha);
+        }
+    }
+
+    /**
+     * Height of the pill for a single line of text, before any entry is laid out.
+     */
+    float height() {
+        Paint.FontMetrics title = titlePaint.getFontMetrics();
+        Paint.FontMetrics value = valuePaint.getFontMetrics();
+        float inner = Math.max(title.bottom - title.top, value.bottom - value.top);
+        if (!arrowHidden) {
+            inner = Math.max(inner, dp(ARROW_SIZE_DP));
+        }
+        return (float) Math.ceil(inner + dp(PADDING_DP) * 2);
+    }
+
+    float emotionSize() {
+        return dp(EMOTION_SIZE_DP);
+    }
+
+    private float drawText(Canvas canvas, StaticLayout layout, TextPaint paint, float x, float centerY, int alpha) {
+        int color = paint.getColor();
+        paint.setAlpha(Math.round(Color.alpha(color) * alpha / 255f));
+        canvas.save();
+        canvas.translate(x, centerY - layout.getHeight() / 2f);
+        layout.draw(canvas);
+        canvas.restore();
+        paint.setColor(color);
+        return x + layout.getWidth();
+    }
+
+    private static float drawIcon(Canvas canvas, Drawable drawable, float x, float centerY, float size, int alpha) {
+        if (drawable != null) {
+            int top = Math.round(centerY - size / 2f);
+            drawable.setBounds(Math.round(x), top, Math.round(x + size), Math.round(top + size));
+            drawable.setAlpha(alpha);
+            drawable.draw(canvas);
+        }
+        return x + size;
+    }
+
+    private Drawable emotion(int index) {
+        if (emotions[index] == null) {
+            emotions[index] = mutated(EMOTIONS[index]);
+        }
+        return emotions[index];
+    }
+
+    // 다른 marker 와 상태 (bounds, alpha) 를 나누지 않도록 mutate 한다
+    private Drawable mutated(int resId) {
+        Drawable drawable = ContextCompat.getDrawable(context, resId);
+        return drawable != null ? drawable.mutate() : null;
+    }
+
+    private static StaticLayout layout(String text, TextPaint paint) {
+        int width = (int) Math.ceil(Layout.getDesiredWidth(text, paint));
+        // template 이 "\n" 을 넣을 수 있으므로 줄 수는 제한하지 않는다 (폭은 가장 긴 줄)
+        return StaticLayout.Builder.obtain(text, 0, text.length(), paint, Math.max(width, 1))
+                .setIncludePad(true)
+                .build();
+    }
+
+    private float dp(float value) {
+        return value * density;
+    }
+}
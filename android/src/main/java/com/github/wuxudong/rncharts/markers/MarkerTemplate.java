@@ -0,0 +1,313 @@
+package com.github.wuxudong.rncharts.markers;
+
+import com.github.mikephil.charting.data.CandleEntry;
+import com.github.mikephil.charting.data.Entry;
+import com.github.wuxudong.rncharts.data.EntryMetadata;
+import com.github.wuxudong.rncharts.data.MetadataSchema;
+
+import java.text.DecimalFormatSymbols;
+import java.util.Arrays;
+import java.util.Map;
+
+/**
+ * Marker text template ("template" marker prop), compiled once into segments.
+ *
+ * - "{y:.1f}{markerUnit}", "{title}\n{y}" 처럼 {필드} 또는 {필드:.N(f)} 를 쓴다. "{{" / "}}" 는 중괄호 글자.
+ * - 필드: y, x, title, open / high / low / close (candle, 아니면 y), 그 밖의 이름은 엔트리 metadata 키.
+ * - 자릿수가 없는 숫자는 metadata decimalPlaces, 없으면 marker 의 기본 자릿수를 쓴다.
+ * - metadata 는 schema 가 바뀔 때만 slot 을 다시 찾고, 숫자는 String.format 없이 재사용하는 builder 에 쓴다.
+ */
+final class MarkerTemplate {
+
+    private static final int LITERAL = 0;
+    private static final int Y = 1;
+    private static final int X = 2;
+    private static final int TITLE = 3;
+    private static final int OPEN = 4;
+    private static final int HIGH = 5;
+    private static final int LOW = 6;
+    private static final int CLOSE = 7;
+    private static final int METADATA = 8;
+
+    // 자릿수별 10^n, 이보다 긴 자릿수는 String.format 으로 넘긴다
+    private static final long[] POW10 = {
+            1L, 10L, 100L, 1000L, 10000L, 100000L, 1000000L, 10000000L, 100000000L, 1000000000L
+    };
+
+    private final int[] kinds;
+    // LITERAL 은 글자, METADATA 는 키
+    private final String[] texts;
+    // -1: decimalPlaces / 기본 자릿수
+    private final int[] digits;
+    private final boolean usesTitle;
+    private final char decimalSeparator = DecimalFormatSymbols.getInstance().getDecimalSeparator();
+
+    private final StringBuilder builder = new StringBuilder();
+
+    // 같은 dataSet 의 엔트리는 schema 를 공유하므로 schema 가 바뀌거나 키가 늘었을 때만 slot 을 다시 찾는다.
+    private MetadataSchema slotSchema;
+    private int slotSchemaSize = -1;
+    private final int[] slots;
+    private int slotDecimalPlaces = -1;
+
+    private MarkerTemplate(int[] kinds, String[] texts, int[] digits) {
+        this.kinds = kinds;
+        this.texts = texts;
+        this.digits = digits;
+        this.slots = new int[kinds.length];
+
+        boolean title = false;
+        for (int kind : kinds) {
+            title |= kind == TITLE;
+        }
+        this.usesTitle = title;
+    }
+
+    /**
+     * @return null for a null or empty template
+     * @throws IllegalArgumentException on an unclosed brace or a bad precision
+     */
+    static MarkerTemplate compile(String template) {
+        if (template == null || template.isEmpty()) {
+            return null;
+        }
+
+        int capacity = 4;
+        int[] kinds = new int[capacity];
+        String[] texts = new String[capacity];
+        int[] digits = new int[capacity];
+        int count = 0;
+
+        StringBuilder literal = new StringBuilder();
+        int i = 0;
+        int length = template.length();
+        while (i <= length) {
+            char c = i < length ? template.charAt(i) : 0;
+            boolean field = i < length && c == '{' && !(i + 1 < length && template.charAt(i + 1) == '{');
+            if (i == length || field) {
+                if (literal.length() > 0) {
+                    if (count == capacity) {
+                        capacity *= 2;
+                        kinds = Arrays.copyOf(kinds, capacity);
+                        texts = Arrays.copyOf(texts, capacity);
+                        digits = Arrays.copyOf(digits, capacity);
+                    }
+                    kinds[count] = LITERAL;
+                    texts[count] = literal.toString();
+                    digits[count] = -1;
+                    count++;
+                    literal.setLength(0);
+                }
+                if (i == length) {
+                    break;
+                }
+
+                int end = template.indexOf('}', i + 1);
+                if (end < 0) {
+                    throw new IllegalArgumentException("marker template: unclosed '{' at " + i + " in \"" + template + "\"");
+                }
+                String spec = template.substring(i + 1, end).trim();
+                String name = spec;
+                int precision = -1;
+                int colon = spec.indexOf(':');
+                if (colon >= 0) {
+                    name = spec.substring(0, colon).trim();
+                    precision = parsePrecision(spec.substring(colon + 1).trim(), template);
+                }
+                if (name.isEmpty()) {
+                    throw new IllegalArgumentException("marker template: empty field at " + i + " in \"" + template + "\"");
+                }
+
+                if (count == capacity) {
+                    capacity *= 2;
+                    kinds = Arrays.copyOf(kinds, capacity);
+                    texts = Arrays.copyOf(texts, capacity);
+                    digits = Arrays.copyOf(digits, capacity);
+                }
+                kinds[count] = kindOf(name);
+                texts[count] = kinds[count] == METADATA ? name : null;
+                digits[count] = precision;
+                count++;
+                i = end + 1;
+            } else {
+                literal.append(c);
+                // "{{" / "}}" 는 한 글자로
+                if ((c == '{' || c == '}') && i + 1 < length && template.charAt(i + 1) == c) {
+                    i++;
+                }
+                i++;
+            }
+        }
+
+        return new MarkerTemplate(Arrays.copyOf(kinds, count), Arrays.copyOf(texts, count), Arrays.copyOf(digits, count));
+    }
+
+    private static int kindOf(String name) {
+        switch (name) {
+            case "y":
+                return Y;
+            case "x":
+                return X;
+            case "title":
+                return TITLE;
+            case "open":
+                return OPEN;
+            case "high":
+                return HIGH;
+            case "low":
+                return LOW;
+            case "close":
+                return CLOSE;
+            default:
+                return METADATA;
+        }
+    }
+
+    // ".1f", ".1", "1"
+    private static int parsePrecision(String format, String template) {
+        String number = format;
+        if (number.startsWith(".")) {
+            number = number.substring(1);
+        }
+        if (number.endsWith("f")) {
+            number = number.substring(0, number.length() - 1);
+        }
+        try {
+            int precision = Integer.parseInt(number);
+            if (precision >= 0) {
+                return precision;
+            }
+        } catch (NumberFormatException ignored) {
+        }
+        throw new IllegalArgumentException("marker template: bad precision \"" + format + "\" in \"" + template + "\"");
+    }
+
+    /**
+     * Whether the template references {title}; callers can skip formatting the x value otherwise.
+     */
+    boolean usesTitle() {
+        return usesTitle;
+    }
+
+    /**
+     * @param title         text of {title}
+     * @param defaultDigits precision of numbers without one when the entry has no decimalPlaces
+     */
+    String format(Entry e, String title, int defaultDigits) {
+        Object data = e.getData();
+        EntryMetadata metadata = null;
+        Map map = null;
+        if (data instanceof EntryMetadata) {
+            metadata = (EntryMetadata) data;
+            resolveSlots(metadata.getSchema());
+        } else if (data instanceof Map) {
+            map = (Map) data;
+        }
+
+        int fallbackDigits = defaultDigits;
+        Object decimalPlaces = metadata != null ? metadata.get(slotDecimalPlaces)
+                : map != null ? map.get("decimalPlaces") : null;
+        if (decimalPlaces != null) {
+            fallbackDigits = toDigits(decimalPlaces, defaultDigits);
+        }
+
+        CandleEntry candle = e instanceof CandleEntry ? (CandleEntry) e : null;
+        StringBuilder sb = builder;
+        sb.setLength(0);
+        for (int i = 0; i < kinds.length; i++) {
+            int precision = digits[i] >= 0 ? digits[i] : fallbackDigits;
+            switch (kinds[i]) {
+                case LITERAL:
+                    sb.append(texts[i]);
+                    break;
+                case Y:
+                    appendNumber(sb, e.getY(), precision);
+                    break;
+                case X:
+                    appendNumber(sb, e.getX(), precision);
+                    break;
+                case TITLE:
+                    if (title != null) {
+                        sb.append(title);
+                    }
+                    break;
+                case OPEN:
+                    appendNumber(sb, candle != null ? candle.getOpen() : e.getY(), precision);
+                    break;
+                case HIGH:
+                    appendNumber(sb, candle != null ? candle.getHigh() : e.getY(), precision);
+                    break;
+                case LOW:
+                    appendNumber(sb, candle != null ? candle.getLow() : e.getY(), precision);
+                    break;
+                case CLOSE:
+                    appendNumber(sb, candle != null ? candle.getClose() : e.getY(), precision);
+                    break;
+                default: {
+                    Object value = metadata != null ? metadata.get(slots[i]) : map != null ? map.get(texts[i]) : null;
+                    if (value instanceof Number && digits[i] >= 0) {
+                        appendNumber(sb, ((Number) value).doubleValue(), digits[i]);
+                    } else if (value != null) {
+                        sb.append(value);
+                    }
+                }
+            }
+        }
+        return sb.toString();
+    }
+
+    private void resolveSlots(MetadataSchema schema) {
+        if (schema == slotSchema && schema.size() == slotSchemaSize) {
+            return;
+        }
+        slotSchema = schema;
+        slotSchemaSize = schema.size();
+        slotDecimalPlaces = schema.slotOf("decimalPlaces");
+        for (int i = 0; i < kinds.length; i++) {
+            slots[i] = kinds[i] == METADATA ? schema.slotOf(texts[i]) : -1;
+        }
+    }
+
+    private static int toDigits(Object value, int defaultDigits) {
+        if (value instanceof Number) {
+            return Math.max(0, ((Number) value).intValue());
+        }
+        try {
+            return Math.max(0, Integer.parseInt(value.toString().trim()));
+        } catch (NumberFormatException ignored) {
+            return defaultDigits;
+        }
+    }
+
+    // String.format("%.Nf") 과 같은 결과 (HALF_UP, 그룹 구분자 없음, 기본 locale 소수점).
+    // String.format 은 Double.toString 의 십진 자릿수를 반올림하므로 (1.005 -> "1.01"), abs * 10^N 이 .5 에
+    // 오차 범위만큼 가까우면 곱셈 결과로는 방향을 알 수 없어 String.format 으로 넘긴다.
+    private void appendNumber(StringBuilder sb, double value, int precision) {
+        double abs = Math.abs(value);
+        if (precision >= POW10.length || Double.isNaN(value) || Double.isInfinite(value)
+                || abs * POW10[Math.min(precision, POW10.length - 1)] >= 9e18) {
+            sb.append(String.format("%." + precision + "f", value));
+            return;
+        }
+
+        long scale = POW10[precision];
+        double product = abs * scale;
+        if (Math.abs(product - Math.floor(product) - 0.5) <= 4 * Math.ulp(product)) {
+            sb.append(String.format("%." + precision + "f", value));
+            return;
+        }
+        long scaled = Math.round(product);
+        if (value < 0) {
+            sb.append('-');
+        }
+        sb.append(scaled / scale);
+        if (precision > 0) {
+            long fraction = scaled % scale;
+            sb.append(decimalSeparator);
+            for (long p = scale / 10; p > 1 && fraction < p; p /= 10) {
+                sb.append('0');
+            }
+            sb.append(fraction);
+        }
+    }
+}
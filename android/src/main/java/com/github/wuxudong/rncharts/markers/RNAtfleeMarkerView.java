@@ -2,6 +2,8 @@ package com.github.wuxudong.rncharts.markers;
 
 import android.annotation.SuppressLint;
 import android.content.Context;
+import android.graphics.Canvas;
+import android.os.SystemClock;
 import android.text.TextUtils;
 import android.util.Log;
 import android.view.MotionEvent;
@@ -20,10 +22,13 @@ import com.github.mikephil.charting.components.MarkerView;
 import com.github.mikephil.charting.charts.Chart;
 import com.github.mikephil.charting.data.CandleEntry;
 import com.github.mikephil.charting.data.Entry;
+import com.github.mikephil.charting.formatter.ValueFormatter;
 import com.github.mikephil.charting.highlight.Highlight;
 import com.github.mikephil.charting.utils.MPPointF;
 import com.github.mikephil.charting.utils.Utils;
 import com.github.wuxudong.rncharts.R;
+import com.github.wuxudong.rncharts.data.EntryMetadata;
+import com.github.wuxudong.rncharts.data.MetadataSchema;
 import com.github.wuxudong.rncharts.utils.EntryToWritableMapUtils;
 import com.github.wuxudong.rncharts.listener.RNOnChartValueSelectedListener;
 
@@ -57,12 +62,29 @@ public class RNAtfleeMarkerView extends MarkerView {
     private int lastMeasuredWidth = 0;
     private int lastMeasuredHeight = 0;
 
+    // slot indices of the marker keys in slotSchema
+    private MetadataSchema slotSchema;
+    private int slotSchemaSize;
+    private int slotMarker = -1;
+    private int slotMarkerTitle = -1;
+    private int slotMarkerEmotion = -1;
+
     /**
      * Animation start timestamp and duration for fade in effect.
      */
     private long fadeStart = 0L;
     private long fadeDuration;
 
+    // template prop 이 없을 때의 값 ("%.{decimalPlaces}f" + markerUnit)
+    private final MarkerTemplate defaultTemplate = MarkerTemplate.compile("{y}{markerUnit}");
+    private MarkerTemplate template;
+
+    // renderMode "canvas" 일 때만 있다
+    private CanvasMarker canvasMarker;
+    private CanvasMarker.Content canvasContent;
+    private ValueFormatter canvasFormatter;
+    private long canvasFadeStart = 0L;
+
     public void setFadeDuration(long duration) {
         this.fadeDuration = duration;
     }
@@ -81,20 +103,36 @@ public class RNAtfleeMarkerView extends MarkerView {
     }
 
 
-    @SuppressLint("ClickableViewAccessibility")
-    @Override
-    public void refreshContent(Entry e, Highlight highlight) {
-        Log.d(TAG, "refreshContent: entry x=" + e.getX() + ", y=" + e.getY()
-                + ", drawX=" + highlight.getDrawX() + ", drawY=" + highlight.getDrawY());
-        lastEntry = e;
-        if (fadeStart == 0L) {
-            fadeStart = System.currentTimeMillis();
-            // Start transparent and fade in
-            setAlpha(0f);
+    // 같은 dataSet 의 엔트리는 schema 를 공유하므로 schema 가 바뀌거나 키가 늘었을 때만 slot 을 다시 찾는다.
+    private void resolveSlots(MetadataSchema schema) {
+        if (schema == slotSchema && schema.size() == slotSchemaSize) {
+            return;
         }
+        slotSchema = schema;
+        slotSchemaSize = schema.size();
+        slotMarker = schema.slotOf("marker");
+        slotMarkerTitle = schema.slotOf("markerTitle");
+        slotMarkerEmotion = schema.slotOf("markerEmotion");
+    }
+
+    private static String stringOrDefault(Object value, String defaultValue) {
+        return value != null ? value.toString() : defaultValue;
+    }
+
+    // 마커에 표시할 타이틀 / 값 / 감정 이모티콘
+    private static final class MarkerText {
+        final String title;
+        final String value;
+        final String emotion;
+
+        MarkerText(String title, String value, String emotion) {
+            this.title = title;
+            this.value = value;
+            this.emotion = emotion;
+        }
+    }
 
-        String decimalPlaces = "0";
-        String markerUnit = "";
+    private MarkerText markerText(Entry e) {
         String markerString = "";
         String markerEmotion = "";
 
@@ -107,54 +145,58 @@ public class RNAtfleeMarkerView extends MarkerView {
         // 줄바꿈이 있을 경우 공백으로 대체
         String title = raw.replace("\n", " ");
 
-        //
-        if (e.getData() instanceof Map) {
-            // 단위
-            if (((Map) e.getData()).containsKey("markerUnit")) {
-                Object marker = ((Map) e.getData()).get("markerUnit");
-                markerUnit = marker.toString();
-            }
-
-            // marker 글자
-            if (((Map) e.getData()).containsKey("marker")) {
-                Object marker = ((Map) e.getData()).get("marker");
-                markerString = marker.toString();
-            }
-
-            // decimal places
-            if (((Map) e.getData()).containsKey("decimalPlaces")) {
-                Object marker = ((Map) e.getData()).get("decimalPlaces");
-                decimalPlaces = marker.toString();
-            }
-
-            // 타이틀 수동 설정
-            if (((Map) e.getData()).containsKey("markerTitle")) {
-                Object marker = ((Map) e.getData()).get("markerTitle");
-                title = marker.toString();
-            }
+        Object data = e.getData();
+        if (data instanceof EntryMetadata) {
+            EntryMetadata metadata = (EntryMetadata) data;
+            resolveSlots(metadata.getSchema());
+
+            markerString = stringOrDefault(metadata.get(slotMarker), markerString);
+            title = stringOrDefault(metadata.get(slotMarkerTitle), title);
+            markerEmotion = stringOrDefault(metadata.get(slotMarkerEmotion), markerEmotion);
+        } else if (data instanceof Map) {
+            Map map = (Map) data;
+            // marker 글자, 타이틀 수동 설정, 감정 이모티콘
+            markerString = stringOrDefault(map.get("marker"), markerString);
+            title = stringOrDefault(map.get("markerTitle"), title);
+            markerEmotion = stringOrDefault(map.get("markerEmotion"), markerEmotion);
         }
 
-        tvTitle.setText(title);
-
-        if (e instanceof CandleEntry) {
+        String value;
+        if (template == null && e instanceof CandleEntry) {
             CandleEntry ce = (CandleEntry) e;
-            tvContent.setText(Utils.formatNumber(ce.getHigh(), 0, true));
+            value = Utils.formatNumber(ce.getHigh(), 0, true);
+        } else if (markerString.isEmpty()) {
+            // 단위 (markerUnit), 자릿수 (decimalPlaces) 는 template 이 읽는다
+            value = (template != null ? template : defaultTemplate).format(e, title, 0);
         } else {
-            if (markerString.isEmpty()) {
-                tvContent.setText(String.format("%." + decimalPlaces + "f", e.getY()) + markerUnit);
-            } else {
-                tvContent.setText(markerString);
-            }
+            value = markerString;
         }
+        return new MarkerText(title, value, markerEmotion);
+    }
 
-        // 감정 이모티콘
-        if (e.getData() instanceof Map) {
-            if (((Map) e.getData()).containsKey("markerEmotion")) {
-
-                Object marker = ((Map) e.getData()).get("markerEmotion");
-                markerEmotion = marker.toString();
-            }
+    @SuppressLint("ClickableViewAccessibility")
+    @Override
+    public void refreshContent(Entry e, Highlight highlight) {
+        if (canvasMarker != null) {
+            refreshCanvasContent(e, highlight);
+            return;
+        }
+        Log.d(TAG, "refreshContent: entry x=" + e.getX() + ", y=" + e.getY()
+                + ", drawX=" + highlight.getDrawX() + ", drawY=" + highlight.getDrawY());
+        lastEntry = e;
+        if (fadeStart == 0L) {
+            fadeStart = System.currentTimeMillis();
+            // Start transparent and fade in
+            setAlpha(0f);
         }
+
+        MarkerText text = markerText(e);
+        String markerEmotion = text.emotion;
+
+        tvTitle.setText(text.title);
+        tvContent.setText(text.value);
+
+        // 감정 이모티콘
         if (TextUtils.isEmpty(markerEmotion)) {
             imageEmotion.setVisibility(GONE);
         } else {
@@ -199,12 +241,93 @@ public class RNAtfleeMarkerView extends MarkerView {
         super.refreshContent(e, highlight);
     }
 
+    /**
+     * renderMode "canvas": only looks up (or lays out once) the content of {@code e} and its hit-test rect.
+     */
+    private void refreshCanvasContent(Entry e, Highlight highlight) {
+        if (lastEntry == null) {
+            // 드래그 중에는 다시 fade 하지 않고, 새로 나타날 때만 fade in 한다
+            canvasFadeStart = SystemClock.uptimeMillis();
+        }
+        lastEntry = e;
+
+        ValueFormatter formatter = getChartView().getXAxis().getValueFormatter();
+        if (formatter != canvasFormatter) {
+            canvasFormatter = formatter;
+            canvasMarker.invalidate();
+        }
+        canvasMarker.syncStyle(tvTitle, tvContent, arrowHidden);
+
+        CanvasMarker.Content content = canvasMarker.get(e);
+        if (content == null) {
+            MarkerText text = markerText(e);
+            content = canvasMarker.put(e, text.title, text.value, text.emotion);
+        }
+        canvasContent = content;
+
+        MPPointF drawingOffset = getOffsetForDrawingAtPoint(highlight.getDrawX(), highlight.getDrawY());
+        lastLeftInChart = highlight.getDrawX() + drawingOffset.x;
+        lastTopInChart = highlight.getDrawY() + drawingOffset.y;
+        lastMeasuredWidth = Math.round(content.width);
+        lastMeasuredHeight = Math.round(content.height);
+    }
+
+    @Override
+    public void draw(Canvas canvas, float posX, float posY) {
+        if (canvasMarker == null) {
+            super.draw(canvas, posX, posY);
+            return;
+        }
+        if (canvasContent == null) {
+            return;
+        }
+
+        int alpha = 255;
+        if (canvasFadeStart > 0L && fadeDuration > 0L) {
+            long elapsed = SystemClock.uptimeMillis() - canvasFadeStart;
+            if (elapsed < fadeDuration) {
+                alpha = Math.round(255f * elapsed / fadeDuration);
+                getChartView().postInvalidateOnAnimation();
+            } else {
+                canvasFadeStart = 0L;
+            }
+        }
+
+        MPPointF offset = getOffsetForDrawingAtPoint(posX, posY);
+        int saveId = canvas.save();
+        canvas.translate(posX + offset.x, posY + offset.y);
+        canvasMarker.draw(canvas, canvasContent, markerColor, alpha);
+        canvas.restoreToCount(saveId);
+    }
+
+    // view 모드는 측정된 view 크기, canvas 모드는 그리는 content 의 크기
+    private float markerWidth() {
+        if (canvasMarker != null) {
+            return canvasContent != null ? canvasContent.width : 0f;
+        }
+        return getWidth();
+    }
+
+    private float markerHeight() {
+        if (canvasMarker != null) {
+            return canvasContent != null ? canvasContent.height : 0f;
+        }
+        return getHeight();
+    }
+
+    private boolean emotionVisible() {
+        if (canvasMarker != null) {
+            return canvasContent != null && canvasContent.emotion >= 0;
+        }
+        return imageEmotion.getVisibility() == View.VISIBLE;
+    }
+
     @Override
     public MPPointF getOffset() {
-        if (imageEmotion.getVisibility() == View.VISIBLE) {
-            return new MPPointF(-(getWidth() / 2), -getHeight());
+        if (emotionVisible()) {
+            return new MPPointF(-(markerWidth() / 2), -markerHeight());
         } else {
-            return new MPPointF(-(getWidth() / 2), -getChartView().getHeight() + getHeight());
+            return new MPPointF(-(markerWidth() / 2), -getChartView().getHeight() + markerHeight());
         }
     }
 
@@ -213,7 +336,7 @@ public class RNAtfleeMarkerView extends MarkerView {
         float chartHeight = getChartView() != null ? getChartView().getHeight() : 0f;
         boolean showAbove = fixedOnTop ? true : posY > chartHeight * 0.35f;
 
-        float width = getWidth();
+        float width = markerWidth();
         // y축 레이블은 viewPortHandler.contentRect 바깥(마진)에 그려지므로
         // 마커 rect 는 contentLeft~contentRight 안으로 clamp 해야 y값 레이블을 가리지 않음.
         // 4dp 의 작은 여유 — 0 이면 y축 레이블에 붙어보이고, 8dp 는 너무 띄움.
@@ -227,11 +350,11 @@ public class RNAtfleeMarkerView extends MarkerView {
         if (fixedOnTop) {
             offsetY = 8f - posY;
         } else if (showAbove) {
-            offsetY = -getHeight();
+            offsetY = -markerHeight();
         } else {
             offsetY = 0f;
-            if (imageEmotion.getVisibility() == View.VISIBLE) {
-                offsetY += imageEmotion.getHeight();
+            if (emotionVisible()) {
+                offsetY += canvasMarker != null ? canvasMarker.emotionSize() : imageEmotion.getHeight();
             }
         }
 
@@ -265,22 +388,27 @@ public class RNAtfleeMarkerView extends MarkerView {
 
     public float getFixedTopReservedOffsetDp() {
         if (!fixedOnTop) return 0f;
-        int widthSpec = MeasureSpec.makeMeasureSpec(0, MeasureSpec.UNSPECIFIED);
-        int heightSpec = MeasureSpec.makeMeasureSpec(0, MeasureSpec.UNSPECIFIED);
-        measure(widthSpec, heightSpec);
         float density = getResources().getDisplayMetrics().density;
         if (density <= 0f) return 0f;
         float fixedTopPx = 8f;
         float gapDp = 4f;
-        return fixedTopPx / density + getMeasuredHeight() / density + gapDp;
+        return fixedTopPx / density + fixedTopHeight() / density + gapDp;
     }
 
     public float getFixedTopBottomPx() {
         if (!fixedOnTop) return 0f;
+        return 8f + fixedTopHeight();
+    }
+
+    private float fixedTopHeight() {
+        if (canvasMarker != null) {
+            canvasMarker.syncStyle(tvTitle, tvContent, arrowHidden);
+            return canvasMarker.height();
+        }
         int widthSpec = MeasureSpec.makeMeasureSpec(0, MeasureSpec.UNSPECIFIED);
         int heightSpec = MeasureSpec.makeMeasureSpec(0, MeasureSpec.UNSPECIFIED);
         measure(widthSpec, heightSpec);
-        return 8f + getMeasuredHeight();
+        return getMeasuredHeight();
     }
 
     private void handleClick() {
@@ -334,6 +462,7 @@ public class RNAtfleeMarkerView extends MarkerView {
      */
     public void detachOverlayIfPresent() {
         lastEntry = null;
+        canvasContent = null;
         // Clear cached geometry
         lastLeftInChart = Float.NaN;
         lastTopInChart = Float.NaN;
@@ -535,7 +664,9 @@ public class RNAtfleeMarkerView extends MarkerView {
 
     public void resetState() {
         fadeStart = 0L;
+        canvasFadeStart = 0L;
         lastEntry = null;
+        canvasContent = null;
         // Clear cached geometry so hit-testing returns false immediately after hide
         lastLeftInChart = Float.NaN;
         lastTopInChart = Float.NaN;
@@ -560,6 +691,37 @@ public class RNAtfleeMarkerView extends MarkerView {
         }
     }
 
+    /**
+     * Value text template, e.g. "{y:.1f}{markerUnit}"; null or empty restores the default. See {@link MarkerTemplate}.
+     */
+    public void setTemplate(String template) {
+        try {
+            this.template = MarkerTemplate.compile(template);
+        } catch (IllegalArgumentException e) {
+            // 잘못된 template 으로 prop 갱신 전체가 실패하지 않도록 기본 template ("{y}{markerUnit}") 으로 둔다
+            android.util.Log.w("RNCharts", "marker template ignored: " + e.getMessage());
+            this.template = null;
+        }
+        if (canvasMarker != null) {
+            canvasMarker.invalidate();
+        }
+    }
+
+    /**
+     * "canvas" draws the marker on the chart canvas from cached layouts (no view measure / overlay while
+     * dragging); anything else uses the inflated layout.
+     */
+    public void setRenderMode(String mode) {
+        if ("canvas".equals(mode)) {
+            if (canvasMarker == null) {
+                canvasMarker = new CanvasMarker(getContext());
+            }
+        } else {
+            canvasMarker = null;
+            canvasContent = null;
+        }
+    }
+
     public void setFixedOnTop(boolean fixed) {
         this.fixedOnTop = fixed;
     }
@@ -31,6 +31,7 @@ public class RNRectangleMarkerView extends MarkerView {
     private Drawable backgroundTopRight = ResourcesCompat.getDrawable(getResources(), R.drawable.rectangle_marker_top_right, null);
 
     private int digits = 0;
+    private MarkerTemplate template;
 
     public RNRectangleMarkerView(Context context) {
         super(context, R.layout.rectangle_marker);
@@ -42,11 +43,30 @@ public class RNRectangleMarkerView extends MarkerView {
         this.digits = digits;
     }
 
+    /**
+     * Text template, e.g. "{title}\n{y}"; numbers without a precision use {@code digits}. See {@link MarkerTemplate}.
+     */
+    public void setTemplate(String template) {
+        try {
+            this.template = MarkerTemplate.compile(template);
+        } catch (IllegalArgumentException e) {
+            // 잘못된 template 은 기본 표시 (y 또는 candle close) 로 둔다
+            android.util.Log.w("RNCharts", "marker template ignored: " + e.getMessage());
+            this.template = null;
+        }
+    }
+
     @Override
     public void refreshContent(Entry e, Highlight highlight) {
         String text;
 
-        if (e instanceof CandleEntry) {
+        if (template != null) {
+            Chart chart = getChartView();
+            String title = template.usesTitle() && chart != null
+                    ? chart.getXAxis().getValueFormatter().getFormattedValue(e.getX())
+                    : null;
+            text = template.format(e, title, digits);
+        } else if (e instanceof CandleEntry) {
             CandleEntry ce = (CandleEntry) e;
             text = Utils.formatNumber(ce.getClose(), digits, false);
         } else {
@@ -10,12 +10,15 @@ import com.github.mikephil.charting.data.CandleEntry;
 import com.github.mikephil.charting.data.Entry;
 import com.github.mikephil.charting.data.PieEntry;
 import com.github.mikephil.charting.data.RadarEntry;
+import com.github.wuxudong.rncharts.data.EntryMetadata;
+import com.github.wuxudong.rncharts.data.MetadataSchema;
 
 import org.json.JSONArray;
 import org.json.JSONException;
 import org.json.JSONObject;
 
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -29,7 +32,9 @@ public final class EntryToWritableMapUtils {
 
         WritableMap map = new WritableNativeMap();
 
-        if(entry.getData() instanceof Map) {
+        if (entry.getData() instanceof EntryMetadata) {
+            map.putMap("data", convertMetadataToWritableMap((EntryMetadata) entry.getData()));
+        } else if(entry.getData() instanceof Map) {
             map.putMap("data", convertMapToWritableMap((Map) entry.getData()));
         }
 
@@ -82,6 +87,42 @@ public final class EntryToWritableMapUtils {
         return map;
     }
 
+    // schema slot 을 바로 훑어서 JSONObject 를 거치지 않는다. 중첩 값(icon 등)만 기존 경로로 변환한다.
+    private static WritableMap convertMetadataToWritableMap(EntryMetadata metadata) {
+        WritableMap map = new WritableNativeMap();
+        MetadataSchema schema = metadata.getSchema();
+
+        for (int slot = 0; slot < schema.size(); slot++) {
+            Object value = metadata.get(slot);
+            if (value == null) {
+                continue;
+            }
+
+            String key = schema.keyAt(slot);
+            if (value instanceof Boolean) {
+                map.putBoolean(key, (Boolean) value);
+            } else if (value instanceof Integer) {
+                map.putInt(key, (Integer) value);
+            } else if (value instanceof Double) {
+                map.putDouble(key, (Double) value);
+            } else if (value instanceof String) {
+                map.putString(key, (String) value);
+            } else if (value instanceof Map) {
+                map.putMap(key, convertMapToWritableMap((Map) value));
+            } else if (value instanceof List) {
+                try {
+                    map.putArray(key, convertJsonToWritableArray(new JSONArray((List) value)));
+                } catch (JSONException ex) {
+                    map.putString("error", "Failed to convert JSONArray to WritableArray: " + ex.getMessage());
+                }
+            } else {
+                map.putString(key, value.toString());
+            }
+        }
+
+        return map;
+    }
+
     private static WritableMap convertMapToWritableMap(Map map) {
         return convertJsonToWritableMap(new JSONObject(map));
     }
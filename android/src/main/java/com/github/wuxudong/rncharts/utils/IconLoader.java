@@ -0,0 +1,337 @@
+package com.github.wuxudong.rncharts.utils;
+
+import android.content.Context;
+import android.graphics.Bitmap;
+import android.graphics.BitmapFactory;
+import android.graphics.Canvas;
+import android.graphics.ColorFilter;
+import android.graphics.Paint;
+import android.graphics.PixelFormat;
+import android.graphics.drawable.Drawable;
+import android.net.Uri;
+import android.os.Process;
+import android.util.Log;
+import android.util.LruCache;
+import android.view.View;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.ref.WeakReference;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Non-blocking loader for entry icons.
+ *
+ * - 요청 즉시 {@link IconDrawable}(로드 전에는 아무것도 그리지 않는 placeholder)을 돌려준다.
+ * - 디코드 + 목표 크기로 미리 스케일한 Bitmap 을 "uri@WxH" 키의 LRU 에 둔다.
+ * - 같은 키의 요청은 엔트리/차트에 관계없이 하나의 fetch 와 하나의 drawable 을 공유한다.
+ * - 로드가 끝나면 drawable 을 요청한 차트들을 postInvalidate 한다.
+ *
+ * 지원 URI: http(s)://, file://, asset:/path, file:///android_asset/path, content://,
+ * 그리고 scheme 없는 이름(릴리즈 번들의 drawable 리소스 이름).
+ */
+public final class IconLoader {
+
+    private static final String TAG = "RNCharts-IconLoader";
+    private static final String ANDROID_ASSET_PREFIX = "/android_asset/";
+    private static final int HTTP_TIMEOUT_MS = 10000;
+
+    private static final LruCache<String, Bitmap> cache = new LruCache<String, Bitmap>(
+            (int) Math.min(Runtime.getRuntime().maxMemory() / 32, 16 * 1024 * 1024)) {
+        @Override
+        protected int sizeOf(String key, Bitmap value) {
+            return value.getByteCount();
+        }
+    };
+
+    // 로드 중인 키 → 공유 drawable
+    private static final HashMap<String, IconDrawable> inFlight = new HashMap<>();
+
+    private static final ExecutorService executor = createExecutor();
+
+    private IconLoader() {
+    }
+
+    private static ExecutorService createExecutor() {
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(3, 3, 30, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<Runnable>(),
+                new ThreadFactory() {
+                    private final AtomicInteger count = new AtomicInteger();
+
+                    @Override
+                    public Thread newThread(final Runnable r) {
+                        Thread thread = new Thread(new Runnable() {
+                            @Override
+                            public void run() {
+                                Process.setThreadPriority(Process.THREAD_PRIORITY_BACKGROUND);
+                                r.run();
+                            }
+                        }, "RNCharts-icon-" + count.incrementAndGet());
+                        thread.setDaemon(true);
+                        return thread;
+                    }
+                });
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    /**
+     * @param host view to invalidate once the bitmap is ready (may be null)
+     */
+    public static Drawable load(Context context, String uri, int width, int height, View host) {
+        final String key = uri + "@" + width + "x" + height;
+
+        Bitmap cached = cache.get(key);
+        if (cached != null) {
+            return new IconDrawable(width, height, cached);
+        }
+
+        final IconDrawable drawable;
+        synchronized (inFlight) {
+            IconDrawable pending = inFlight.get(key);
+            if (pending != null) {
+                pending.addHost(host);
+                return pending;
+            }
+
+            drawable = new IconDrawable(width, height, null);
+            drawable.addHost(host);
+            inFlight.put(key, drawable);
+        }
+
+        final Context appContext = context != null ? context.getApplicationContext() : null;
+        executor.execute(new Runnable() {
+            @Override
+            public void run() {
+                Bitmap bitmap = null;
+                try {
+                    bitmap = decodeScaled(appContext, uri, width, height);
+                } catch (Exception e) {
+                    Log.w(TAG, "failed to load icon " + uri, e);
+                }
+
+                if (bitmap != null) {
+                    cache.put(key, bitmap);
+                }
+                synchronized (inFlight) {
+                    inFlight.remove(key);
+                }
+                // 실패하면 placeholder(빈 아이콘)로 남는다.
+                if (bitmap != null) {
+                    drawable.setBitmap(bitmap);
+                }
+            }
+        });
+
+        return drawable;
+    }
+
+    private static Bitmap decodeScaled(Context context, String uri, int width, int height) throws IOException {
+        // 원격 아이콘을 두 번 받지 않도록 한 번 읽은 바이트로 크기 확인과 디코드를 모두 한다.
+        // drawable 리소스는 앱 안에 있으므로 그대로 두 번 디코드한다.
+        Uri parsed = Uri.parse(uri);
+        int resId = 0;
+        byte[] bytes = null;
+        if (parsed.getScheme() == null) {
+            resId = resourceId(context, uri);
+            if (resId == 0) {
+                return null;
+            }
+        } else {
+            bytes = read(context, parsed);
+            if (bytes == null) {
+                return null;
+            }
+        }
+
+        // 먼저 크기만 읽어서 inSampleSize 를 정한 뒤 디코드한다.
+        BitmapFactory.Options bounds = new BitmapFactory.Options();
+        bounds.inJustDecodeBounds = true;
+        decode(context, resId, bytes, bounds);
+
+        BitmapFactory.Options options = new BitmapFactory.Options();
+        options.inSampleSize = 1;
+        if (bounds.outWidth > 0 && bounds.outHeight > 0 && width > 0 && height > 0) {
+            while (bounds.outWidth / (options.inSampleSize * 2) >= width
+                    && bounds.outHeight / (options.inSampleSize * 2) >= height) {
+                options.inSampleSize *= 2;
+            }
+        }
+
+        Bitmap decoded = decode(context, resId, bytes, options);
+        if (decoded == null || width <= 0 || height <= 0
+                || (decoded.getWidth() == width && decoded.getHeight() == height)) {
+            return decoded;
+        }
+
+        Bitmap scaled = Bitmap.createScaledBitmap(decoded, width, height, true);
+        if (scaled != decoded) {
+            decoded.recycle();
+        }
+        return scaled;
+    }
+
+    private static Bitmap decode(Context context, int resId, byte[] bytes, BitmapFactory.Options options) {
+        if (resId != 0) {
+            return BitmapFactory.decodeResource(context.getResources(), resId, options);
+        }
+        return BitmapFactory.decodeByteArray(bytes, 0, bytes.length, options);
+    }
+
+    // 릴리즈 빌드에서 Image.resolveAssetSource 는 drawable 리소스 이름을 돌려준다.
+    private static int resourceId(Context context, String uri) {
+        if (context == null) {
+            return 0;
+        }
+        String name = uri.replace('.', '_').replace('/', '_').replace('-', '_').toLowerCase();
+        return context.getResources().getIdentifier(name, "drawable", context.getPackageName());
+    }
+
+    /**
+     * Whole content of {@code uri}, read once.
+     */
+    private static byte[] read(Context context, Uri uri) throws IOException {
+        String scheme = uri.getScheme();
+        InputStream input = null;
+        HttpURLConnection connection = null;
+        String path = uri.getPath();
+        try {
+            if ("http".equalsIgnoreCase(scheme) || "https".equalsIgnoreCase(scheme)) {
+                connection = (HttpURLConnection) new URL(uri.toString()).openConnection();
+                connection.setConnectTimeout(HTTP_TIMEOUT_MS);
+                connection.setReadTimeout(HTTP_TIMEOUT_MS);
+                input = connection.getInputStream();
+            } else if ("asset".equalsIgnoreCase(scheme)) {
+                input = requireContext(context).getAssets().open(trimLeadingSlash(path));
+            } else if ("file".equalsIgnoreCase(scheme) && path != null && path.startsWith(ANDROID_ASSET_PREFIX)) {
+                input = requireContext(context).getAssets().open(path.substring(ANDROID_ASSET_PREFIX.length()));
+            } else if ("file".equalsIgnoreCase(scheme)) {
+                input = new FileInputStream(new File(path));
+            } else {
+                input = requireContext(context).getContentResolver().openInputStream(uri);
+            }
+            if (input == null) {
+                return null;
+            }
+
+            int length = connection != null ? connection.getContentLength() : -1;
+            ByteArrayOutputStream output = new ByteArrayOutputStream(length > 0 ? length : 16 * 1024);
+            byte[] buffer = new byte[8 * 1024];
+            int n;
+            while ((n = input.read(buffer)) != -1) {
+                output.write(buffer, 0, n);
+            }
+            return output.toByteArray();
+        } finally {
+            if (input != null) {
+                input.close();
+            }
+            // 연결 실패 / 읽기 실패여도 socket 을 놓는다
+            if (connection != null) {
+                connection.disconnect();
+            }
+        }
+    }
+
+    private static Context requireContext(Context context) throws IOException {
+        if (context == null) {
+            throw new IOException("no context to resolve icon");
+        }
+        return context;
+    }
+
+    private static String trimLeadingSlash(String path) {
+        return path != null && path.startsWith("/") ? path.substring(1) : path;
+    }
+
+    /**
+     * Icon placeholder that starts drawing once its bitmap arrives. Shared by every entry asking for the same icon.
+     */
+    static final class IconDrawable extends Drawable {
+        private final int width;
+        private final int height;
+        private final Paint paint = new Paint(Paint.FILTER_BITMAP_FLAG);
+        private volatile Bitmap bitmap;
+        private final List<WeakReference<View>> hosts = new ArrayList<>();
+
+        IconDrawable(int width, int height, Bitmap bitmap) {
+            this.width = width;
+            this.height = height;
+            this.bitmap = bitmap;
+        }
+
+        void addHost(View host) {
+            if (host == null) {
+                return;
+            }
+            synchronized (hosts) {
+                for (WeakReference<View> ref : hosts) {
+                    if (ref.get() == host) {
+                        return;
+                    }
+                }
+                hosts.add(new WeakReference<>(host));
+            }
+        }
+
+        void setBitmap(Bitmap bitmap) {
+            this.bitmap = bitmap;
+
+            synchronized (hosts) {
+                for (WeakReference<View> ref : hosts) {
+                    View host = ref.get();
+                    if (host != null) {
+                        host.postInvalidate();
+                    }
+                }
+                hosts.clear();
+            }
+        }
+
+        @Override
+        public void draw(Canvas canvas) {
+            Bitmap current = bitmap;
+            if (current != null) {
+                canvas.drawBitmap(current, null, getBounds(), paint);
+            }
+        }
+
+        @Override
+        public int getIntrinsicWidth() {
+            return width;
+        }
+
+        @Override
+        public int getIntrinsicHeight() {
+            return height;
+        }
+
+        @Override
+        public void setAlpha(int alpha) {
+            paint.setAlpha(alpha);
+        }
+
+        @Override
+        public void setColorFilter(ColorFilter colorFilter) {
+            paint.setColorFilter(colorFilter);
+        }
+
+        @Override
+        public int getOpacity() {
+            return PixelFormat.TRANSLUCENT;
+        }
+    }
+}
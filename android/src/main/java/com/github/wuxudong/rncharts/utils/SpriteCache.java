@@ -0,0 +1,143 @@
+package com.github.wuxudong.rncharts.utils;
+
+import android.content.ComponentCallbacks2;
+import android.content.Context;
+import android.content.res.Configuration;
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.graphics.drawable.Drawable;
+import android.util.LruCache;
+
+import androidx.core.content.ContextCompat;
+import androidx.core.graphics.drawable.DrawableCompat;
+
+import java.util.HashMap;
+
+/**
+ * Drawable resources rasterized once per (resource, size, tint) and shared by every chart.
+ *
+ * - 그리기 (UI thread) 중 조회는 재사용하는 probe key 로 하므로 hit 에서는 할당이 없다.
+ * - drawable 이름 → resource id 도 한 번만 찾는다 (getIdentifier 는 느리다).
+ * - 시스템이 메모리 회수를 요청하면 (onTrimMemory / onLowMemory) 캐시를 줄이거나 비운다.
+ */
+public final class SpriteCache {
+
+    private static final class Key {
+        int resId;
+        int width;
+        int height;
+        int tint;
+
+        Key set(int resId, int width, int height, int tint) {
+            this.resId = resId;
+            this.width = width;
+            this.height = height;
+            this.tint = tint;
+            return this;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) o;
+            return resId == other.resId && width == other.width && height == other.height && tint == other.tint;
+        }
+
+        @Override
+        public int hashCode() {
+            int hash = resId;
+            hash = hash * 31 + width;
+            hash = hash * 31 + height;
+            return hash * 31 + tint;
+        }
+    }
+
+    private static final LruCache<Key, Bitmap> cache = new LruCache<Key, Bitmap>(
+            (int) Math.min(Runtime.getRuntime().maxMemory() / 64, 8 * 1024 * 1024)) {
+        @Override
+        protected int sizeOf(Key key, Bitmap value) {
+            return value.getByteCount();
+        }
+    };
+
+    private static final Key probe = new Key();
+    private static final HashMap<String, Integer> resourceIds = new HashMap<>();
+    private static boolean registered = false;
+
+    private SpriteCache() {
+    }
+
+    /**
+     * Bitmap of drawable {@code resId} at {@code width} x {@code height} px (intrinsic size when &lt;= 0),
+     * tinted with {@code tint} unless it is 0. Null when the resource cannot be loaded.
+     */
+    public static Bitmap get(Context context, int resId, int width, int height, int tint) {
+        Bitmap bitmap = cache.get(probe.set(resId, width, height, tint));
+        if (bitmap != null) {
+            return bitmap;
+        }
+
+        register(context);
+        Drawable drawable = ContextCompat.getDrawable(context, resId);
+        if (drawable == null) {
+            return null;
+        }
+        drawable = DrawableCompat.wrap(drawable).mutate();
+        if (tint != 0) {
+            DrawableCompat.setTint(drawable, tint);
+        }
+
+        int w = width > 0 ? width : drawable.getIntrinsicWidth();
+        int h = height > 0 ? height : drawable.getIntrinsicHeight();
+        if (w <= 0 || h <= 0) {
+            return null;
+        }
+        bitmap = Bitmap.createBitmap(w, h, Bitmap.Config.ARGB_8888);
+        Canvas canvas = new Canvas(bitmap);
+        drawable.setBounds(0, 0, w, h);
+        drawable.draw(canvas);
+
+        cache.put(new Key().set(resId, width, height, tint), bitmap);
+        return bitmap;
+    }
+
+    /**
+     * Id of the drawable resource {@code name} (release bundle / library drawables), or 0 when there is none.
+     */
+    public static int resourceId(Context context, String name) {
+        Integer resId = resourceIds.get(name);
+        if (resId == null) {
+            resId = context.getResources().getIdentifier(name, "drawable", context.getPackageName());
+            resourceIds.put(name, resId);
+        }
+        return resId;
+    }
+
+    private static void register(Context context) {
+        if (registered) {
+            return;
+        }
+        registered = true;
+        context.getApplicationContext().registerComponentCallbacks(new ComponentCallbacks2() {
+            @Override
+            public void onTrimMemory(int level) {
+                if (level >= ComponentCallbacks2.TRIM_MEMORY_UI_HIDDEN) {
+                    cache.evictAll();
+                } else if (level >= ComponentCallbacks2.TRIM_MEMORY_RUNNING_LOW) {
+                    cache.trimToSize(cache.maxSize() / 2);
+                }
+            }
+
+            @Override
+            public void onConfigurationChanged(Configuration newConfig) {
+            }
+
+            @Override
+            public void onLowMemory() {
+                cache.evictAll();
+            }
+        });
+    }
+}
@@ -88,6 +88,28 @@ const iface = {
     // Throttle for chartTranslated and chartScaled events (in milliseconds)
     // Default: 100ms. Set to 0 to disable throttling.
     eventThrottle: PropTypes.number,
+    // Send no further chartTranslated / chartScaled until ackEvent() is called (Android)
+    eventAck: PropTypes.bool,
+
+    // Draw large line datasets from a downsampled copy (LTTB) sized to the chart width,
+    // and bar / candle datasets as one min/max envelope per pixel column. Android only.
+    decimation: PropTypes.bool,
+
+    // Draw long series from a precomputed min/max pyramid; the level in use is sent
+    // as `lodLevel` with `chartScaled` events. Android only.
+    levelOfDetail: PropTypes.bool,
+
+    // Instead of showing all value labels or none (maxVisibleValueCount), keep showing them
+    // and drop the ones overlapping a label of higher priority. Android only.
+    valueLabelCollision: PropTypes.bool,
+
+    // Visible span in days from which datasets with an `aggregation` config are drawn per
+    // day / week / month. Defaults to { week: 35, month: 180 }. Android only.
+    aggregationThresholds: PropTypes.shape({
+      day: PropTypes.number,
+      week: PropTypes.number,
+      month: PropTypes.number
+    }),
   }
 };
 
@@ -83,6 +83,7 @@ const chartIface = {
       easingY: PropTypes.string
     }),
 
+    asyncData: PropTypes.bool,
     chartBackgroundColor: PropTypes.number,
     logEnabled: PropTypes.bool,
     noDataText: PropTypes.string,
@@ -114,6 +115,8 @@ const chartIface = {
       textColor: PropTypes.number,
       textSize: PropTypes.number,
       fixedOnTop: PropTypes.bool,
+      renderMode: PropTypes.oneOf(['view', 'canvas']),
+      template: PropTypes.string,
 
     }),
 
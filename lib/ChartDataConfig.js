@@ -1,6 +1,32 @@
 import PropTypes from "prop-types";
 import ChartDataSetConfig from "./ChartDataSetConfig";
 
+// columnar alternative to `values`: number arrays or base64 little-endian blobs
+const valuesPacked = PropTypes.shape({
+  xs: PropTypes.oneOfType([
+    PropTypes.arrayOf(PropTypes.number),
+    PropTypes.string
+  ]),
+  ys: PropTypes.oneOfType([
+    PropTypes.arrayOf(PropTypes.number),
+    PropTypes.string
+  ]),
+  sizes: PropTypes.oneOfType([
+    PropTypes.arrayOf(PropTypes.number),
+    PropTypes.string
+  ]),
+  ohlc: PropTypes.oneOfType([
+    PropTypes.arrayOf(PropTypes.number),
+    PropTypes.string
+  ]),
+  stacks: PropTypes.oneOfType([
+    PropTypes.arrayOf(PropTypes.number),
+    PropTypes.string
+  ]),
+  stackSize: PropTypes.number,
+  dtype: PropTypes.oneOf(["float32", "float64"])
+});
+
 const lineData = PropTypes.shape({
   dataSets: PropTypes.arrayOf(
     PropTypes.shape({
@@ -19,6 +45,11 @@ const lineData = PropTypes.shape({
           PropTypes.number
         ])
       ),
+      valuesPacked: valuesPacked,
+      stream: PropTypes.shape({
+        capacity: PropTypes.number.isRequired,
+        followLatest: PropTypes.bool
+      }),
       label: PropTypes.string.isRequired,
       config: PropTypes.shape({
         ...ChartDataSetConfig.common,
@@ -75,6 +106,7 @@ const barData = PropTypes.shape({
           ])
         ])
       ),
+      valuesPacked: valuesPacked,
       label: PropTypes.string.isRequired,
       config: PropTypes.shape({
         ...ChartDataSetConfig.common,
@@ -105,9 +137,13 @@ const bubbleData = PropTypes.shape({
           x: PropTypes.number,
           y: PropTypes.number.isRequired,
           size: PropTypes.number.isRequired,
-          marker: PropTypes.string
+          marker: PropTypes.string,
+          // drawable resource name and tint of the icon drawn at the point (combined chart, Android only)
+          iconName: PropTypes.string,
+          iconTint: PropTypes.number
         })
       ),
+      valuesPacked: valuesPacked,
       label: PropTypes.string.isRequired,
       config: PropTypes.shape({
         ...ChartDataSetConfig.common,
@@ -130,6 +166,7 @@ const candleData = PropTypes.shape({
           marker: PropTypes.string
         })
       ),
+      valuesPacked: valuesPacked,
       label: PropTypes.string.isRequired,
       config: PropTypes.shape({
         ...ChartDataSetConfig.common,
@@ -222,6 +259,7 @@ const scatterData = PropTypes.shape({
           PropTypes.number
         ])
       ),
+      valuesPacked: valuesPacked,
       label: PropTypes.string.isRequired,
       config: PropTypes.shape({
         ...ChartDataSetConfig.common,
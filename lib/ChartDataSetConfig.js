@@ -28,7 +28,15 @@ const chartDataSetConfig = {
   },
 
   barLineScatterCandleBubble: {
-    highlightColor: PropTypes.number
+    highlightColor: PropTypes.number,
+    // Android only: day / week / month buckets picked natively by visible span (see aggregationThresholds)
+    aggregation: PropTypes.shape({
+      method: PropTypes.oneOf(["sum", "avg", "min", "max", "last"]),
+      since: PropTypes.number,
+      timeUnit: PropTypes.oneOf(["MILLISECONDS", "SECONDS", "MINUTES", "HOURS", "DAYS"]),
+      locale: PropTypes.string,
+      timeZone: PropTypes.string
+    })
   },
 
   lineScatterCandleRadar: {
@@ -19,5 +19,56 @@ export default function ScrollEnhancer(Chart) {
         [data]
       );
     }
+
+    // values: same shape as dataSet.values, or a valuesPacked object
+    appendValues(dataSetIndex, values) {
+      UIManager.dispatchViewManagerCommand(
+        findNodeHandle(this.getNativeComponentRef()),
+        getCommand(this, 'appendValues'),
+        [dataSetIndex, values]
+      );
+    }
+
+    prependValues(dataSetIndex, values) {
+      UIManager.dispatchViewManagerCommand(
+        findNodeHandle(this.getNativeComponentRef()),
+        getCommand(this, 'prependValues'),
+        [dataSetIndex, values]
+      );
+    }
+
+    removeRange(dataSetIndex, fromIndex, count) {
+      UIManager.dispatchViewManagerCommand(
+        findNodeHandle(this.getNativeComponentRef()),
+        getCommand(this, 'removeRange'),
+        [dataSetIndex, fromIndex, count]
+      );
+    }
+
+    patchValues(dataSetIndex, startIndex, ys) {
+      UIManager.dispatchViewManagerCommand(
+        findNodeHandle(this.getNativeComponentRef()),
+        getCommand(this, 'patchValues'),
+        [dataSetIndex, startIndex, ys]
+      );
+    }
+
+    // appends to a `stream` dataset, evicting the oldest values; redraws once per frame
+    pushValues(dataSetIndex, values) {
+      UIManager.dispatchViewManagerCommand(
+        findNodeHandle(this.getNativeComponentRef()),
+        getCommand(this, 'pushValues'),
+        [dataSetIndex, values]
+      );
+    }
+
+    // with `eventAck`, lets the next chartTranslated / chartScaled through
+    ackEvent() {
+      UIManager.dispatchViewManagerCommand(
+        findNodeHandle(this.getNativeComponentRef()),
+        getCommand(this, 'ackEvent'),
+        []
+      );
+    }
   }
 }
\ No newline at end of file
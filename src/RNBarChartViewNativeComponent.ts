@@ -45,6 +45,7 @@ type ChartYAxisMinMaxChangeEvent = Readonly<{
 
 export interface NativeProps extends ViewProps {
   data?: UnsafeMixed;
+  asyncData?: boolean;
   highlights?: UnsafeMixed;
   legend?: UnsafeMixed;
   chartBackgroundColor?: Int32;
@@ -64,6 +65,11 @@ export interface NativeProps extends ViewProps {
   syncY?: boolean;
   landscapeOrientation?: boolean;
   eventThrottle?: Int32;
+  eventAck?: boolean;
+  decimation?: boolean;
+  levelOfDetail?: boolean;
+  aggregationThresholds?: UnsafeMixed;
+  valueLabelCollision?: boolean;
 
   yAxis?: UnsafeMixed;
 
@@ -21,6 +21,7 @@ type ChartEvent = Readonly<{
 
 export interface NativeProps extends ViewProps {
   data?: UnsafeMixed;
+  asyncData?: boolean;
   highlights?: UnsafeMixed;
   legend?: UnsafeMixed;
   chartBackgroundColor?: Int32;
@@ -40,6 +41,11 @@ export interface NativeProps extends ViewProps {
   syncY?: boolean;
   landscapeOrientation?: boolean;
   eventThrottle?: Int32;
+  eventAck?: boolean;
+  decimation?: boolean;
+  levelOfDetail?: boolean;
+  aggregationThresholds?: UnsafeMixed;
+  valueLabelCollision?: boolean;
 
   yAxis?: UnsafeMixed;
 
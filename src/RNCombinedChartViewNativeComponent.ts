@@ -50,6 +50,7 @@ type ChartYAxisMinMaxChangeEvent = Readonly<{
 export interface NativeProps extends ViewProps {
   // Base chart props
   data?: UnsafeMixed;
+  asyncData?: boolean;
   highlights?: UnsafeMixed;
   legend?: UnsafeMixed;
   chartBackgroundColor?: Int32;
@@ -69,6 +70,11 @@ export interface NativeProps extends ViewProps {
   syncY?: boolean;
   landscapeOrientation?: boolean;
   eventThrottle?: Int32;
+  eventAck?: boolean;
+  decimation?: boolean;
+  levelOfDetail?: boolean;
+  aggregationThresholds?: UnsafeMixed;
+  valueLabelCollision?: boolean;
 
   // YAxis chart props
   yAxis?: UnsafeMixed;
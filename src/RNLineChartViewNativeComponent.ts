@@ -23,6 +23,7 @@ type ChartEvent = Readonly<{
 
 export interface NativeProps extends ViewProps {
   data?: UnsafeMixed;
+  asyncData?: boolean;
   highlights?: UnsafeMixed;
   legend?: UnsafeMixed;
   chartBackgroundColor?: Int32;
@@ -42,6 +43,11 @@ export interface NativeProps extends ViewProps {
   syncY?: boolean;
   landscapeOrientation?: boolean;
   eventThrottle?: Int32;
+  eventAck?: boolean;
+  decimation?: boolean;
+  levelOfDetail?: boolean;
+  aggregationThresholds?: UnsafeMixed;
+  valueLabelCollision?: boolean;
 
   yAxis?: UnsafeMixed;
 
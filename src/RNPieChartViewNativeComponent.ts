@@ -23,6 +23,7 @@ type ChartEvent = Readonly<{
 
 export interface NativeProps extends ViewProps {
   data?: UnsafeMixed;
+  asyncData?: boolean;
   highlights?: UnsafeMixed;
   legend?: UnsafeMixed;
   chartBackgroundColor?: Int32;